@@ -0,0 +1,25 @@
+package org.myProject.focus.flow.service.api.config;
+
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Shares serialization buffers between all request threads through one bounded pool.
+     * The default per-thread pool keeps buffers behind soft references, which the GC clears
+     * exactly when a refresh storm makes memory tight, so every request then allocates new ones.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer bufferRecyclingCustomizer(
+            @Value("${focus-flow.serialization.buffer-pool-size:64}") int bufferPoolSize) {
+
+        return builder -> builder.postConfigurer(objectMapper -> objectMapper
+                .getFactory()
+                .setRecyclerPool(JsonRecyclerPools.newBoundedPool(bufferPoolSize)));
+    }
+}
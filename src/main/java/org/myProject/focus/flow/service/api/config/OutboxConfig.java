@@ -0,0 +1,16 @@
+package org.myProject.focus.flow.service.api.config;
+
+import org.myProject.focus.flow.service.api.outbox.InMemoryOutboxEventSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "focus-flow.outbox.in-memory-sink", havingValue = "true")
+    public InMemoryOutboxEventSink inMemoryOutboxEventSink() {
+        return new InMemoryOutboxEventSink();
+    }
+}
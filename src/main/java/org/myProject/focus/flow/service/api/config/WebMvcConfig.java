@@ -0,0 +1,57 @@
+package org.myProject.focus.flow.service.api.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.api.dto.BoardColumnsDto;
+import org.myProject.focus.flow.service.api.metrics.RequestMetricsInterceptor;
+import org.myProject.focus.flow.service.api.ratelimit.RateLimitInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    RateLimitInterceptor rateLimitInterceptor;
+
+    RequestMetricsInterceptor requestMetricsInterceptor;
+
+    Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(requestMetricsInterceptor).addPathPatterns("/api/**");
+    }
+
+    /**
+     * Replaces the default CBOR converter with one built from the application's Jackson settings
+     * that also writes the columnar board media type.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+
+        MappingJackson2CborHttpMessageConverter cborConverter = new MappingJackson2CborHttpMessageConverter(
+                jackson2ObjectMapperBuilder.factory(new CBORFactory()).build()
+        );
+
+        cborConverter.setSupportedMediaTypes(List.of(
+                MediaType.APPLICATION_CBOR,
+                MediaType.parseMediaType(BoardColumnsDto.COLUMNAR_CBOR_VALUE)
+        ));
+
+        converters.add(cborConverter);
+    }
+}
@@ -0,0 +1,55 @@
+package org.myProject.focus.flow.service.api.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.transaction.Transactional;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.api.controllers.helpers.ArchiveHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.ProjectHelper;
+import org.myProject.focus.flow.service.api.dto.ArchivedTaskPageDto;
+import org.myProject.focus.flow.service.api.factories.ArchivedTaskDtoFactory;
+import org.myProject.focus.flow.service.api.ratelimit.RateLimitCost;
+import org.myProject.focus.flow.service.store.entities.ArchivedTaskEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+@Transactional
+@RestController
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ArchiveController {
+
+    ProjectHelper projectHelper;
+
+    ArchiveHelper archiveHelper;
+
+    ArchivedTaskDtoFactory archivedTaskDtoFactory;
+
+    public static final String GET_ARCHIVED_TASKS = "/api/projects/{project_id}/archived-tasks";
+
+    @Operation(summary = "Get archived tasks", description = "Returns one page of the archived tasks of a project, most recently archived first. Pass the next_page_token of a page to get the page after it.")
+    @GetMapping(GET_ARCHIVED_TASKS)
+    @RateLimitCost(2)
+    public ArchivedTaskPageDto getArchivedTasks(
+            @PathVariable(name = "project_id") Long projectId,
+            @RequestParam(name = "page_token", required = false) Optional<String> optionalPageToken,
+            @RequestParam(name = "limit", defaultValue = "50") int limit,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        Long userId = Long.parseLong(jwt.getSubject());
+
+        projectHelper.getProjectOrThrowException(projectId, userId);
+
+        List<ArchivedTaskEntity> archivedTasks = archiveHelper.getArchivedTasks(projectId, optionalPageToken, limit);
+
+        return archivedTaskDtoFactory.makeArchivedTaskPageDto(
+                archivedTasks,
+                archiveHelper.getNextPageToken(archivedTasks, limit)
+        );
+    }
+}
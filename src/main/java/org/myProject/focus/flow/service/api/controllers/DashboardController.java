@@ -0,0 +1,59 @@
+package org.myProject.focus.flow.service.api.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.transaction.Transactional;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.api.controllers.helpers.DashboardHelper;
+import org.myProject.focus.flow.service.api.dto.AckDto;
+import org.myProject.focus.flow.service.api.dto.DashboardDto;
+import org.myProject.focus.flow.service.api.factories.DashboardDtoFactory;
+import org.myProject.focus.flow.service.api.ratelimit.RateLimitCost;
+import org.myProject.focus.flow.service.store.repositories.DashboardTaskRepository;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@Transactional
+@RestController
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class DashboardController {
+
+    DashboardTaskRepository dashboardTaskRepository;
+
+    DashboardDtoFactory dashboardDtoFactory;
+
+    DashboardHelper dashboardHelper;
+
+    public static final String GET_DASHBOARD = "/api/dashboard";
+    public static final String REBUILD_DASHBOARD = "/api/dashboard/rebuild";
+
+    @Operation(summary = "Get dashboard", description = "Returns all tasks of the user across projects, grouped by deadline and priority. Served from a read model with a single indexed scan.")
+    @GetMapping(GET_DASHBOARD)
+    @RateLimitCost(5)
+    public DashboardDto getDashboard(@AuthenticationPrincipal Jwt jwt) {
+
+        Long userId = Long.parseLong(jwt.getSubject());
+
+        return dashboardDtoFactory.makeDashboardDto(
+                dashboardTaskRepository.findAllByUserIdInDisplayOrder(userId),
+                LocalDateTime.now()
+        );
+    }
+
+    @Operation(summary = "Rebuild dashboard", description = "Derives the dashboard read model of the user again from projects, task states and tasks.")
+    @PostMapping(REBUILD_DASHBOARD)
+    @RateLimitCost(50)
+    public AckDto rebuildDashboard(@AuthenticationPrincipal Jwt jwt) {
+
+        Long userId = Long.parseLong(jwt.getSubject());
+
+        dashboardHelper.rebuildUser(userId);
+
+        return AckDto.builder().answer(true).build();
+    }
+}
@@ -0,0 +1,96 @@
+package org.myProject.focus.flow.service.api.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.api.controllers.helpers.ProjectExportHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.ProjectHelper;
+import org.myProject.focus.flow.service.api.ratelimit.RateLimitCost;
+import org.myProject.focus.flow.service.store.entities.enums.ExportFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ExportController {
+
+    ProjectHelper projectHelper;
+
+    ProjectExportHelper projectExportHelper;
+
+    public static final String EXPORT_PROJECT = "/api/projects/{project_id}/export";
+    public static final String EXPORT_PROJECTS = "/api/projects/export";
+
+    @Operation(summary = "Export a project", description = "Streams all task states and tasks of a project in board order as NDJSON or CSV.")
+    @GetMapping(EXPORT_PROJECT)
+    @RateLimitCost(20)
+    public ResponseEntity<StreamingResponseBody> exportProject(
+            @PathVariable("project_id") Long projectId,
+            @RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) Optional<String> optionalAcceptEncoding,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        Long userId = Long.parseLong(jwt.getSubject());
+
+        projectHelper.getProjectOrThrowException(projectId, userId);
+
+        return makeExportResponse(userId, projectId, format, optionalAcceptEncoding);
+    }
+
+    @Operation(summary = "Export all projects", description = "Streams all task states and tasks of every project of a user in board order as NDJSON or CSV.")
+    @GetMapping(EXPORT_PROJECTS)
+    @RateLimitCost(20)
+    public ResponseEntity<StreamingResponseBody> exportProjects(
+            @RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) Optional<String> optionalAcceptEncoding,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        Long userId = Long.parseLong(jwt.getSubject());
+
+        return makeExportResponse(userId, null, format, optionalAcceptEncoding);
+    }
+
+    private ResponseEntity<StreamingResponseBody> makeExportResponse(
+            Long userId,
+            Long projectId,
+            ExportFormat format,
+            Optional<String> optionalAcceptEncoding) {
+
+        boolean isGzip = optionalAcceptEncoding
+                .map(acceptEncoding -> acceptEncoding.contains("gzip"))
+                .orElse(false);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity
+                .ok()
+                .contentType(format == ExportFormat.CSV
+                        ? new MediaType("text", "csv")
+                        : new MediaType("application", "x-ndjson"));
+
+        if (isGzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return response.body(outputStream -> {
+
+            if (!isGzip) {
+                projectExportHelper.export(userId, projectId, format, outputStream);
+                return;
+            }
+
+            try (OutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 64 * 1024)) {
+                projectExportHelper.export(userId, projectId, format, gzipOutputStream);
+            }
+        });
+    }
+}
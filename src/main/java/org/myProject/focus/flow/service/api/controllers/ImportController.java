@@ -0,0 +1,74 @@
+package org.myProject.focus.flow.service.api.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.api.controllers.helpers.ProjectImportHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.ValidateRequestsHelper;
+import org.myProject.focus.flow.service.api.dto.ImportJobDto;
+import org.myProject.focus.flow.service.api.factories.ImportJobDtoFactory;
+import org.myProject.focus.flow.service.api.ratelimit.RateLimitCost;
+import org.myProject.focus.flow.service.store.entities.ImportJobEntity;
+import org.myProject.focus.flow.service.store.entities.enums.ExportFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ImportController {
+
+    ProjectImportHelper projectImportHelper;
+
+    ImportJobDtoFactory importJobDtoFactory;
+
+    ValidateRequestsHelper validateRequestsHelper;
+
+    public static final String IMPORT_PROJECTS = "/api/projects/import";
+    public static final String GET_IMPORT_JOB = "/api/import-jobs/{job_id}";
+
+    @Operation(summary = "Import projects", description = "Imports projects, task states and tasks from an NDJSON or CSV stream. Rows already imported by external id are skipped, so a failed import can be re-run.")
+    @PostMapping(IMPORT_PROJECTS)
+    @RateLimitCost(50)
+    public ImportJobDto importProjects(
+            @RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) Optional<String> optionalContentEncoding,
+            InputStream inputStream,
+            @AuthenticationPrincipal Jwt jwt) throws IOException {
+
+        Long userId = Long.parseLong(jwt.getSubject());
+
+        boolean isGzip = optionalContentEncoding
+                .map(contentEncoding -> contentEncoding.contains("gzip"))
+                .orElse(false);
+
+        InputStream bodyStream = isGzip ? new GZIPInputStream(inputStream, 64 * 1024) : inputStream;
+
+        ImportJobEntity job = projectImportHelper.importProjects(userId, format, bodyStream);
+
+        return importJobDtoFactory.makeImportJobDto(job);
+    }
+
+    @Operation(summary = "Get import job", description = "Shows the result of an import job.")
+    @GetMapping(GET_IMPORT_JOB)
+    public ImportJobDto getImportJob(
+            @PathVariable("job_id") Long jobId,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        Long userId = Long.parseLong(jwt.getSubject());
+
+        ImportJobEntity job = projectImportHelper.getImportJobOrThrowException(jobId);
+
+        validateRequestsHelper.verifyingUserAccessToProject(job.getUserId(), userId);
+
+        return importJobDtoFactory.makeImportJobDto(job);
+    }
+}
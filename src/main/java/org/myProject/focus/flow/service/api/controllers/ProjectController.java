@@ -5,19 +5,33 @@ import jakarta.transaction.Transactional;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.api.controllers.helpers.DashboardHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.OutboxHelper;
 import org.myProject.focus.flow.service.api.controllers.helpers.ProjectHelper;
-import org.myProject.focus.flow.service.api.dto.AckDto;
+import org.myProject.focus.flow.service.api.controllers.helpers.TaskHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.TaskStateHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.ValidateRequestsHelper;
+import org.myProject.focus.flow.service.api.dto.ProjectDeletionJobDto;
 import org.myProject.focus.flow.service.api.dto.ProjectDto;
 import org.myProject.focus.flow.service.api.exceptions.CustomAppException;
+import org.myProject.focus.flow.service.api.factories.LazyDtoList;
+import org.myProject.focus.flow.service.api.factories.ProjectDeletionJobDtoFactory;
 import org.myProject.focus.flow.service.api.factories.ProjectDtoFactory;
+import org.myProject.focus.flow.service.api.ratelimit.RateLimitCost;
+import org.myProject.focus.flow.service.api.workers.ProjectDeletionWorker;
+import org.myProject.focus.flow.service.store.entities.ProjectDeletionJobEntity;
 import org.myProject.focus.flow.service.store.entities.ProjectEntity;
+import org.myProject.focus.flow.service.store.entities.enums.OutboxEventType;
+import org.myProject.focus.flow.service.store.repositories.ProjectDeletionJobRepository;
 import org.myProject.focus.flow.service.store.repositories.ProjectRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -35,10 +49,28 @@ public class ProjectController {
 
     ProjectHelper projectHelper;
 
+    ProjectDeletionJobRepository projectDeletionJobRepository;
+
+    ProjectDeletionJobDtoFactory projectDeletionJobDtoFactory;
+
+    ProjectDeletionWorker projectDeletionWorker;
+
+    ValidateRequestsHelper validateRequestsHelper;
+
+    TaskStateHelper taskStateHelper;
+
+    TaskHelper taskHelper;
+
+    DashboardHelper dashboardHelper;
+
+    OutboxHelper outboxHelper;
+
     public static final String GET_PROJECT = "/api/projects/{project_id}";
     public static final String FETCH_PROJECT = "/api/projects";
     public static final String CREATE_OR_UPDATE_PROJECT = "/api/projects";
     public static final String DELETE_PROJECT = "/api/projects/{project_id}";
+    public static final String CLONE_PROJECT = "/api/projects/{project_id}/clone";
+    public static final String GET_PROJECT_DELETION_JOB = "/api/project-deletion-jobs/{job_id}";
 
     @Operation(summary = "Get project by ID", description = "Fetches a project by its ID for a given user.")
     @GetMapping(GET_PROJECT)
@@ -55,6 +87,7 @@ public class ProjectController {
 
     @Operation(summary = "Fetch projects", description = "Retrieves a list of projects for a user, optionally filtered by a name prefix.")
     @GetMapping(FETCH_PROJECT)
+    @RateLimitCost(2)
     public List<ProjectDto> fetchProject(
             @RequestParam(value = "prefix_name", required = false) Optional<String> optionalPrefixName,
             @AuthenticationPrincipal Jwt jwt) {
@@ -64,12 +97,12 @@ public class ProjectController {
         optionalPrefixName = optionalPrefixName.filter(prefixName -> !prefixName.trim().isEmpty());
 
         Stream<ProjectEntity> projectStream = optionalPrefixName
-                .map(prefixName -> projectRepository.streamAllByNameContainingIgnoreCaseAndUserId(prefixName, userId))
-                .orElseGet(() -> projectRepository.streamAllByUserId(userId));
+                .map(prefixName -> projectRepository.streamAllByNameContainingIgnoreCaseAndUserIdAndDeletedAtIsNull(prefixName, userId))
+                .orElseGet(() -> projectRepository.streamAllByUserIdAndDeletedAtIsNull(userId));
 
-        return projectStream
-                .map(projectDtoFactory::makeProjectDto)
-                .collect(Collectors.toList());
+        try (projectStream) {
+            return LazyDtoList.of(projectStream.collect(Collectors.toList()), projectDtoFactory::makeProjectDto);
+        }
     }
 
     @Operation(summary = "Create or update a project", description = "Creates a new project or updates an existing one based on the provided parameters.")
@@ -109,21 +142,120 @@ public class ProjectController {
 
         final ProjectEntity savedProject = projectRepository.saveAndFlush(project);
 
+        if (!isCreate && optionalProjectName.isPresent()) {
+            dashboardHelper.refreshProject(savedProject.getId());
+        }
+
+        outboxHelper.publish(
+                isCreate ? OutboxEventType.PROJECT_CREATED : OutboxEventType.PROJECT_UPDATED,
+                savedProject.getId(),
+                userId,
+                savedProject.getId());
+
         return projectDtoFactory.makeProjectDto(savedProject);
     }
 
-    @Operation(summary = "Delete a project", description = "Deletes a project by its ID for a given user.")
-    @DeleteMapping(DELETE_PROJECT)
-    public AckDto deleteProject(
+    @Operation(summary = "Clone a project", description = "Creates a new project with copies of all task states and, optionally, all tasks of the given project.")
+    @PostMapping(CLONE_PROJECT)
+    @RateLimitCost(20)
+    public ProjectDto cloneProject(
             @PathVariable("project_id") Long projectId,
+            @RequestParam("project_name") String projectName,
+            @RequestParam(value = "include_tasks", defaultValue = "true") boolean includeTasks,
             @AuthenticationPrincipal Jwt jwt) {
 
         Long userId = Long.parseLong(jwt.getSubject());
 
+        if (projectName.trim().isEmpty()) {
+            throw new CustomAppException(HttpStatus.BAD_REQUEST, "Project name cannot be empty");
+        }
+
         projectHelper.getProjectOrThrowException(projectId, userId);
 
-        projectRepository.deleteById(projectId);
+        projectRepository
+                .findByName(projectName)
+                .ifPresent(anotherProject -> {
+                    throw new CustomAppException(HttpStatus.BAD_REQUEST,
+                            String.format("Project with name %s is already exists", projectName));
+                });
+
+        ProjectEntity clonedProject = projectRepository.saveAndFlush(
+                ProjectEntity
+                        .builder()
+                        .name(projectName)
+                        .userId(userId)
+                        .build()
+        );
+
+        Map<Long, Long> clonedTaskStateIds = taskStateHelper.copyTaskStates(projectId, clonedProject.getId());
+
+        if (includeTasks) {
+            taskHelper.copyTasks(projectId, clonedTaskStateIds);
+
+            dashboardHelper.refreshProject(clonedProject.getId());
+        }
+
+        outboxHelper.publish(
+                OutboxEventType.PROJECT_CLONED,
+                clonedProject.getId(),
+                userId,
+                clonedProject.getId(),
+                Map.of("source_project_id", projectId));
+
+        return projectDtoFactory.makeProjectDto(clonedProject);
+    }
+
+    @Operation(summary = "Delete a project", description = "Hides a project of a given user immediately and schedules the removal of its task states and tasks.")
+    @DeleteMapping(DELETE_PROJECT)
+    @RateLimitCost(10)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ProjectDeletionJobDto deleteProject(
+            @PathVariable("project_id") Long projectId,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        Long userId = Long.parseLong(jwt.getSubject());
+
+        ProjectEntity project = projectHelper.getProjectOrThrowException(projectId, userId);
+
+        project.setDeletedAt(LocalDateTime.now());
+
+        projectRepository.saveAndFlush(project);
+
+        dashboardHelper.removeProject(projectId);
+
+        outboxHelper.publish(OutboxEventType.PROJECT_DELETED, projectId, userId, projectId);
+
+        ProjectDeletionJobEntity job = projectDeletionJobRepository.saveAndFlush(
+                ProjectDeletionJobEntity
+                        .builder()
+                        .projectId(projectId)
+                        .userId(userId)
+                        .build()
+        );
+
+        projectDeletionWorker.submitAfterCommit(job.getId());
+
+        return projectDeletionJobDtoFactory.makeProjectDeletionJobDto(job);
+    }
+
+    @Operation(summary = "Get project deletion job", description = "Shows the progress of a project deletion job.")
+    @GetMapping(GET_PROJECT_DELETION_JOB)
+    public ProjectDeletionJobDto getProjectDeletionJob(
+            @PathVariable("job_id") Long jobId,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        Long userId = Long.parseLong(jwt.getSubject());
+
+        ProjectDeletionJobEntity job = projectDeletionJobRepository
+                .findById(jobId)
+                .orElseThrow(() ->
+                        new CustomAppException(
+                                HttpStatus.NOT_FOUND,
+                                String.format("Project deletion job with id (%s) doesn't exist", jobId)
+                        ));
+
+        validateRequestsHelper.verifyingUserAccessToProject(job.getUserId(), userId);
 
-        return AckDto.makeDefault(true);
+        return projectDeletionJobDtoFactory.makeProjectDeletionJobDto(job);
     }
 }
@@ -4,15 +4,20 @@ import jakarta.transaction.Transactional;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.api.controllers.helpers.BoardHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.DashboardHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.OutboxHelper;
 import org.myProject.focus.flow.service.api.controllers.helpers.TaskHelper;
 import org.myProject.focus.flow.service.api.controllers.helpers.TaskStateHelper;
 import org.myProject.focus.flow.service.api.dto.AckDto;
 import org.myProject.focus.flow.service.api.dto.TaskDto;
 import org.myProject.focus.flow.service.api.exceptions.CustomAppException;
 import org.myProject.focus.flow.service.api.factories.TaskDtoFactory;
+import org.myProject.focus.flow.service.api.ratelimit.RateLimitCost;
 import org.myProject.focus.flow.service.store.entities.TaskEntity;
 import org.myProject.focus.flow.service.store.entities.TaskStateEntity;
 import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.OutboxEventType;
 import org.myProject.focus.flow.service.store.entities.enums.Priority;
 import org.myProject.focus.flow.service.store.repositories.TaskRepository;
 
@@ -23,7 +28,10 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -38,6 +46,9 @@ public class TaskController {
     TaskDtoFactory taskDtoFactory;
     TaskStateHelper taskStateHelper;
     TaskHelper taskHelper;
+    BoardHelper boardHelper;
+    DashboardHelper dashboardHelper;
+    OutboxHelper outboxHelper;
 
     public static final String GET_TASK = "/api/tasks/{task_id}";
     public static final String GET_TASKS = "/api/task-state/{task_state_id}/tasks";
@@ -45,6 +56,10 @@ public class TaskController {
     public static final String UPDATE_TASK = "/api/tasks/{task_id}";
     public static final String CHANGE_TASK_POSITION = "/api/tasks/{task_id}/position/change";
     public static final String DELETE_TASK = "/api/tasks/{task_id}";
+    public static final String RESTORE_TASK = "/api/tasks/{task_id}/restore";
+    public static final String MOVE_TASKS = "/api/task-state/{task_state_id}/tasks/move";
+    public static final String REORDER_TASKS = "/api/task-state/{task_state_id}/tasks/order";
+    public static final String GET_DUE_TASKS = "/api/tasks/due";
 
     @Operation(summary = "Get task by ID", description = "Fetch a task by its ID and user ID")
     @GetMapping(GET_TASK)
@@ -61,22 +76,44 @@ public class TaskController {
 
     @Operation(summary = "Get tasks by state", description = "Fetch all tasks associated with a specific task state and user ID")
     @GetMapping(GET_TASKS)
+    @RateLimitCost(5)
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public List<TaskDto> getTasks(
             @PathVariable("task_state_id") Long taskStateId,
             @AuthenticationPrincipal Jwt jwt) {
 
         Long userId = Long.parseLong(jwt.getSubject());
 
-        taskStateHelper.getTaskStateOrThrowException(taskStateId, userId);
+        TaskStateEntity taskState = taskStateHelper.getTaskStateOrThrowException(taskStateId, userId);
 
-        return taskHelper
-                .getSortedTasks(taskStateId)
+        return boardHelper.getTasksOfTaskState(taskState);
+    }
+
+    @Operation(summary = "Get due tasks", description = "Fetch all tasks of the user with a deadline in the given interval, by default the next seven days, across all projects; they are ordered by deadline and carry no neighbour ids")
+    @GetMapping(GET_DUE_TASKS)
+    @RateLimitCost(5)
+    public List<TaskDto> getDueTasks(
+            @RequestParam(value = "due_from", required = false) Optional<LocalDateTime> optionalDueFrom,
+            @RequestParam(value = "due_to", required = false) Optional<LocalDateTime> optionalDueTo,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        Long userId = Long.parseLong(jwt.getSubject());
+
+        LocalDateTime dueFrom = optionalDueFrom.orElseGet(LocalDateTime::now);
+        LocalDateTime dueTo = optionalDueTo.orElseGet(() -> dueFrom.plusDays(7));
+
+        if (!dueTo.isAfter(dueFrom)) {
+            throw new CustomAppException(HttpStatus.BAD_REQUEST, "due_to must be after due_from");
+        }
+
+        return taskRepository
+                .findAllDueByUserId(userId, dueFrom, dueTo)
                 .stream()
-                .map(taskDtoFactory::makeTaskDto)
+                .map(taskDtoFactory::makeTaskDtoWithoutNeighbours)
                 .collect(Collectors.toList());
     }
 
-    @Operation(summary = "Create a new task", description = "Create a new task under a specific task state with various attributes such as title, description, deadline, category, and priority")
+    @Operation(summary = "Create a new task", description = "Create a new task under a specific task state with various attributes such as title, description, deadline, category, and priority; it is appended to the task state, or inserted by its sort order if the task state is auto-sorted")
     @PostMapping(CREATE_TASK)
     public TaskDto createTask(
             @PathVariable("task_state_id") Long taskStateId,
@@ -97,8 +134,14 @@ public class TaskController {
 
         TaskStateEntity taskState = taskStateHelper.getTaskStateOrThrowException(taskStateId, userId);
 
-        Optional<TaskEntity> oldLowerPriorityTask = taskRepository
-                .findTaskEntityByLowerPriorityTaskIsNullAndTaskStateId(taskStateId);
+        Optional<TaskEntity> optionalNewLowerPriorityTask = taskState.isAutoSorted()
+                ? taskHelper.findSortedLowerPriorityTask(taskState, null, priority, deadline)
+                : Optional.empty();
+
+        Optional<TaskEntity> optionalNewHigherPriorityTask = optionalNewLowerPriorityTask.isPresent()
+                ? optionalNewLowerPriorityTask.get().getHigherPriorityTask()
+                : taskRepository.findTaskEntityByLowerPriorityTaskIsNullAndProjectIdAndTaskStateId(
+                        taskState.getProject().getId(), taskStateId);
 
         TaskEntity task = taskRepository.saveAndFlush(
                 TaskEntity
@@ -109,21 +152,20 @@ public class TaskController {
                         .category(category)
                         .priority(priority)
                         .taskState(taskState)
+                        .userId(taskState.getUserId())
+                        .projectId(taskState.getProject().getId())
                         .build()
         );
 
-        oldLowerPriorityTask.ifPresent(anotherTask -> {
+        taskHelper.updateTaskPosition(task, optionalNewLowerPriorityTask, optionalNewHigherPriorityTask);
 
-            task.setHigherPriorityTask(anotherTask);
+        boardHelper.markBoardChanged(taskState.getProject().getId());
 
-            anotherTask.setLowerPriorityTask(task);
+        outboxHelper.publish(OutboxEventType.TASK_CREATED, taskState.getProject().getId(), userId, task.getId());
 
-            taskRepository.saveAndFlush(anotherTask);
-        });
+        dashboardHelper.refreshTask(task.getId());
 
-        final TaskEntity savedTask = taskRepository.saveAndFlush(task);
-
-        return taskDtoFactory.makeTaskDto(savedTask);
+        return taskDtoFactory.makeTaskDto(task);
     }
 
     @Operation(summary = "Update a task", description = "Update the attributes of an existing task such as title, description, deadline, category, and priority")
@@ -153,6 +195,14 @@ public class TaskController {
 
         taskRepository.saveAndFlush(task);
 
+        taskHelper.keepSortOrder(task);
+
+        boardHelper.markBoardChanged(task.getProjectId());
+
+        outboxHelper.publish(OutboxEventType.TASK_UPDATED, task.getProjectId(), userId, taskId);
+
+        dashboardHelper.refreshTask(taskId);
+
         return taskDtoFactory.makeTaskDto(task);
     }
 
@@ -167,6 +217,8 @@ public class TaskController {
 
         TaskEntity selectedTask = taskHelper.getTaskOrThrowException(taskId, userId);
 
+        taskHelper.verifyManuallyOrdered(selectedTask.getTaskState());
+
         if(taskHelper.isPositionChanged(selectedTask, optionalLowerPriorityTaskId)) {
             return taskDtoFactory.makeTaskDto(selectedTask);
         }
@@ -181,10 +233,101 @@ public class TaskController {
 
         selectedTask = taskHelper.updateTaskPosition(selectedTask, optionalNewLowerPriorityTask, optionalNewHigherPriorityTask);
 
+        boardHelper.markBoardChanged(selectedTask.getProjectId());
+
+        outboxHelper.publish(OutboxEventType.TASK_POSITION_CHANGED, selectedTask.getProjectId(), userId, taskId);
+
         return taskDtoFactory.makeTaskDto(selectedTask);
     }
 
-    @Operation(summary = "Delete a task", description = "Delete an existing task by its ID and adjust the positions of related tasks")
+    @Operation(summary = "Move tasks to a task state", description = "Move a batch of tasks, possibly from different task states of the same project, into a task state before the given task or to its end; an auto-sorted task state places them by its sort order instead")
+    @PatchMapping(MOVE_TASKS)
+    @RateLimitCost(5)
+    public List<TaskDto> moveTasks(
+            @PathVariable("task_state_id") Long taskStateId,
+            @RequestParam("task_ids") List<Long> taskIds,
+            @RequestParam(value = "lower_task_id", required = false) Optional<Long> optionalLowerPriorityTaskId,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        Long userId = Long.parseLong(jwt.getSubject());
+
+        if (taskIds.isEmpty()) {
+            throw new CustomAppException(HttpStatus.BAD_REQUEST, "task ids cannot be empty");
+        }
+
+        if (new HashSet<>(taskIds).size() != taskIds.size()) {
+            throw new CustomAppException(HttpStatus.BAD_REQUEST, "task ids must be unique");
+        }
+
+        TaskStateEntity targetTaskState = taskStateHelper.getTaskStateOrThrowException(taskStateId, userId);
+
+        List<TaskEntity> tasks = taskHelper.getTasksOrThrowException(taskIds, userId);
+
+        tasks.forEach(task -> {
+            if (!Objects.equals(task.getProjectId(), targetTaskState.getProject().getId())) {
+                throw new CustomAppException(HttpStatus.BAD_REQUEST, "Tasks can be moved within the same project only");
+            }
+        });
+
+        Optional<TaskEntity> optionalNewLowerPriorityTask = optionalLowerPriorityTaskId
+                .map(lowerPriorityTaskId -> {
+
+                    if (taskIds.contains(lowerPriorityTaskId)) {
+                        throw new CustomAppException(HttpStatus.BAD_REQUEST, "lower priority task cannot be one of the moved tasks");
+                    }
+
+                    TaskEntity lowerPriorityTask = taskHelper.getTaskOrThrowException(lowerPriorityTaskId, userId);
+
+                    if (!Objects.equals(lowerPriorityTask.getTaskState().getId(), taskStateId)) {
+                        throw new CustomAppException(HttpStatus.BAD_REQUEST, "lower priority task must belong to the target task state");
+                    }
+
+                    return lowerPriorityTask;
+                });
+
+        taskHelper.moveTasks(tasks, targetTaskState, optionalNewLowerPriorityTask);
+
+        taskHelper.resortTasks(targetTaskState);
+
+        boardHelper.markBoardChanged(targetTaskState.getProject().getId());
+
+        outboxHelper.publish(OutboxEventType.TASKS_MOVED, targetTaskState.getProject().getId(), userId, taskStateId, Map.of("task_ids", taskIds));
+
+        dashboardHelper.refreshTasks(taskIds);
+
+        return taskHelper
+                .getTasksOrThrowException(taskIds, userId)
+                .stream()
+                .map(taskDtoFactory::makeTaskDto)
+                .collect(Collectors.toList());
+    }
+
+    @Operation(summary = "Reorder tasks of a task state", description = "Apply a complete order of the tasks of a task state in one call; task ids must list every task of the state exactly once")
+    @PutMapping(REORDER_TASKS)
+    @RateLimitCost(5)
+    public List<TaskDto> reorderTasks(
+            @PathVariable("task_state_id") Long taskStateId,
+            @RequestParam("task_ids") List<Long> taskIds,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        Long userId = Long.parseLong(jwt.getSubject());
+
+        TaskStateEntity taskState = taskStateHelper.getTaskStateOrThrowException(taskStateId, userId);
+
+        Long projectId = taskState.getProject().getId();
+
+        taskHelper.verifyManuallyOrdered(taskState);
+
+        taskHelper.reorderTasks(taskState, taskIds);
+
+        boardHelper.markBoardChanged(projectId);
+
+        outboxHelper.publish(OutboxEventType.TASKS_REORDERED, projectId, userId, taskStateId, Map.of("task_ids", taskIds));
+
+        return new ArrayList<>(taskDtoFactory.makeTaskDtos(taskHelper.getSortedTasks(taskState)));
+    }
+
+    @Operation(summary = "Delete a task", description = "Moves a task to the trash by its ID. It can be restored at its old position until the undo window ends; then it is removed for good in the background.")
     @DeleteMapping(DELETE_TASK)
     public AckDto deleteTask(
             @PathVariable("task_id") Long taskId,
@@ -194,10 +337,40 @@ public class TaskController {
 
         TaskEntity task = taskHelper.getTaskOrThrowException(taskId, userId);
 
-        taskHelper.replaceOldTasksPositions(task);
+        task.setDeletedAt(LocalDateTime.now());
+
+        taskRepository.save(task);
+
+        boardHelper.markBoardChanged(task.getProjectId());
 
-        taskRepository.delete(task);
+        outboxHelper.publish(OutboxEventType.TASK_DELETED, task.getProjectId(), userId, taskId);
+
+        dashboardHelper.removeTask(taskId);
 
         return AckDto.builder().answer(true).build();
     }
+
+    @Operation(summary = "Restore a task", description = "Restores a deleted task at the position it was deleted from, while the undo window lasts.")
+    @PostMapping(RESTORE_TASK)
+    public TaskDto restoreTask(
+            @PathVariable("task_id") Long taskId,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        Long userId = Long.parseLong(jwt.getSubject());
+
+        TaskEntity task = taskHelper.getDeletedTaskOrThrowException(taskId, userId);
+
+        // The project row lock first, in the same order as the compactor.
+        boardHelper.markBoardChanged(task.getProjectId());
+
+        task.setDeletedAt(null);
+
+        taskRepository.save(task);
+
+        outboxHelper.publish(OutboxEventType.TASK_RESTORED, task.getProjectId(), userId, taskId);
+
+        dashboardHelper.refreshTask(taskId);
+
+        return taskDtoFactory.makeTaskDto(task);
+    }
 }
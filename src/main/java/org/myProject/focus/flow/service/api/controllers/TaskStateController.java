@@ -4,25 +4,43 @@ import jakarta.transaction.Transactional;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.api.controllers.helpers.BoardCache;
+import org.myProject.focus.flow.service.api.controllers.helpers.BoardHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.DashboardHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.OutboxHelper;
 import org.myProject.focus.flow.service.api.controllers.helpers.ProjectHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.TaskHelper;
 import org.myProject.focus.flow.service.api.controllers.helpers.TaskStateHelper;
 import org.myProject.focus.flow.service.api.dto.AckDto;
+import org.myProject.focus.flow.service.api.dto.BoardAggregatesDto;
+import org.myProject.focus.flow.service.api.dto.BoardColumnsDto;
 import org.myProject.focus.flow.service.api.dto.TaskStateDto;
 import org.myProject.focus.flow.service.api.exceptions.CustomAppException;
+import org.myProject.focus.flow.service.api.factories.BoardAggregatesDtoFactory;
+import org.myProject.focus.flow.service.api.factories.BoardColumnsDtoFactory;
 import org.myProject.focus.flow.service.api.factories.TaskStateDtoFactory;
+import org.myProject.focus.flow.service.api.ratelimit.RateLimitCost;
 import org.myProject.focus.flow.service.store.entities.ProjectEntity;
 import org.myProject.focus.flow.service.store.entities.TaskStateEntity;
 import org.myProject.focus.flow.service.store.entities.enums.Layouts;
+import org.myProject.focus.flow.service.store.entities.enums.TaskSortMode;
+import org.myProject.focus.flow.service.store.entities.enums.OutboxEventType;
+import org.myProject.focus.flow.service.store.entities.enums.TaskStateDeletionMode;
+import org.myProject.focus.flow.service.store.repositories.TaskRepository;
 import org.myProject.focus.flow.service.store.repositories.TaskStateRepository;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import io.swagger.v3.oas.annotations.Operation;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Transactional
 @RestController
@@ -32,21 +50,41 @@ public class TaskStateController {
 
     TaskStateRepository taskStateRepository;
 
+    TaskRepository taskRepository;
+
     TaskStateDtoFactory taskStateDtoFactory;
 
+    BoardColumnsDtoFactory boardColumnsDtoFactory;
+
+    BoardAggregatesDtoFactory boardAggregatesDtoFactory;
+
     ProjectHelper projectHelper;
 
     TaskStateHelper taskStateHelper;
 
+    TaskHelper taskHelper;
+
+    BoardHelper boardHelper;
+
+    BoardCache boardCache;
+
+    DashboardHelper dashboardHelper;
+
+    OutboxHelper outboxHelper;
+
     public static final String GET_TASK_STATE = "/api/tasks-states/{task_state_id}";
     public static final String GET_TASK_STATES = "/api/projects/{project_id}/tasks-states";
+    public static final String GET_TASK_STATES_AGGREGATES = "/api/projects/{project_id}/tasks-states/aggregates";
     public static final String CREATE_TASK_STATE = "/api/projects/{project_id}/tasks-states";
     public static final String UPDATE_TASK_STATE = "/api/tasks-states/{task_state_id}";
     public static final String CHANGE_TASK_STATE_POSITION = "/api/tasks-states/{task_state_id}/position/change";
+    public static final String REORDER_TASK_STATES = "/api/projects/{project_id}/tasks-states/order";
     public static final String DELETE_TASK_STATE = "/api/tasks-states/{task_state_id}";
+    public static final String RESTORE_TASK_STATE = "/api/tasks-states/{task_state_id}/restore";
 
     @Operation(summary = "Get TaskState by ID", description = "Returns information about a TaskState by its ID.")
     @GetMapping(GET_TASK_STATE)
+    @RateLimitCost(3)
     public TaskStateDto getTaskStateById(
             @PathVariable("task_state_id") Long taskStateId,
             @AuthenticationPrincipal Jwt jwt) {
@@ -58,21 +96,62 @@ public class TaskStateController {
         return taskStateDtoFactory.makeTaskStateDto(taskState);
     }
 
-    @Operation(summary = "Get all TaskStates in a project", description = "Returns a list of all TaskStates for a specified project.")
-    @GetMapping(GET_TASK_STATES)
-    public List<TaskStateDto> getTasks(
+    @Operation(summary = "Get all TaskStates in a project", description = "Returns a list of all TaskStates for a specified project, each with its sorted tasks.")
+    @GetMapping(value = GET_TASK_STATES, produces = MediaType.APPLICATION_JSON_VALUE)
+    @RateLimitCost(10)
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public ResponseEntity<byte[]> getTasks(
             @PathVariable("project_id") Long projectId,
             @AuthenticationPrincipal Jwt jwt) {
 
         Long userId = Long.parseLong(jwt.getSubject());
         
+        ProjectEntity project = projectHelper.getProjectOrThrowException(projectId, userId);
+
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(boardCache.getBoardJson(project));
+    }
+
+    @Operation(summary = "Get the board of a project in columnar layout",
+            description = "Same content as the TaskState listing, one array per field with dictionary-encoded enums. Selected with the Accept header, as JSON or CBOR.")
+    @GetMapping(value = GET_TASK_STATES, produces = {BoardColumnsDto.COLUMNAR_JSON_VALUE, BoardColumnsDto.COLUMNAR_CBOR_VALUE})
+    @RateLimitCost(10)
+    public BoardColumnsDto getTasksColumnar(
+            @PathVariable("project_id") Long projectId,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        Long userId = Long.parseLong(jwt.getSubject());
+
         projectHelper.getProjectOrThrowException(projectId, userId);
 
-        return taskStateHelper
-                .getSortedTaskStates(projectId)
-                .stream()
-                .map(taskStateDtoFactory::makeTaskStateDto)
-                .collect(Collectors.toList());
+        return boardColumnsDtoFactory.makeBoardColumnsDto(
+                taskStateHelper.getSortedTaskStates(projectId),
+                taskHelper.getSortedTasksOfProject(projectId)
+        );
+    }
+
+    @Operation(summary = "Get task counts of a project",
+            description = "Returns counts of tasks by priority, category and overdue-ness for the project and each of its TaskStates, without the tasks themselves.")
+    @GetMapping(GET_TASK_STATES_AGGREGATES)
+    @RateLimitCost(2)
+    public BoardAggregatesDto getTaskStatesAggregates(
+            @PathVariable("project_id") Long projectId,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        Long userId = Long.parseLong(jwt.getSubject());
+
+        projectHelper.getProjectOrThrowException(projectId, userId);
+
+        LocalDateTime now = LocalDateTime.now();
+
+        return boardAggregatesDtoFactory.makeBoardAggregatesDto(
+                projectId,
+                now,
+                taskStateHelper.getSortedTaskStates(projectId),
+                taskRepository.countByProjectIdGrouped(projectId, now)
+        );
     }
 
     @Operation(summary = "Create TaskState", description = "Creates a new TaskState within the specified project.")
@@ -95,7 +174,7 @@ public class TaskStateController {
 
         for(TaskStateEntity taskState : project.getTaskStates()) {
 
-            if(taskState.getName().equals(taskStateName)) {
+            if(Objects.isNull(taskState.getDeletedAt()) && taskState.getName().equals(taskStateName)) {
                 throw new CustomAppException(HttpStatus.BAD_REQUEST,
                         String.format("Task state with name %s already exists", taskStateName));
             }
@@ -112,6 +191,7 @@ public class TaskStateController {
                         .name(taskStateName)
                         .typeOfLayout(layout)
                         .project(project)
+                        .userId(project.getUserId())
                         .build()
         );
 
@@ -126,15 +206,21 @@ public class TaskStateController {
 
         final TaskStateEntity savedTaskStateEntity = taskStateRepository.saveAndFlush(taskStateEntity);
 
+        boardHelper.markBoardChanged(project.getId());
+
+        outboxHelper.publish(OutboxEventType.TASK_STATE_CREATED, project.getId(), userId, savedTaskStateEntity.getId());
+
         return taskStateDtoFactory.makeTaskStateDto(savedTaskStateEntity);
     }
 
-    @Operation(summary = "Update TaskState", description = "Updates the name and layout type of a TaskState by its ID.")
+    @Operation(summary = "Update TaskState", description = "Updates the name, layout type and optionally the sort mode of a TaskState by its ID. Switching to an auto sort mode sorts the existing tasks; switching back to MANUAL keeps their current order. archive_after_days archives tasks unchanged for that many days; a negative value turns it off.")
     @PatchMapping(UPDATE_TASK_STATE)
     public TaskStateDto updateTaskState(
             @PathVariable(name = "task_state_id") Long taskStateId,
             @RequestParam(name = "task_state_name") String taskStateName,
             @RequestParam(name = "type_of_layout") Layouts layout,
+            @RequestParam(name = "sort_mode", required = false) Optional<TaskSortMode> optionalSortMode,
+            @RequestParam(name = "archive_after_days", required = false) Optional<Integer> optionalArchiveAfterDays,
             @AuthenticationPrincipal Jwt jwt){
 
         Long userId = Long.parseLong(jwt.getSubject());
@@ -146,7 +232,7 @@ public class TaskStateController {
         TaskStateEntity taskState = taskStateHelper.getTaskStateOrThrowException(taskStateId, userId);
 
         taskStateRepository
-                .findTaskStateEntityByProjectIdAndNameContaining(
+                .findTaskStateEntityByProjectIdAndNameContainingAndDeletedAtIsNull(
                         taskState.getProject().getId(),
                         taskState.getName()
                 )
@@ -157,11 +243,34 @@ public class TaskStateController {
                 });
 
         taskState.setName(taskStateName);
+        boolean sortModeChanged = optionalSortMode
+                .filter(sortMode -> sortMode != taskState.getSortMode())
+                .isPresent();
+
         taskState.setTypeOfLayout(layout);
+        optionalSortMode.ifPresent(taskState::setSortMode);
+        optionalArchiveAfterDays.ifPresent(archiveAfterDays ->
+                taskState.setArchiveAfterDays(archiveAfterDays < 0 ? null : archiveAfterDays));
 
         taskStateRepository.saveAndFlush(taskState);
 
-        return taskStateDtoFactory.makeTaskStateDto(taskState);
+        TaskStateEntity updatedTaskState = taskState;
+
+        if (sortModeChanged) {
+
+            taskHelper.resortTasks(taskState);
+
+            // The resort clears the persistence context; its neighbours are only reachable through a fresh copy.
+            updatedTaskState = taskStateHelper.getTaskStateOrThrowException(taskStateId, userId);
+        }
+
+        boardHelper.markBoardChanged(updatedTaskState.getProject().getId());
+
+        outboxHelper.publish(OutboxEventType.TASK_STATE_UPDATED, updatedTaskState.getProject().getId(), userId, taskStateId);
+
+        dashboardHelper.refreshTaskState(taskStateId);
+
+        return taskStateDtoFactory.makeTaskStateDto(updatedTaskState);
     }
 
     @Operation(summary = "Change TaskState position", description = "Changes the position of a TaskState within the list.")
@@ -191,25 +300,119 @@ public class TaskStateController {
 
         selectedTaskState = taskStateHelper.updateTaskStatePosition(selectedTaskState, optionalNewLeftTaskState, optionalNewRightTaskState);
 
+        boardHelper.markBoardChanged(project.getId());
+
+        outboxHelper.publish(OutboxEventType.TASK_STATE_POSITION_CHANGED, project.getId(), userId, taskStateId);
+
         return taskStateDtoFactory.makeTaskStateDto(selectedTaskState);
     }
 
-    @Operation(summary = "Delete TaskState", description = "Deletes a TaskState by its ID.")
+    @Operation(summary = "Reorder TaskStates", description = "Applies a complete order of the TaskStates of a project in one call; the ids must list every TaskState of the project exactly once.")
+    @PutMapping(REORDER_TASK_STATES)
+    @RateLimitCost(5)
+    public AckDto reorderTaskStates(
+            @PathVariable(name = "project_id") Long projectId,
+            @RequestParam(name = "task_state_ids") List<Long> taskStateIds,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        Long userId = Long.parseLong(jwt.getSubject());
+
+        projectHelper.getProjectOrThrowException(projectId, userId);
+
+        taskStateHelper.reorderTaskStates(projectId, taskStateIds);
+
+        boardHelper.markBoardChanged(projectId);
+
+        outboxHelper.publish(OutboxEventType.TASK_STATES_REORDERED, projectId, userId, projectId, Map.of("task_state_ids", taskStateIds));
+
+        return AckDto.builder().answer(true).build();
+    }
+
+    @Operation(summary = "Delete TaskState", description = "Moves a TaskState to the trash by its ID together with its tasks, or after appending its tasks to the end of another TaskState of the same project. It can be restored until the undo window ends.")
     @DeleteMapping(DELETE_TASK_STATE)
     public AckDto deleteTaskState(
             @PathVariable(name = "task_state_id") Long taskStateId,
+            @RequestParam(name = "mode", defaultValue = "CASCADE") TaskStateDeletionMode mode,
+            @RequestParam(name = "target_task_state_id", required = false) Optional<Long> optionalTargetTaskStateId,
             @AuthenticationPrincipal Jwt jwt){
 
         Long userId = Long.parseLong(jwt.getSubject());
 
         TaskStateEntity taskState = taskStateHelper.getTaskStateOrThrowException(taskStateId, userId);
 
-        taskStateHelper.replaceOldTaskStatesPosition(taskState);
+        Optional<TaskStateEntity> optionalResortedTaskState = Optional.empty();
 
-        taskStateRepository.saveAndFlush(taskState);
+        if (mode == TaskStateDeletionMode.MOVE) {
+
+            Long targetTaskStateId = optionalTargetTaskStateId
+                    .orElseThrow(() -> new CustomAppException(HttpStatus.BAD_REQUEST,
+                            "Target task state id is required to move tasks"));
+
+            if (taskStateId.equals(targetTaskStateId)) {
+                throw new CustomAppException(HttpStatus.BAD_REQUEST, "Target task state id equals deleted task state.");
+            }
+
+            TaskStateEntity targetTaskState = taskStateHelper.getTaskStateOrThrowException(targetTaskStateId, userId);
+
+            if (!Objects.equals(taskState.getProject().getId(), targetTaskState.getProject().getId())) {
+                throw new CustomAppException(HttpStatus.BAD_REQUEST, "Tasks can be moved within the same project only");
+            }
+
+            taskHelper.appendTasksToTaskState(taskState, targetTaskState);
+
+            optionalResortedTaskState = Optional.of(targetTaskState);
+
+            dashboardHelper.refreshTaskState(targetTaskStateId);
+        } else {
+            dashboardHelper.removeTaskState(taskStateId);
+        }
+
+        taskState.setDeletedAt(LocalDateTime.now());
 
-        taskStateRepository.delete(taskState);
+        taskStateRepository.save(taskState);
+
+        optionalResortedTaskState.ifPresent(taskHelper::resortTasks);
+
+        boardHelper.markBoardChanged(taskState.getProject().getId());
+
+        outboxHelper.publish(OutboxEventType.TASK_STATE_DELETED, taskState.getProject().getId(), userId, taskStateId, Map.of("mode", mode.name()));
 
         return AckDto.builder().answer(true).build();
     }
+
+    @Operation(summary = "Restore TaskState", description = "Restores a deleted TaskState at its old position, with the tasks it was deleted with, while the undo window lasts.")
+    @PostMapping(RESTORE_TASK_STATE)
+    public TaskStateDto restoreTaskState(
+            @PathVariable(name = "task_state_id") Long taskStateId,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        Long userId = Long.parseLong(jwt.getSubject());
+
+        TaskStateEntity taskState = taskStateHelper.getDeletedTaskStateOrThrowException(taskStateId, userId);
+
+        taskState
+                .getProject()
+                .getTaskStates()
+                .stream()
+                .filter(anotherTaskState -> Objects.isNull(anotherTaskState.getDeletedAt()))
+                .filter(anotherTaskState -> anotherTaskState.getName().equals(taskState.getName()))
+                .findAny()
+                .ifPresent(it -> {
+                    throw new CustomAppException(HttpStatus.BAD_REQUEST,
+                            String.format("Task state with name %s already exists", taskState.getName()));
+                });
+
+        // The project row lock first, in the same order as the compactor.
+        boardHelper.markBoardChanged(taskState.getProject().getId());
+
+        taskState.setDeletedAt(null);
+
+        taskStateRepository.save(taskState);
+
+        outboxHelper.publish(OutboxEventType.TASK_STATE_RESTORED, taskState.getProject().getId(), userId, taskStateId);
+
+        dashboardHelper.refreshTaskState(taskStateId);
+
+        return taskStateDtoFactory.makeTaskStateDto(taskState);
+    }
 }
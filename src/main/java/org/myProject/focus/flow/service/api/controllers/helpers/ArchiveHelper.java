@@ -0,0 +1,129 @@
+package org.myProject.focus.flow.service.api.controllers.helpers;
+
+import jakarta.transaction.Transactional;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.api.exceptions.CustomAppException;
+import org.myProject.focus.flow.service.store.entities.ArchivedTaskEntity;
+import org.myProject.focus.flow.service.store.entities.enums.OutboxEventType;
+import org.myProject.focus.flow.service.store.repositories.ArchivedTaskRepository;
+import org.myProject.focus.flow.service.store.repositories.TaskRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Transactional
+public class ArchiveHelper {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    TaskRepository taskRepository;
+
+    ArchivedTaskRepository archivedTaskRepository;
+
+    TaskHelper taskHelper;
+
+    BoardHelper boardHelper;
+
+    OutboxHelper outboxHelper;
+
+    DashboardHelper dashboardHelper;
+
+    /**
+     * Moves up to {@code limit} tasks of a project that are due for archiving into the archive:
+     * they are copied with one insert, their chains are closed with one relink and they are deleted with one delete.
+     * A batch racing a concurrent change of the same chains fails on the deferred chain constraints and is retried later.
+     *
+     * @return the number of archived tasks; fewer than {@code limit} once the project has none left to archive
+     */
+    public int archiveTasks(Long projectId, int maxIdleDays, int limit) {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Long> taskIds = taskRepository.findIdsDueForArchive(projectId, now, maxIdleDays, limit);
+
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+
+        boardHelper.markBoardChanged(projectId);
+
+        archivedTaskRepository.archiveAllByProjectIdAndIdIn(projectId, taskIds, now);
+
+        taskHelper.unlinkTasks(projectId, taskIds);
+
+        taskRepository.deleteAllByProjectIdAndIdIn(projectId, taskIds);
+
+        outboxHelper.publish(OutboxEventType.TASKS_ARCHIVED, projectId, null, projectId, Map.of("task_ids", taskIds));
+
+        dashboardHelper.removeTasks(taskIds);
+
+        return taskIds.size();
+    }
+
+    /**
+     * One page of the archive of a project, newest first. The page token of the previous page
+     * carries the position of its last task.
+     */
+    public List<ArchivedTaskEntity> getArchivedTasks(Long projectId, Optional<String> optionalPageToken, int limit) {
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new CustomAppException(HttpStatus.BAD_REQUEST,
+                    String.format("Limit must be between 1 and %s", MAX_PAGE_SIZE));
+        }
+
+        PageRequest page = PageRequest.of(0, limit);
+
+        if (optionalPageToken.isEmpty()) {
+            return archivedTaskRepository.findFirstPageByProjectId(projectId, page);
+        }
+
+        PageToken pageToken = PageToken.decode(optionalPageToken.get());
+
+        return archivedTaskRepository.findPageByProjectIdAfter(projectId, pageToken.archivedAt(), pageToken.id(), page);
+    }
+
+    /**
+     * Token of the page after the given one, empty when the page is the last one.
+     */
+    public Optional<String> getNextPageToken(List<ArchivedTaskEntity> archivedTasks, int limit) {
+
+        if (archivedTasks.size() < limit) {
+            return Optional.empty();
+        }
+
+        ArchivedTaskEntity lastArchivedTask = archivedTasks.get(archivedTasks.size() - 1);
+
+        return Optional.of(new PageToken(lastArchivedTask.getArchivedAt(), lastArchivedTask.getId()).encode());
+    }
+
+    record PageToken(LocalDateTime archivedAt, Long id) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (archivedAt + "," + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static PageToken decode(String pageToken) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8).split(",");
+
+                return new PageToken(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException ex) {
+                throw new CustomAppException(HttpStatus.BAD_REQUEST, "Page token is invalid");
+            }
+        }
+    }
+}
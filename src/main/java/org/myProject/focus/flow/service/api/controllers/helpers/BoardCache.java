@@ -0,0 +1,302 @@
+package org.myProject.focus.flow.service.api.controllers.helpers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.log4j.Log4j2;
+import org.myProject.focus.flow.service.api.controllers.helpers.BoardHelper.BoardKey;
+import org.myProject.focus.flow.service.store.entities.ProjectEntity;
+import org.myProject.focus.flow.service.store.repositories.ProjectRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serialized JSON of project boards, keyed by project and tagged with the board version it was built from.
+ * A warm read is one map lookup and the cached bytes are written to the response as they are.
+ * After a commit that changed a cached board the entry is rebuilt in the background; until then,
+ * and for at most max-stale-ms, readers get the previous board instead of waiting for the rebuild.
+ * Entries are evicted least recently read first once the cached bytes exceed max-bytes.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BoardCache {
+
+    BoardHelper boardHelper;
+
+    ProjectRepository projectRepository;
+
+    ObjectMapper objectMapper;
+
+    MeterRegistry meterRegistry;
+
+    Map<Long, CachedBoard> boards = new ConcurrentHashMap<>();
+
+    Set<Long> refreshingProjectIds = ConcurrentHashMap.newKeySet();
+
+    SingleFlight<BoardKey, CachedBoard> builds = new SingleFlight<>();
+
+    AtomicLong cachedBytes = new AtomicLong();
+
+    Object evictionLock = new Object();
+
+    @NonFinal
+    @Value("${focus-flow.board-cache.enabled:true}")
+    boolean enabled;
+
+    @NonFinal
+    @Value("${focus-flow.board-cache.max-bytes:67108864}")
+    long maxBytes;
+
+    @NonFinal
+    @Value("${focus-flow.board-cache.max-stale-ms:2000}")
+    long maxStaleMillis;
+
+    @NonFinal
+    @Value("${focus-flow.board-cache.refresh-concurrency:2}")
+    int refreshConcurrency;
+
+    @NonFinal
+    @Value("${focus-flow.board-cache.refresh-queue-capacity:1000}")
+    int refreshQueueCapacity;
+
+    @NonFinal
+    ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        executor = new ThreadPoolExecutor(
+                refreshConcurrency,
+                refreshConcurrency,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(refreshQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "board-cache-refresh-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        Gauge.builder("board.cache.bytes", cachedBytes, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("board.cache.size", boards, Map::size).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * JSON of the board of an already authorized project, as the TaskState listing renders it.
+     */
+    public byte[] getBoardJson(ProjectEntity project) {
+
+        long boardVersion = versionOf(project.getBoardVersion());
+
+        if (!enabled) {
+            return serialize(boardHelper.getBoard(project.getId(), boardVersion));
+        }
+
+        CachedBoard cachedBoard = boards.get(project.getId());
+
+        if (Objects.nonNull(cachedBoard)) {
+
+            long now = System.nanoTime();
+
+            cachedBoard.lastReadNanos = now;
+
+            if (cachedBoard.boardVersion >= boardVersion) {
+                countRead("hit");
+                return cachedBoard.json;
+            }
+
+            cachedBoard.markStale(now);
+
+            refreshAsync(project.getId());
+
+            if (now - cachedBoard.staleSinceNanos < TimeUnit.MILLISECONDS.toNanos(maxStaleMillis)) {
+                countRead("stale");
+                return cachedBoard.json;
+            }
+        }
+
+        countRead("miss");
+
+        return load(project.getId(), boardVersion).json;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBoardChanged(BoardChangedEvent event) {
+
+        CachedBoard cachedBoard = boards.get(event.projectId());
+
+        if (Objects.isNull(cachedBoard)) {
+            return;
+        }
+
+        cachedBoard.markStale(System.nanoTime());
+
+        refreshAsync(event.projectId());
+    }
+
+    private void refreshAsync(Long projectId) {
+
+        if (!refreshingProjectIds.add(projectId)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> refresh(projectId));
+        } catch (RejectedExecutionException ex) {
+            refreshingProjectIds.remove(projectId);
+            log.debug("Board cache refresh queue is full, board of project {} will be rebuilt on read", projectId);
+        }
+    }
+
+    private void refresh(Long projectId) {
+
+        try {
+            Optional<Long> optionalBoardVersion = projectRepository.findBoardVersionById(projectId);
+
+            if (optionalBoardVersion.isEmpty()) {
+                evict(projectId);
+                return;
+            }
+
+            load(projectId, versionOf(optionalBoardVersion.get()));
+        } catch (RuntimeException ex) {
+            log.warn("Board cache refresh of project {} failed: ", projectId, ex);
+        } finally {
+            refreshingProjectIds.remove(projectId);
+        }
+    }
+
+    private CachedBoard load(Long projectId, long boardVersion) {
+
+        CachedBoard builtBoard = builds.execute(new BoardKey(projectId, boardVersion, null), () -> new CachedBoard(
+                boardVersion,
+                serialize(boardHelper.getBoard(projectId, boardVersion))
+        ));
+
+        if (builtBoard.json.length <= maxBytes) {
+            put(projectId, builtBoard);
+        }
+
+        return builtBoard;
+    }
+
+    private void put(Long projectId, CachedBoard builtBoard) {
+
+        boards.compute(projectId, (id, cachedBoard) -> {
+
+            if (Objects.nonNull(cachedBoard) && cachedBoard.boardVersion >= builtBoard.boardVersion) {
+                return cachedBoard;
+            }
+
+            long replacedBytes = Objects.isNull(cachedBoard) ? 0 : cachedBoard.json.length;
+
+            cachedBytes.addAndGet(builtBoard.json.length - replacedBytes);
+
+            return builtBoard;
+        });
+
+        if (cachedBytes.get() > maxBytes) {
+            evictLeastRecentlyRead();
+        }
+    }
+
+    private void evictLeastRecentlyRead() {
+
+        synchronized (evictionLock) {
+
+            boards.entrySet()
+                    .stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastReadNanos))
+                    .takeWhile(entry -> cachedBytes.get() > maxBytes)
+                    .forEach(entry -> {
+                        if (boards.remove(entry.getKey(), entry.getValue())) {
+                            cachedBytes.addAndGet(-entry.getValue().json.length);
+                        }
+                    });
+        }
+    }
+
+    private void evict(Long projectId) {
+
+        CachedBoard cachedBoard = boards.remove(projectId);
+
+        if (Objects.nonNull(cachedBoard)) {
+            cachedBytes.addAndGet(-cachedBoard.json.length);
+        }
+    }
+
+    private byte[] serialize(Object board) {
+        try {
+            return objectMapper.writeValueAsBytes(board);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Board cannot be serialized", ex);
+        }
+    }
+
+    private void countRead(String result) {
+        Counter
+                .builder("board.cache.reads")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static long versionOf(Long boardVersion) {
+        return Objects.requireNonNullElse(boardVersion, 0L);
+    }
+
+    private static final class CachedBoard {
+
+        final long boardVersion;
+
+        final byte[] json;
+
+        volatile long lastReadNanos = System.nanoTime();
+
+        volatile long staleSinceNanos;
+
+        volatile boolean stale;
+
+        CachedBoard(long boardVersion, byte[] json) {
+            this.boardVersion = boardVersion;
+            this.json = json;
+        }
+
+        void markStale(long now) {
+            if (!stale) {
+                staleSinceNanos = now;
+                stale = true;
+            }
+        }
+    }
+}
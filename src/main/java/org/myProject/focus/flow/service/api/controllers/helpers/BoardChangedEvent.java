@@ -0,0 +1,7 @@
+package org.myProject.focus.flow.service.api.controllers.helpers;
+
+/**
+ * Published in the transaction that changed the board of a project.
+ */
+public record BoardChangedEvent(Long projectId) {
+}
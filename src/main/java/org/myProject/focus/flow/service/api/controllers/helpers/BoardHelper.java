@@ -0,0 +1,102 @@
+package org.myProject.focus.flow.service.api.controllers.helpers;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.api.dto.TaskDto;
+import org.myProject.focus.flow.service.api.dto.TaskStateDto;
+import org.myProject.focus.flow.service.api.factories.TaskDtoFactory;
+import org.myProject.focus.flow.service.api.factories.TaskStateDtoFactory;
+import org.myProject.focus.flow.service.store.entities.ProjectEntity;
+import org.myProject.focus.flow.service.store.entities.TaskEntity;
+import org.myProject.focus.flow.service.store.entities.TaskStateEntity;
+import org.myProject.focus.flow.service.store.repositories.ProjectRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Board reads keyed by (project, board version). Concurrent identical reads share one build,
+ * which runs in its own short transaction, so waiting readers hold no pooled connection.
+ * Callers authorize the user before asking for a board; the shared result carries no per-user data.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BoardHelper {
+
+    ProjectRepository projectRepository;
+
+    TaskHelper taskHelper;
+
+    TaskStateHelper taskStateHelper;
+
+    TaskStateDtoFactory taskStateDtoFactory;
+
+    TaskDtoFactory taskDtoFactory;
+
+    TransactionTemplate transactionTemplate;
+
+    ApplicationEventPublisher applicationEventPublisher;
+
+    SingleFlight<BoardKey, List<TaskStateDto>> boardReads = new SingleFlight<>();
+
+    SingleFlight<BoardKey, List<TaskDto>> taskStateReads = new SingleFlight<>();
+
+    public List<TaskStateDto> getBoard(ProjectEntity project) {
+        return getBoard(project.getId(), project.getBoardVersion());
+    }
+
+    public List<TaskStateDto> getBoard(Long projectId, Long boardVersion) {
+
+        BoardKey key = new BoardKey(projectId, boardVersion, null);
+
+        return boardReads.execute(key, () -> transactionTemplate.execute(status -> buildBoard(projectId)));
+    }
+
+    public List<TaskDto> getTasksOfTaskState(TaskStateEntity taskState) {
+
+        BoardKey key = new BoardKey(taskState.getProject().getId(), taskState.getProject().getBoardVersion(), taskState.getId());
+
+        return taskStateReads.execute(key, () -> transactionTemplate.execute(status -> buildTasks(taskState)));
+    }
+
+    /**
+     * Must be called by every request that changes the task states or tasks of a project,
+     * in the same transaction as the change.
+     */
+    public void markBoardChanged(Long projectId) {
+
+        projectRepository.incrementBoardVersion(projectId);
+
+        applicationEventPublisher.publishEvent(new BoardChangedEvent(projectId));
+    }
+
+    /**
+     * Builds a fully materialized DTO tree: it is handed to several requests at once
+     * and must not reach back into the entities of the building transaction.
+     */
+    private List<TaskStateDto> buildBoard(Long projectId) {
+
+        Map<Long, List<TaskEntity>> sortedTasksOfProject = taskHelper.getSortedTasksOfProject(projectId);
+
+        return taskStateDtoFactory
+                .makeTaskStateDtos(
+                        taskStateHelper.getSortedTaskStates(projectId),
+                        taskState -> sortedTasksOfProject.getOrDefault(taskState.getId(), List.of())
+                )
+                .stream()
+                .peek(taskStateDto -> taskStateDto.setTasks(List.copyOf(taskStateDto.getTasks())))
+                .toList();
+    }
+
+    private List<TaskDto> buildTasks(TaskStateEntity taskState) {
+        return List.copyOf(taskDtoFactory.makeTaskDtos(taskHelper.getSortedTasks(taskState)));
+    }
+
+    record BoardKey(Long projectId, Long boardVersion, Long taskStateId) {
+    }
+}
@@ -0,0 +1,82 @@
+package org.myProject.focus.flow.service.api.controllers.helpers;
+
+import jakarta.transaction.Transactional;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.store.repositories.DashboardTaskRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the dashboard_task read model in step with tasks, task states and projects.
+ * Every method joins the caller's transaction, so the read model commits or rolls back
+ * together with the change it mirrors. Position changes are not mirrored: the dashboard
+ * is ordered by deadline and priority only.
+ */
+@Component
+@Transactional
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class DashboardHelper {
+
+    DashboardTaskRepository dashboardTaskRepository;
+
+    public void refreshTask(Long taskId) {
+        refreshTasks(List.of(taskId));
+    }
+
+    public void refreshTasks(Collection<Long> taskIds) {
+
+        if (taskIds.isEmpty()) {
+            return;
+        }
+
+        dashboardTaskRepository.upsertAllByTaskIdIn(taskIds);
+    }
+
+    public void removeTask(Long taskId) {
+        removeTasks(List.of(taskId));
+    }
+
+    public void removeTasks(Collection<Long> taskIds) {
+
+        if (taskIds.isEmpty()) {
+            return;
+        }
+
+        dashboardTaskRepository.deleteAllByTaskIdIn(taskIds);
+    }
+
+    public void refreshTaskState(Long taskStateId) {
+        dashboardTaskRepository.upsertAllByTaskStateId(taskStateId);
+    }
+
+    public void removeTaskState(Long taskStateId) {
+        dashboardTaskRepository.deleteAllByTaskStateId(taskStateId);
+    }
+
+    public void refreshProject(Long projectId) {
+        dashboardTaskRepository.upsertAllByProjectId(projectId);
+    }
+
+    public void removeProject(Long projectId) {
+        dashboardTaskRepository.deleteAllByProjectId(projectId);
+    }
+
+    public void refreshImportJob(Long importJobId, Long userId) {
+        dashboardTaskRepository.upsertAllOfImportJob(importJobId, userId);
+    }
+
+    /**
+     * Recovery: drops the user's rows and derives them again from the source tables.
+     */
+    public int rebuildUser(Long userId) {
+
+        dashboardTaskRepository.deleteAllByUserId(userId);
+
+        return dashboardTaskRepository.upsertAllByUserId(userId);
+    }
+}
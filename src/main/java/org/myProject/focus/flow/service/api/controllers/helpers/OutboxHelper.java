@@ -0,0 +1,62 @@
+package org.myProject.focus.flow.service.api.controllers.helpers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.store.entities.OutboxEventEntity;
+import org.myProject.focus.flow.service.store.entities.enums.OutboxEventType;
+import org.myProject.focus.flow.service.store.repositories.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Writes domain events to the outbox in the caller's transaction.
+ * Callers publish after they have updated the project row (board version bump or the project itself):
+ * the row lock then serializes writers of a project, and events of a project get ids in commit order.
+ */
+@Component
+@Transactional
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OutboxHelper {
+
+    public static final int SHARDS = 16;
+
+    OutboxEventRepository outboxEventRepository;
+
+    ObjectMapper objectMapper;
+
+    public void publish(OutboxEventType type, Long projectId, Long userId, Long aggregateId) {
+        save(type, projectId, userId, aggregateId, null);
+    }
+
+    public void publish(OutboxEventType type, Long projectId, Long userId, Long aggregateId, Map<String, ?> details) {
+        try {
+            save(type, projectId, userId, aggregateId, objectMapper.writeValueAsString(details));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Outbox event details cannot be serialized", ex);
+        }
+    }
+
+    public static int shardOf(Long projectId) {
+        return Math.floorMod(Long.hashCode(projectId), SHARDS);
+    }
+
+    private void save(OutboxEventType type, Long projectId, Long userId, Long aggregateId, String payload) {
+        outboxEventRepository.save(
+                OutboxEventEntity
+                        .builder()
+                        .shard(shardOf(projectId))
+                        .projectId(projectId)
+                        .userId(userId)
+                        .type(type)
+                        .aggregateId(aggregateId)
+                        .payload(payload)
+                        .build()
+        );
+    }
+}
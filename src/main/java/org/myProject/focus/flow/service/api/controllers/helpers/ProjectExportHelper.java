@@ -0,0 +1,121 @@
+package org.myProject.focus.flow.service.api.controllers.helpers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.transaction.Transactional;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.api.dto.TaskExportDto;
+import org.myProject.focus.flow.service.api.factories.TaskExportDtoFactory;
+import org.myProject.focus.flow.service.store.entities.enums.ExportFormat;
+import org.myProject.focus.flow.service.store.projections.TaskExportProjection;
+import org.myProject.focus.flow.service.store.repositories.ProjectRepository;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Transactional
+public class ProjectExportHelper {
+
+    ProjectRepository projectRepository;
+
+    TaskExportDtoFactory taskExportDtoFactory;
+
+    ObjectMapper objectMapper;
+
+    /**
+     * Writes rows straight from the database cursor, so memory use does not depend on the board size.
+     * A null projectId exports every live project of the user.
+     */
+    public void export(Long userId, Long projectId, ExportFormat format, OutputStream outputStream) throws IOException {
+
+        try (Stream<TaskExportProjection> rows = projectRepository.streamExportRowsByUserIdAndProjectId(userId, projectId)) {
+
+            Iterator<TaskExportDto> iterator = rows
+                    .map(taskExportDtoFactory::makeTaskExportDto)
+                    .iterator();
+
+            if (format == ExportFormat.CSV) {
+                writeCsv(iterator, outputStream);
+            } else {
+                writeNdjson(iterator, outputStream);
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<TaskExportDto> iterator, OutputStream outputStream) throws IOException {
+
+        ObjectWriter writer = objectMapper
+                .writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        JsonGenerator generator = objectMapper
+                .createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(new SerializedString("\n"));
+
+        boolean isEmpty = true;
+
+        while (iterator.hasNext()) {
+            writer.writeValue(generator, iterator.next());
+            isEmpty = false;
+        }
+
+        if (!isEmpty) {
+            generator.writeRaw('\n');
+        }
+
+        generator.close();
+    }
+
+    private void writeCsv(Iterator<TaskExportDto> iterator, OutputStream outputStream) throws IOException {
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        writeCsvLine(writer, TaskExportDto.CSV_HEADER);
+
+        while (iterator.hasNext()) {
+            writeCsvLine(writer, iterator.next().toCsvValues());
+        }
+
+        writer.flush();
+    }
+
+    private void writeCsvLine(Writer writer, Object[] values) throws IOException {
+
+        writer.write(Arrays
+                .stream(values)
+                .map(this::toCsvField)
+                .collect(Collectors.joining(",")));
+
+        writer.write('\n');
+    }
+
+    private String toCsvField(Object value) {
+
+        if (Objects.isNull(value)) {
+            return "";
+        }
+
+        String text = value.toString();
+
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+
+        return text;
+    }
+}
@@ -10,6 +10,8 @@ import org.myProject.focus.flow.service.store.repositories.ProjectRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
+import java.util.Objects;
+
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @Component
@@ -24,6 +26,7 @@ public class ProjectHelper {
 
         ProjectEntity project = projectRepository
                 .findById(projectId)
+                .filter(it -> Objects.isNull(it.getDeletedAt()))
                 .orElseThrow(() ->
                         new CustomAppException(
                                 HttpStatus.NOT_FOUND,
@@ -0,0 +1,408 @@
+package org.myProject.focus.flow.service.api.controllers.helpers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.log4j.Log4j2;
+import org.myProject.focus.flow.service.api.dto.TaskImportDto;
+import org.myProject.focus.flow.service.api.exceptions.CustomAppException;
+import org.myProject.focus.flow.service.store.entities.ImportJobEntity;
+import org.myProject.focus.flow.service.store.entities.enums.ExportFormat;
+import org.myProject.focus.flow.service.store.entities.enums.JobStatus;
+import org.myProject.focus.flow.service.store.entities.enums.Layouts;
+import org.myProject.focus.flow.service.store.entities.enums.OutboxEventType;
+import org.myProject.focus.flow.service.store.repositories.*;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Imports projects, task states and tasks from NDJSON or CSV in three phases:
+ * rows are parsed one at a time and staged into task_import_row in committed batches
+ * (COPY on PostgreSQL, JDBC batches elsewhere), then merged with one set-based statement per table
+ * that skips rows whose external id was imported before, so a failed import can simply be re-run.
+ * Rows of an export carry the own ids of rows created here; those are adopted as external ids first,
+ * so re-importing an export changes nothing.
+ * Not transactional as a whole on purpose: every batch and the merge run in their own transaction.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ProjectImportHelper {
+
+    private static final String COPY_SQL = "COPY task_import_row (import_job_id, line_number, external_project_id, " +
+            "project_name, external_task_state_id, task_state_name, task_state_position, external_task_id, " +
+            "task_position, title, description, deadline, category, priority) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String INSERT_SQL = "INSERT INTO task_import_row (import_job_id, line_number, external_project_id, " +
+            "project_name, external_task_state_id, task_state_name, task_state_position, external_task_id, " +
+            "task_position, title, description, deadline, category, priority) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    ImportJobRepository importJobRepository;
+
+    TaskImportRowRepository taskImportRowRepository;
+
+    ProjectRepository projectRepository;
+
+    TaskStateRepository taskStateRepository;
+
+    TaskRepository taskRepository;
+
+    DashboardHelper dashboardHelper;
+
+    OutboxHelper outboxHelper;
+
+    JdbcTemplate jdbcTemplate;
+
+    TransactionTemplate transactionTemplate;
+
+    ObjectMapper objectMapper;
+
+    @NonFinal
+    @Value("${focus-flow.import.batch-size:1000}")
+    int batchSize;
+
+    public ImportJobEntity getImportJobOrThrowException(Long importJobId) {
+
+        return importJobRepository
+                .findById(importJobId)
+                .orElseThrow(() -> new CustomAppException(HttpStatus.NOT_FOUND,
+                        String.format("Import job with id (%s) doesn't exist", importJobId)));
+    }
+
+    public ImportJobEntity importProjects(Long userId, ExportFormat format, InputStream inputStream) {
+
+        long startedAt = System.nanoTime();
+
+        Long importJobId = transactionTemplate.execute(status -> importJobRepository
+                .saveAndFlush(ImportJobEntity.builder().userId(userId).status(JobStatus.RUNNING).build())
+                .getId());
+
+        try {
+            long rowsRead = stageRows(importJobId, format, inputStream);
+
+            return transactionTemplate.execute(status -> merge(importJobId, userId, rowsRead, startedAt));
+        } catch (IOException | RuntimeException ex) {
+
+            log.error("Import job {} failed: ", importJobId, ex);
+
+            transactionTemplate.executeWithoutResult(status -> {
+
+                taskImportRowRepository.deleteAllByImportJobId(importJobId);
+
+                ImportJobEntity job = importJobRepository.getReferenceById(importJobId);
+
+                job.setStatus(JobStatus.FAILED);
+                job.setErrorMessage(ex.getMessage());
+                job.setFinishedAt(LocalDateTime.now());
+            });
+
+            if (ex instanceof CustomAppException customAppException) {
+                throw customAppException;
+            }
+
+            throw new CustomAppException(HttpStatus.BAD_REQUEST,
+                    String.format("Import job %s failed: %s", importJobId, ex.getMessage()));
+        }
+    }
+
+    private long stageRows(Long importJobId, ExportFormat format, InputStream inputStream) throws IOException {
+
+        Iterator<TaskImportDto> iterator;
+
+        if (format == ExportFormat.CSV) {
+            iterator = new CsvRowIterator(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+        } else {
+            iterator = objectMapper.readerFor(TaskImportDto.class).readValues(inputStream);
+        }
+
+        List<TaskImportDto> batch = new ArrayList<>(batchSize);
+
+        long rowsRead = 0;
+
+        while (iterator.hasNext()) {
+
+            TaskImportDto row = iterator.next();
+
+            rowsRead++;
+
+            validateRow(row, rowsRead);
+
+            batch.add(row);
+
+            if (batch.size() == batchSize) {
+                writeBatch(importJobId, rowsRead - batch.size() + 1, batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            writeBatch(importJobId, rowsRead - batch.size() + 1, batch);
+        }
+
+        return rowsRead;
+    }
+
+    private void validateRow(TaskImportDto row, long lineNumber) {
+
+        if (isBlank(row.getProjectId()) || isBlank(row.getProjectName())
+                || isBlank(row.getTaskStateId()) || isBlank(row.getTaskStateName())) {
+            throw new CustomAppException(HttpStatus.BAD_REQUEST,
+                    String.format("Row %s: project and task state ids and names are required", lineNumber));
+        }
+
+        if (!isBlank(row.getTaskId()) && (isBlank(row.getTitle()) || Objects.isNull(row.getDeadline())
+                || Objects.isNull(row.getCategory()) || Objects.isNull(row.getPriority()))) {
+            throw new CustomAppException(HttpStatus.BAD_REQUEST,
+                    String.format("Row %s: title, deadline, category and priority are required for a task", lineNumber));
+        }
+    }
+
+    private void writeBatch(Long importJobId, long firstLineNumber, List<TaskImportDto> batch) {
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+
+            if (connection.isWrapperFor(PGConnection.class)) {
+
+                try {
+                    connection
+                            .unwrap(PGConnection.class)
+                            .getCopyAPI()
+                            .copyIn(COPY_SQL, new StringReader(toCopyCsv(importJobId, firstLineNumber, batch)));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+
+                return null;
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+
+                @Override
+                public void setValues(PreparedStatement statement, int index) throws SQLException {
+
+                    Object[] values = toValues(importJobId, firstLineNumber + index, batch.get(index));
+
+                    for (int i = 0; i < values.length; i++) {
+                        statement.setObject(i + 1, values[i]);
+                    }
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+
+            return null;
+        }));
+    }
+
+    private ImportJobEntity merge(Long importJobId, Long userId, long rowsRead, long startedAt) {
+
+        projectRepository.adoptExportedIdsOfImportJob(importJobId, userId);
+
+        long importedProjects = projectRepository.importFromStaging(importJobId, userId);
+
+        taskStateRepository.adoptExportedIdsOfImportJob(importJobId, userId);
+
+        long importedTaskStates = taskStateRepository.importFromStaging(importJobId, userId, Layouts.BOARD.ordinal());
+
+        taskRepository.adoptExportedIdsOfImportJob(importJobId, userId);
+
+        long importedTasks = taskRepository.importFromStaging(importJobId, userId);
+
+        taskRepository.resortAllOfImportJob(importJobId, userId);
+
+        List<Long> importedProjectIds = projectRepository.incrementBoardVersionsOfImportJob(importJobId, userId);
+
+        importedProjectIds.forEach(projectId -> outboxHelper.publish(
+                OutboxEventType.PROJECT_IMPORTED, projectId, userId, projectId, Map.of("import_job_id", importJobId)));
+
+        dashboardHelper.refreshImportJob(importJobId, userId);
+
+        taskImportRowRepository.deleteAllByImportJobId(importJobId);
+
+        double elapsedSeconds = Math.max((System.nanoTime() - startedAt) / 1_000_000_000.0, 0.001);
+
+        ImportJobEntity job = importJobRepository.getReferenceById(importJobId);
+
+        job.setStatus(JobStatus.DONE);
+        job.setRowsRead(rowsRead);
+        job.setImportedProjects(importedProjects);
+        job.setImportedTaskStates(importedTaskStates);
+        job.setImportedTasks(importedTasks);
+        job.setRowsPerSecond(rowsRead / elapsedSeconds);
+        job.setFinishedAt(LocalDateTime.now());
+
+        log.info("Import job {} read {} rows at {} rows/s: {} projects, {} task states, {} tasks imported",
+                importJobId, rowsRead, Math.round(job.getRowsPerSecond()), importedProjects, importedTaskStates, importedTasks);
+
+        return importJobRepository.saveAndFlush(job);
+    }
+
+    private Object[] toValues(Long importJobId, long lineNumber, TaskImportDto row) {
+
+        return new Object[]{
+                importJobId,
+                lineNumber,
+                row.getProjectId(),
+                row.getProjectName(),
+                row.getTaskStateId(),
+                row.getTaskStateName(),
+                row.getTaskStatePosition(),
+                blankToNull(row.getTaskId()),
+                row.getTaskPosition(),
+                row.getTitle(),
+                row.getDescription(),
+                Optional.ofNullable(row.getDeadline()).map(Timestamp::valueOf).orElse(null),
+                Optional.ofNullable(row.getCategory()).map(Enum::ordinal).orElse(null),
+                Optional.ofNullable(row.getPriority()).map(Enum::ordinal).orElse(null)
+        };
+    }
+
+    private String toCopyCsv(Long importJobId, long firstLineNumber, List<TaskImportDto> batch) {
+
+        StringBuilder csv = new StringBuilder(batch.size() * 128);
+
+        for (int i = 0; i < batch.size(); i++) {
+
+            Object[] values = toValues(importJobId, firstLineNumber + i, batch.get(i));
+
+            for (int j = 0; j < values.length; j++) {
+
+                if (j > 0) {
+                    csv.append(',');
+                }
+
+                if (Objects.nonNull(values[j])) {
+                    csv.append('"').append(values[j].toString().replace("\"", "\"\"")).append('"');
+                }
+            }
+
+            csv.append('\n');
+        }
+
+        return csv.toString();
+    }
+
+    private static boolean isBlank(String value) {
+        return Objects.isNull(value) || value.trim().isEmpty();
+    }
+
+    private static String blankToNull(String value) {
+        return isBlank(value) ? null : value;
+    }
+
+    /**
+     * Reads RFC 4180 records one at a time and maps them onto {@link TaskImportDto} by header name.
+     */
+    private class CsvRowIterator implements Iterator<TaskImportDto> {
+
+        final BufferedReader reader;
+
+        final List<String> header;
+
+        List<String> nextRecord;
+
+        CsvRowIterator(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            this.header = Optional.ofNullable(readRecord()).orElse(List.of());
+            this.nextRecord = readRecord();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return Objects.nonNull(nextRecord);
+        }
+
+        @Override
+        public TaskImportDto next() {
+
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            Map<String, String> values = new HashMap<>();
+
+            for (int i = 0; i < header.size() && i < nextRecord.size(); i++) {
+                values.put(header.get(i), blankToNull(nextRecord.get(i)));
+            }
+
+            try {
+                nextRecord = readRecord();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+
+            return objectMapper.convertValue(values, TaskImportDto.class);
+        }
+
+        private List<String> readRecord() throws IOException {
+
+            List<String> record = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+
+            boolean isQuoted = false;
+            int character = reader.read();
+
+            if (character == -1) {
+                return null;
+            }
+
+            while (character != -1) {
+
+                if (isQuoted) {
+                    if (character == '"') {
+                        reader.mark(1);
+                        int following = reader.read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            isQuoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        field.append((char) character);
+                    }
+                } else if (character == '"') {
+                    isQuoted = true;
+                } else if (character == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                } else if (character == '\n') {
+                    break;
+                } else if (character != '\r') {
+                    field.append((char) character);
+                }
+
+                character = reader.read();
+            }
+
+            if (isQuoted) {
+                throw new CustomAppException(HttpStatus.BAD_REQUEST, "CSV ends inside a quoted field");
+            }
+
+            record.add(field.toString());
+
+            return record;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.myProject.focus.flow.service.api.controllers.helpers;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one computation per key at a time. Callers that arrive while it is running
+ * wait for it and get the same result (or exception) instead of starting their own.
+ * Nothing is kept once the computation finishes, so the result must be safe to share but is never stale.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> computation) {
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+
+        CompletableFuture<V> runningFuture = inFlight.putIfAbsent(key, future);
+
+        if (Objects.nonNull(runningFuture)) {
+            return await(runningFuture);
+        }
+
+        try {
+            V result = computation.get();
+
+            future.complete(result);
+
+            return result;
+        } catch (RuntimeException | Error ex) {
+
+            future.completeExceptionally(ex);
+
+            throw ex;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+
+            throw ex;
+        }
+    }
+}
@@ -4,16 +4,21 @@ import jakarta.transaction.Transactional;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import org.myProject.focus.flow.service.api.exceptions.CustomAppException;
 import org.myProject.focus.flow.service.store.entities.TaskEntity;
+import org.myProject.focus.flow.service.store.entities.TaskStateEntity;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
 import org.myProject.focus.flow.service.store.repositories.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 @Component
@@ -26,38 +31,163 @@ public class TaskHelper {
 
     ValidateRequestsHelper validateRequestsHelper;
 
+    @NonFinal
+    @Value("${focus-flow.soft-delete.undo-window-ms:3600000}")
+    long undoWindowMillis;
+
     public TaskEntity getTaskOrThrowException(Long taskId, Long userId) {
 
         TaskEntity task = taskRepository
-                .findById(taskId)
+                .findLiveById(taskId)
                 .orElseThrow(() -> new CustomAppException(HttpStatus.NOT_FOUND,
                         String.format("Task with id %s not found", taskId))
                 );
 
-        validateRequestsHelper.verifyingUserAccessToProject(task.getTaskState().getProject().getUserId(), userId);
+        validateRequestsHelper.verifyingUserAccessToProject(task.getUserId(), userId);
 
         return task;
     }
 
-    public List<TaskEntity> getSortedTasks(Long taskStateId) {
+    /**
+     * A deleted task that can still be restored: deleted within the undo window, in a live task state.
+     */
+    public TaskEntity getDeletedTaskOrThrowException(Long taskId, Long userId) {
 
-        TaskEntity initialEntity = taskRepository
-                .findTaskEntityByHigherPriorityTaskIsNullAndTaskStateId(taskStateId)
-                .orElse(null);
+        LocalDateTime undoWindowStart = LocalDateTime.now().minusNanos(undoWindowMillis * 1_000_000);
+
+        TaskEntity task = taskRepository
+                .findById(taskId)
+                .filter(it -> Objects.nonNull(it.getDeletedAt()) && it.getDeletedAt().isAfter(undoWindowStart))
+                .filter(it -> Objects.isNull(it.getTaskState().getDeletedAt()))
+                .filter(it -> Objects.isNull(it.getTaskState().getProject().getDeletedAt()))
+                .orElseThrow(() -> new CustomAppException(HttpStatus.NOT_FOUND,
+                        String.format("Deleted task with id %s not found", taskId))
+                );
+
+        validateRequestsHelper.verifyingUserAccessToProject(task.getUserId(), userId);
+
+        return task;
+    }
+
+    /**
+     * Live tasks of a chain in chain order. Deleted tasks stay in the chain until they are compacted
+     * and are only skipped here, so deleting and restoring never relinks anything.
+     */
+    private static List<TaskEntity> withoutDeleted(List<TaskEntity> sortedTasks) {
+        return sortedTasks
+                .stream()
+                .filter(task -> Objects.isNull(task.getDeletedAt()))
+                .collect(Collectors.toList());
+    }
+
+    public List<TaskEntity> getSortedTasks(TaskStateEntity taskState) {
+
+        Long projectId = taskState.getProject().getId();
 
-        return buildSortedTasks(initialEntity);
+        if (taskState.isAutoSorted()) {
+            return taskRepository.findAllByProjectIdAndTaskStateIdInSortOrder(projectId, taskState.getId());
+        }
+
+        return withoutDeleted(buildSortedTasks(taskRepository.findAllByProjectIdAndTaskStateId(projectId, taskState.getId())));
+    }
+
+    public Map<Long, List<TaskEntity>> getSortedTasksOfProject(Long projectId) {
+
+        return taskRepository
+                .findAllByProjectId(projectId)
+                .stream()
+                .collect(Collectors.groupingBy(task -> task.getTaskState().getId()))
+                .entrySet()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> withoutDeleted(buildSortedTasks(entry.getValue()))));
     }
 
-    private List<TaskEntity> buildSortedTasks(TaskEntity initialEntity) {
+    /**
+     * Orders already loaded tasks of one task state by following the lower priority links in memory,
+     * so the walk itself never hits the database.
+     */
+    private List<TaskEntity> buildSortedTasks(List<TaskEntity> tasks) {
+
+        Map<Long, TaskEntity> tasksById = tasks
+                .stream()
+                .collect(Collectors.toMap(TaskEntity::getId, Function.identity()));
+
+        TaskEntity initialEntity = tasks
+                .stream()
+                .filter(task -> task.getHigherPriorityTask().isEmpty())
+                .findFirst()
+                .orElse(null);
 
         return Stream
                 .iterate(
                         initialEntity,
                         Objects::nonNull,
-                        task -> task.getLowerPriorityTask().orElse(null))
+                        task -> task.getLowerPriorityTask().map(TaskEntity::getId).map(tasksById::get).orElse(null))
                 .collect(Collectors.toList());
     }
 
+    public void verifyManuallyOrdered(TaskStateEntity taskState) {
+
+        if (taskState.isAutoSorted()) {
+            throw new CustomAppException(HttpStatus.BAD_REQUEST,
+                    String.format("Tasks of task state %s are sorted by %s and cannot be reordered manually",
+                            taskState.getId(), taskState.getSortMode()));
+        }
+    }
+
+    /**
+     * Task an auto-sorted task state places right after a task with the given sort key,
+     * found by a seek on the sort key index; empty if the task belongs at the tail.
+     */
+    public Optional<TaskEntity> findSortedLowerPriorityTask(
+            TaskStateEntity taskState,
+            Long taskId,
+            Priority priority,
+            LocalDateTime deadline) {
+
+        return taskRepository.findFirstSortedAfter(
+                taskState.getProject().getId(),
+                taskState.getId(),
+                Objects.requireNonNullElse(taskId, Long.MAX_VALUE),
+                priority.ordinal(),
+                deadline
+        );
+    }
+
+    /**
+     * Moves a task of an auto-sorted task state whose sort key changed to its new place in the chain.
+     */
+    public void keepSortOrder(TaskEntity task) {
+
+        if (!task.getTaskState().isAutoSorted()) {
+            return;
+        }
+
+        Optional<TaskEntity> optionalNewLowerPriorityTask = findSortedLowerPriorityTask(
+                task.getTaskState(), task.getId(), task.getPriority(), task.getDeadline());
+
+        if (isPositionChanged(task, optionalNewLowerPriorityTask.map(TaskEntity::getId))) {
+            return;
+        }
+
+        Optional<TaskEntity> optionalNewHigherPriorityTask = getNewHigherPriorityTask(optionalNewLowerPriorityTask, task);
+
+        replaceOldTasksPositions(task);
+
+        updateTaskPosition(task, optionalNewLowerPriorityTask, optionalNewHigherPriorityTask);
+    }
+
+    /**
+     * Relinks the whole chain of an auto-sorted task state in sort key order with one statement,
+     * after tasks were added without regard to it. Clears the persistence context when it runs.
+     */
+    public void resortTasks(TaskStateEntity taskState) {
+
+        if (taskState.isAutoSorted()) {
+            taskRepository.resortByProjectIdAndTaskStateId(taskState.getProject().getId(), taskState.getId());
+        }
+    }
+
     public boolean isPositionChanged(
             TaskEntity selectedTask,
             Optional<Long> optionalLowerPriorityTaskId) {
@@ -77,7 +207,8 @@ public class TaskHelper {
         if (!optionalNewLowerPriorityTask.isPresent()) {
 
             optionalNewHigherPriorityTask = taskRepository
-                    .findTaskEntityByLowerPriorityTaskIsNullAndTaskStateId(selectedTask.getTaskState().getId());
+                    .findTaskEntityByLowerPriorityTaskIsNullAndProjectIdAndTaskStateId(
+                            selectedTask.getProjectId(), selectedTask.getTaskState().getId());
         } else {
 
             optionalNewHigherPriorityTask = optionalNewLowerPriorityTask
@@ -100,12 +231,17 @@ public class TaskHelper {
 
                     return taskRepository
                             .findById(lowerPriorityTaskId)
+                            .filter(it -> Objects.isNull(it.getDeletedAt()))
                             .orElseThrow(() -> new CustomAppException(HttpStatus.NOT_FOUND,
                                     String.format("Task with id %s not found", lowerPriorityTaskId))
                             );
                 });
     }
 
+    /**
+     * Position changes only touch the loaded entities: the pointer updates of the task and its neighbours
+     * are flushed together as one JDBC batch, and the chain constraints are deferred to commit.
+     */
     public void replaceOldTasksPositions(TaskEntity task) {
 
         Optional<TaskEntity> optionalOldHigherPriorityTaskState = task.getHigherPriorityTask();
@@ -114,21 +250,13 @@ public class TaskHelper {
         task.setHigherPriorityTask(null);
         task.setLowerPriorityTask(null);
 
-        taskRepository.saveAndFlush(task);
-
-        optionalOldHigherPriorityTaskState.ifPresent(it -> {
-
-            it.setLowerPriorityTask(optionalOldLowerPriorityTaskState.orElse(null));
-
-            taskRepository.saveAndFlush(it);
-        });
-
-        optionalOldLowerPriorityTaskState.ifPresent(it -> {
-
-            it.setHigherPriorityTask(optionalOldHigherPriorityTaskState.orElse(null));
+        optionalOldHigherPriorityTaskState.ifPresent(it ->
+                it.setLowerPriorityTask(optionalOldLowerPriorityTaskState.orElse(null))
+        );
 
-            taskRepository.saveAndFlush(it);
-        });
+        optionalOldLowerPriorityTaskState.ifPresent(it ->
+                it.setHigherPriorityTask(optionalOldHigherPriorityTaskState.orElse(null))
+        );
     }
 
     public TaskEntity updateTaskPosition(
@@ -160,9 +288,227 @@ public class TaskHelper {
             selectedTask.setHigherPriorityTask(null);
         }
 
-        optionalNewHigherPriorityTask.ifPresent(taskRepository::saveAndFlush);
-        optionalNewLowerPriorityTask.ifPresent(taskRepository::saveAndFlush);
+        return selectedTask;
+    }
+
+    public List<TaskEntity> getTasksOrThrowException(List<Long> taskIds, Long userId) {
+
+        Map<Long, TaskEntity> tasksById = taskRepository
+                .findAllLiveById(taskIds)
+                .stream()
+                .collect(Collectors.toMap(TaskEntity::getId, Function.identity()));
+
+        return taskIds
+                .stream()
+                .map(taskId -> {
+
+                    TaskEntity task = Optional
+                            .ofNullable(tasksById.get(taskId))
+                            .orElseThrow(() -> new CustomAppException(HttpStatus.NOT_FOUND,
+                                    String.format("Task with id %s not found", taskId))
+                            );
+
+                    validateRequestsHelper.verifyingUserAccessToProject(task.getUserId(), userId);
+
+                    return task;
+                })
+                .collect(Collectors.toList());
+    }
+
+    public void moveTasks(
+            List<TaskEntity> tasks,
+            TaskStateEntity targetTaskState,
+            Optional<TaskEntity> optionalNewLowerPriorityTask) {
+
+        Set<Long> movedTaskIds = tasks
+                .stream()
+                .map(TaskEntity::getId)
+                .collect(Collectors.toSet());
+
+        TaskRelinkPlan plan = new TaskRelinkPlan();
+
+        tasks.forEach(task -> plan.link(
+                findRemainingHigherPriorityTask(task, movedTaskIds),
+                findRemainingLowerPriorityTask(task, movedTaskIds)
+        ));
+
+        TaskEntity newHigherPriorityTask = optionalNewLowerPriorityTask
+                .map(newLowerPriorityTask -> findRemainingHigherPriorityTask(newLowerPriorityTask, movedTaskIds))
+                .orElseGet(() -> taskRepository
+                        .findTaskEntityByLowerPriorityTaskIsNullAndProjectIdAndTaskStateId(
+                                targetTaskState.getProject().getId(), targetTaskState.getId())
+                        .map(tail -> movedTaskIds.contains(tail.getId())
+                                ? findRemainingHigherPriorityTask(tail, movedTaskIds)
+                                : tail)
+                        .orElse(null));
+
+        TaskEntity previousTask = newHigherPriorityTask;
+
+        for (TaskEntity task : tasks) {
+
+            plan.moveToTaskState(task, targetTaskState.getId());
+
+            plan.link(previousTask, task);
+
+            previousTask = task;
+        }
+
+        plan.link(previousTask, optionalNewLowerPriorityTask.orElse(null));
+
+        applyRelinkPlan(plan);
+    }
+
+    /**
+     * Rewrites the whole chain of a task state to the given order with one set-based update,
+     * instead of one position change per task. Deleted tasks not compacted yet go to the lower end.
+     */
+    public void reorderTasks(TaskStateEntity taskState, List<Long> orderedTaskIds) {
+
+        Long projectId = taskState.getProject().getId();
+
+        validateRequestsHelper.verifyingCompleteOrdering(
+                orderedTaskIds,
+                taskRepository.findLiveIdsByProjectIdAndTaskStateId(projectId, taskState.getId()),
+                "task");
+
+        Long[] taskIds = Stream
+                .concat(
+                        orderedTaskIds.stream(),
+                        taskRepository.findDeletedIdsByProjectIdAndTaskStateId(projectId, taskState.getId()).stream())
+                .toArray(Long[]::new);
+
+        if (taskIds.length == 0) {
+            return;
+        }
+
+        Long[] taskStateIds = new Long[taskIds.length];
+
+        Arrays.fill(taskStateIds, taskState.getId());
+
+        taskRepository.relink(
+                taskIds,
+                taskStateIds,
+                IntStream.range(0, taskIds.length).mapToObj(i -> i == 0 ? null : taskIds[i - 1]).toArray(Long[]::new),
+                IntStream.range(0, taskIds.length).mapToObj(i -> i == taskIds.length - 1 ? null : taskIds[i + 1]).toArray(Long[]::new)
+        );
+    }
+
+    /**
+     * Closes the gaps the given tasks of a project are about to leave in their chains, with one set-based update
+     * for all of their task states. Only the remaining tasks whose neighbours change are written.
+     */
+    public void unlinkTasks(Long projectId, Collection<Long> taskIds) {
+
+        Set<Long> removedTaskIds = new HashSet<>(taskIds);
+
+        TaskRelinkPlan plan = new TaskRelinkPlan();
+
+        taskRepository
+                .findAllByProjectIdAndTaskStateIdIn(
+                        projectId, taskRepository.findTaskStateIdsByProjectIdAndIdIn(projectId, removedTaskIds))
+                .stream()
+                .collect(Collectors.groupingBy(task -> task.getTaskState().getId()))
+                .values()
+                .forEach(tasks -> linkRemainingTasks(buildSortedTasks(tasks), removedTaskIds, plan));
+
+        applyRelinkPlan(plan);
+    }
+
+    private void linkRemainingTasks(List<TaskEntity> sortedTasks, Set<Long> removedTaskIds, TaskRelinkPlan plan) {
+
+        TaskEntity previousTask = null;
+
+        for (TaskEntity task : sortedTasks) {
+
+            if (removedTaskIds.contains(task.getId())) {
+                continue;
+            }
+
+            Long previousTaskId = Objects.isNull(previousTask) ? null : previousTask.getId();
+
+            if (!Objects.equals(task.getHigherPriorityTask().map(TaskEntity::getId).orElse(null), previousTaskId)) {
+                plan.link(previousTask, task);
+            }
+
+            previousTask = task;
+        }
+
+        if (Objects.nonNull(previousTask) && previousTask.getLowerPriorityTask().isPresent()) {
+            plan.link(previousTask, null);
+        }
+    }
+
+    public void applyRelinkPlan(TaskRelinkPlan plan) {
+
+        if (plan.isEmpty()) {
+            return;
+        }
+
+        taskRepository.relink(
+                plan.getTaskIds(),
+                plan.getTaskStateIds(),
+                plan.getHigherPriorityTaskIds(),
+                plan.getLowerPriorityTaskIds()
+        );
+    }
+
+    private TaskEntity findRemainingHigherPriorityTask(TaskEntity task, Set<Long> movedTaskIds) {
+
+        return Stream
+                .iterate(
+                        task.getHigherPriorityTask().orElse(null),
+                        Objects::nonNull,
+                        it -> it.getHigherPriorityTask().orElse(null))
+                .filter(it -> !movedTaskIds.contains(it.getId()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private TaskEntity findRemainingLowerPriorityTask(TaskEntity task, Set<Long> movedTaskIds) {
+
+        return Stream
+                .iterate(
+                        task.getLowerPriorityTask().orElse(null),
+                        Objects::nonNull,
+                        it -> it.getLowerPriorityTask().orElse(null))
+                .filter(it -> !movedTaskIds.contains(it.getId()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Appends the tasks of a task state to the lower end of another task state of the same project.
+     */
+    public void appendTasksToTaskState(TaskStateEntity taskState, TaskStateEntity targetTaskState) {
+
+        Long projectId = taskState.getProject().getId();
+
+        Optional<Long> optionalHeadTaskId = taskRepository.findHeadIdByProjectIdAndTaskStateId(projectId, taskState.getId());
+
+        if (optionalHeadTaskId.isEmpty()) {
+            return;
+        }
+
+        Optional<Long> optionalTargetTailTaskId = taskRepository
+                .findTailIdByProjectIdAndTaskStateId(projectId, targetTaskState.getId());
+
+        taskRepository.moveAllToTaskState(projectId, taskState.getId(), targetTaskState.getId());
+
+        optionalTargetTailTaskId.ifPresent(targetTailTaskId ->
+                taskRepository.linkTasks(projectId, targetTailTaskId, optionalHeadTaskId.get())
+        );
+    }
+
+    public int copyTasks(Long projectId, Map<Long, Long> targetTaskStateIds) {
+
+        if (targetTaskStateIds.isEmpty()) {
+            return 0;
+        }
 
-        return taskRepository.saveAndFlush(selectedTask);
+        return taskRepository.copyAllToTaskStates(
+                projectId,
+                targetTaskStateIds.keySet().toArray(Long[]::new),
+                targetTaskStateIds.values().toArray(Long[]::new)
+        );
     }
 }
@@ -0,0 +1,85 @@
+package org.myProject.focus.flow.service.api.controllers.helpers;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.store.entities.TaskEntity;
+
+import java.util.*;
+
+/**
+ * Final pointer state of the tasks touched by a chain operation.
+ * Reads fall back to the loaded entities, writes are kept here until the plan is applied in one go.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TaskRelinkPlan {
+
+    Map<Long, TaskEntity> tasks = new LinkedHashMap<>();
+
+    Map<Long, Long> higherPriorityTaskIds = new HashMap<>();
+
+    Map<Long, Long> lowerPriorityTaskIds = new HashMap<>();
+
+    Map<Long, Long> taskStateIds = new HashMap<>();
+
+    public void link(TaskEntity higherPriorityTask, TaskEntity lowerPriorityTask) {
+
+        Long higherPriorityTaskId = track(higherPriorityTask);
+        Long lowerPriorityTaskId = track(lowerPriorityTask);
+
+        if (Objects.nonNull(higherPriorityTaskId)) {
+            lowerPriorityTaskIds.put(higherPriorityTaskId, lowerPriorityTaskId);
+        }
+
+        if (Objects.nonNull(lowerPriorityTaskId)) {
+            higherPriorityTaskIds.put(lowerPriorityTaskId, higherPriorityTaskId);
+        }
+    }
+
+    public void moveToTaskState(TaskEntity task, Long taskStateId) {
+        taskStateIds.put(track(task), taskStateId);
+    }
+
+    public boolean isEmpty() {
+        return tasks.isEmpty();
+    }
+
+    public Long[] getTaskIds() {
+        return tasks.keySet().toArray(Long[]::new);
+    }
+
+    public Long[] getTaskStateIds() {
+        return tasks.values()
+                .stream()
+                .map(task -> taskStateIds.getOrDefault(task.getId(), task.getTaskState().getId()))
+                .toArray(Long[]::new);
+    }
+
+    public Long[] getHigherPriorityTaskIds() {
+        return tasks.values()
+                .stream()
+                .map(task -> higherPriorityTaskIds.containsKey(task.getId())
+                        ? higherPriorityTaskIds.get(task.getId())
+                        : task.getHigherPriorityTask().map(TaskEntity::getId).orElse(null))
+                .toArray(Long[]::new);
+    }
+
+    public Long[] getLowerPriorityTaskIds() {
+        return tasks.values()
+                .stream()
+                .map(task -> lowerPriorityTaskIds.containsKey(task.getId())
+                        ? lowerPriorityTaskIds.get(task.getId())
+                        : task.getLowerPriorityTask().map(TaskEntity::getId).orElse(null))
+                .toArray(Long[]::new);
+    }
+
+    private Long track(TaskEntity task) {
+
+        if (Objects.isNull(task)) {
+            return null;
+        }
+
+        tasks.putIfAbsent(task.getId(), task);
+
+        return task.getId();
+    }
+}
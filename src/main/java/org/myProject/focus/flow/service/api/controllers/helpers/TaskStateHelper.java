@@ -4,17 +4,20 @@ import jakarta.transaction.Transactional;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import org.myProject.focus.flow.service.api.exceptions.CustomAppException;
 import org.myProject.focus.flow.service.store.entities.ProjectEntity;
 import org.myProject.focus.flow.service.store.entities.TaskStateEntity;
 import org.myProject.focus.flow.service.store.repositories.TaskStateRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 @Component
@@ -27,35 +30,72 @@ public class TaskStateHelper {
 
     ValidateRequestsHelper validateRequestsHelper;
 
+    @NonFinal
+    @Value("${focus-flow.soft-delete.undo-window-ms:3600000}")
+    long undoWindowMillis;
+
     public TaskStateEntity getTaskStateOrThrowException(Long taskStateId, Long userId) {
 
         TaskStateEntity taskState = taskStateRepository
                 .findById(taskStateId)
+                .filter(it -> Objects.isNull(it.getDeletedAt()))
+                .filter(it -> Objects.isNull(it.getProject().getDeletedAt()))
                 .orElseThrow(() -> new CustomAppException(HttpStatus.NOT_FOUND,
                         String.format("Task state with id \"%s\" not found", taskStateId))
                 );
 
-        validateRequestsHelper.verifyingUserAccessToProject(taskState.getProject().getUserId(), userId);
+        validateRequestsHelper.verifyingUserAccessToProject(taskState.getUserId(), userId);
 
         return taskState;
     }
 
-    public List<TaskStateEntity> getSortedTaskStates(Long projectId) {
+    /**
+     * A deleted task state that can still be restored together with its tasks: deleted within the undo window.
+     */
+    public TaskStateEntity getDeletedTaskStateOrThrowException(Long taskStateId, Long userId) {
 
-        TaskStateEntity initialEntity = taskStateRepository
-                .findTaskStateEntityByLeftTaskStateIsNullAndProjectId(projectId)
-                .orElse(null);
+        LocalDateTime undoWindowStart = LocalDateTime.now().minusNanos(undoWindowMillis * 1_000_000);
+
+        TaskStateEntity taskState = taskStateRepository
+                .findById(taskStateId)
+                .filter(it -> Objects.nonNull(it.getDeletedAt()) && it.getDeletedAt().isAfter(undoWindowStart))
+                .filter(it -> Objects.isNull(it.getProject().getDeletedAt()))
+                .orElseThrow(() -> new CustomAppException(HttpStatus.NOT_FOUND,
+                        String.format("Deleted task state with id \"%s\" not found", taskStateId))
+                );
+
+        validateRequestsHelper.verifyingUserAccessToProject(taskState.getUserId(), userId);
+
+        return taskState;
+    }
 
-        return buildSortedTaskStates(initialEntity);
+    /**
+     * Live task states of the project in chain order; deleted ones are walked through and skipped.
+     */
+    public List<TaskStateEntity> getSortedTaskStates(Long projectId) {
+        return buildSortedTaskStates(taskStateRepository.findAllByProjectId(projectId))
+                .stream()
+                .filter(taskState -> Objects.isNull(taskState.getDeletedAt()))
+                .collect(Collectors.toList());
     }
 
-    private List<TaskStateEntity> buildSortedTaskStates(TaskStateEntity initialEntity) {
+    private List<TaskStateEntity> buildSortedTaskStates(List<TaskStateEntity> taskStates) {
+
+        Map<Long, TaskStateEntity> taskStatesById = taskStates
+                .stream()
+                .collect(Collectors.toMap(TaskStateEntity::getId, Function.identity()));
+
+        TaskStateEntity initialEntity = taskStates
+                .stream()
+                .filter(taskState -> taskState.getLeftTaskState().isEmpty())
+                .findFirst()
+                .orElse(null);
 
         return Stream
                 .iterate(
                         initialEntity,
                         Objects::nonNull,
-                        taskState -> taskState.getRightTaskState().orElse(null))
+                        taskState -> taskState.getRightTaskState().map(TaskStateEntity::getId).map(taskStatesById::get).orElse(null))
                 .collect(Collectors.toList());
     }
 
@@ -83,6 +123,7 @@ public class TaskStateHelper {
 
             TaskStateEntity rightTaskStateEntity = taskStateRepository
                     .findById(rightTaskStateId)
+                    .filter(it -> Objects.isNull(it.getDeletedAt()))
                     .orElseThrow(() -> new CustomAppException(HttpStatus.NOT_FOUND,
                             String.format("Task state with id \"%s\" not found", rightTaskStateId))
                     );
@@ -106,6 +147,9 @@ public class TaskStateHelper {
         }
     }
 
+    /**
+     * Like task moves, only the loaded entities are changed and their updates go out as one batch on flush.
+     */
     public void replaceOldTaskStatesPosition(TaskStateEntity taskState) {
 
         Optional<TaskStateEntity> optionalLeftTaskState = taskState.getLeftTaskState();
@@ -114,21 +158,13 @@ public class TaskStateHelper {
         taskState.setRightTaskState(null);
         taskState.setLeftTaskState(null);
 
-        taskStateRepository.saveAndFlush(taskState);
-
-        optionalLeftTaskState.ifPresent(it -> {
+        optionalLeftTaskState.ifPresent(it ->
+                it.setRightTaskState(optionalRightTaskState.orElse(null))
+        );
 
-            it.setRightTaskState(optionalRightTaskState.orElse(null));
-
-            taskStateRepository.saveAndFlush(it);
-        });
-
-        optionalRightTaskState.ifPresent(it -> {
-
-            it.setLeftTaskState(optionalLeftTaskState.orElse(null));
-
-            taskStateRepository.saveAndFlush(it);
-        });
+        optionalRightTaskState.ifPresent(it ->
+                it.setLeftTaskState(optionalLeftTaskState.orElse(null))
+        );
     }
 
     public TaskStateEntity updateTaskStatePosition(
@@ -158,11 +194,87 @@ public class TaskStateHelper {
             selectedTaskState.setRightTaskState(null);
         }
 
-        optionalNewRightTaskState.ifPresent(taskStateRepository::saveAndFlush);
-        optionalNewLeftTaskState.ifPresent(taskStateRepository::saveAndFlush);
+        return selectedTaskState;
+    }
 
-        selectedTaskState = taskStateRepository.saveAndFlush(selectedTaskState);
+    /**
+     * Rewrites the whole task state chain of a project to the given order with one set-based update.
+     * Deleted task states not compacted yet go to the right end.
+     */
+    public void reorderTaskStates(Long projectId, List<Long> orderedTaskStateIds) {
 
-        return selectedTaskState;
+        validateRequestsHelper.verifyingCompleteOrdering(
+                orderedTaskStateIds, taskStateRepository.findLiveIdsByProjectId(projectId), "task state");
+
+        Long[] taskStateIds = Stream
+                .concat(orderedTaskStateIds.stream(), taskStateRepository.findDeletedIdsByProjectId(projectId).stream())
+                .toArray(Long[]::new);
+
+        if (taskStateIds.length == 0) {
+            return;
+        }
+
+        taskStateRepository.relink(
+                projectId,
+                taskStateIds,
+                IntStream.range(0, taskStateIds.length).mapToObj(i -> i == 0 ? null : taskStateIds[i - 1]).toArray(Long[]::new),
+                IntStream.range(0, taskStateIds.length).mapToObj(i -> i == taskStateIds.length - 1 ? null : taskStateIds[i + 1]).toArray(Long[]::new)
+        );
+    }
+
+    /**
+     * Closes the gaps the given task states of a project are about to leave in its chain with one set-based update.
+     */
+    public void unlinkTaskStates(Long projectId, Collection<Long> taskStateIds) {
+
+        Set<Long> removedTaskStateIds = new HashSet<>(taskStateIds);
+
+        List<Long> ids = new ArrayList<>();
+        List<Long> leftTaskStateIds = new ArrayList<>();
+        List<Long> rightTaskStateIds = new ArrayList<>();
+
+        List<TaskStateEntity> remainingTaskStates = buildSortedTaskStates(taskStateRepository.findAllByProjectId(projectId))
+                .stream()
+                .filter(taskState -> !removedTaskStateIds.contains(taskState.getId()))
+                .toList();
+
+        for (int i = 0; i < remainingTaskStates.size(); i++) {
+
+            TaskStateEntity taskState = remainingTaskStates.get(i);
+
+            Long leftTaskStateId = i == 0 ? null : remainingTaskStates.get(i - 1).getId();
+            Long rightTaskStateId = i == remainingTaskStates.size() - 1 ? null : remainingTaskStates.get(i + 1).getId();
+
+            if (!Objects.equals(taskState.getLeftTaskState().map(TaskStateEntity::getId).orElse(null), leftTaskStateId)
+                    || !Objects.equals(taskState.getRightTaskState().map(TaskStateEntity::getId).orElse(null), rightTaskStateId)) {
+                ids.add(taskState.getId());
+                leftTaskStateIds.add(leftTaskStateId);
+                rightTaskStateIds.add(rightTaskStateId);
+            }
+        }
+
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        taskStateRepository.relink(
+                projectId,
+                ids.toArray(Long[]::new),
+                leftTaskStateIds.toArray(Long[]::new),
+                rightTaskStateIds.toArray(Long[]::new)
+        );
+    }
+
+    public Map<Long, Long> copyTaskStates(Long projectId, Long targetProjectId) {
+
+        return taskStateRepository
+                .copyAllToProject(projectId, targetProjectId)
+                .stream()
+                .collect(Collectors.toMap(
+                        row -> ((Number) row[0]).longValue(),
+                        row -> ((Number) row[1]).longValue(),
+                        (first, second) -> first,
+                        LinkedHashMap::new
+                ));
     }
 }
@@ -9,7 +9,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
@@ -26,4 +30,20 @@ public class ValidateRequestsHelper {
             );
         }
     }
+
+    public void verifyingCompleteOrdering(List<Long> orderedIds, Collection<Long> currentIds, String itemsName) {
+
+        Set<Long> uniqueOrderedIds = new HashSet<>(orderedIds);
+
+        if (uniqueOrderedIds.size() != orderedIds.size()) {
+            throw new CustomAppException(HttpStatus.BAD_REQUEST, String.format("%s ids must be unique", itemsName));
+        }
+
+        if (!uniqueOrderedIds.equals(new HashSet<>(currentIds))) {
+            throw new CustomAppException(
+                    HttpStatus.BAD_REQUEST,
+                    String.format("%s ids must list every one of the %s current %s exactly once", itemsName, currentIds.size(), itemsName)
+            );
+        }
+    }
 }
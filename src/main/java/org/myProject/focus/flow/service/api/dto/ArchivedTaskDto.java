@@ -0,0 +1,46 @@
+package org.myProject.focus.flow.service.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ArchivedTaskDto {
+    @NonNull
+    Long id;
+
+    @NonNull
+    String title;
+
+    String description;
+
+    LocalDateTime deadline;
+
+    Category category;
+
+    Priority priority;
+
+    @JsonProperty("task_state_id")
+    Long taskStateId;
+
+    @JsonProperty("task_state_name")
+    String taskStateName;
+
+    @JsonProperty("updated_at")
+    LocalDateTime updatedAt;
+
+    @JsonProperty("created_at")
+    LocalDateTime createdAt;
+
+    @NonNull
+    @JsonProperty("archived_at")
+    LocalDateTime archivedAt;
+}
@@ -0,0 +1,20 @@
+package org.myProject.focus.flow.service.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ArchivedTaskPageDto {
+    @NonNull
+    List<ArchivedTaskDto> tasks;
+
+    @JsonProperty("next_page_token")
+    String nextPageToken;
+}
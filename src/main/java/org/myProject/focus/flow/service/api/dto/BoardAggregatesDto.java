@@ -0,0 +1,35 @@
+package org.myProject.focus.flow.service.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Task counts of a project and of each of its TaskStates, left to right.
+ * A task is overdue when its deadline is before {@code computed_at}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BoardAggregatesDto {
+
+    @NonNull
+    @JsonProperty("project_id")
+    Long projectId;
+
+    @NonNull
+    @JsonProperty("computed_at")
+    LocalDateTime computedAt;
+
+    @NonNull
+    TaskAggregatesDto project;
+
+    @NonNull
+    @JsonProperty("task_states")
+    List<TaskAggregatesDto> taskStates;
+}
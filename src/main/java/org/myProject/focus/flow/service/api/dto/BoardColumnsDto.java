@@ -0,0 +1,92 @@
+package org.myProject.focus.flow.service.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.Layouts;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+
+import java.util.List;
+
+/**
+ * Board of a project in columnar layout: one array per field instead of one object per card.
+ * Task states are listed left to right; tasks are listed state by state, each state contributing
+ * {@code task_counts[i]} tasks from highest to lowest priority, so neighbour ids are implied by order.
+ * Enums are indexes into the dictionaries, timestamps are epoch milliseconds of the stored UTC time;
+ * -1 stands for a missing value in both.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BoardColumnsDto {
+
+    public static final String COLUMNAR_JSON_VALUE = "application/vnd.focus-flow.board.columnar+json";
+    public static final String COLUMNAR_CBOR_VALUE = "application/vnd.focus-flow.board.columnar+cbor";
+
+    @NonNull
+    @JsonProperty("categories")
+    List<Category> categories;
+
+    @NonNull
+    @JsonProperty("priorities")
+    List<Priority> priorities;
+
+    @NonNull
+    @JsonProperty("layouts")
+    List<Layouts> layouts;
+
+    @NonNull
+    @JsonProperty("task_state_ids")
+    long[] taskStateIds;
+
+    @NonNull
+    @JsonProperty("task_state_names")
+    String[] taskStateNames;
+
+    @NonNull
+    @JsonProperty("task_state_layouts")
+    int[] taskStateLayouts;
+
+    @NonNull
+    @JsonProperty("task_state_created_at")
+    long[] taskStateCreatedAt;
+
+    @NonNull
+    @JsonProperty("task_counts")
+    int[] taskCounts;
+
+    @NonNull
+    @JsonProperty("task_ids")
+    long[] taskIds;
+
+    @NonNull
+    @JsonProperty("task_titles")
+    String[] taskTitles;
+
+    @NonNull
+    @JsonProperty("task_descriptions")
+    String[] taskDescriptions;
+
+    @NonNull
+    @JsonProperty("task_deadlines")
+    long[] taskDeadlines;
+
+    @NonNull
+    @JsonProperty("task_categories")
+    int[] taskCategories;
+
+    @NonNull
+    @JsonProperty("task_priorities")
+    int[] taskPriorities;
+
+    @NonNull
+    @JsonProperty("task_created_at")
+    long[] taskCreatedAt;
+
+    @NonNull
+    @JsonProperty("task_updated_at")
+    long[] taskUpdatedAt;
+}
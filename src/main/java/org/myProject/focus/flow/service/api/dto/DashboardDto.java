@@ -0,0 +1,51 @@
+package org.myProject.focus.flow.service.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * All tasks of a user across projects, grouped by how soon they are due and then by priority.
+ * Groups come in {@link DeadlineBucket} order, highest priority first; empty groups are omitted.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class DashboardDto {
+
+    public enum DeadlineBucket {
+        OVERDUE, TODAY, NEXT_7_DAYS, LATER, NO_DEADLINE
+    }
+
+    @NonNull
+    @JsonProperty("computed_at")
+    LocalDateTime computedAt;
+
+    long total;
+
+    @NonNull
+    List<Group> groups;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Group {
+
+        @NonNull
+        @JsonProperty("deadline_bucket")
+        DeadlineBucket deadlineBucket;
+
+        Priority priority;
+
+        @NonNull
+        List<DashboardTaskDto> tasks;
+    }
+}
@@ -0,0 +1,41 @@
+package org.myProject.focus.flow.service.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class DashboardTaskDto {
+    @NonNull
+    Long id;
+
+    String title;
+
+    LocalDateTime deadline;
+
+    Category category;
+
+    Priority priority;
+
+    @NonNull
+    @JsonProperty("project_id")
+    Long projectId;
+
+    @JsonProperty("project_name")
+    String projectName;
+
+    @NonNull
+    @JsonProperty("task_state_id")
+    Long taskStateId;
+
+    @JsonProperty("task_state_name")
+    String taskStateName;
+}
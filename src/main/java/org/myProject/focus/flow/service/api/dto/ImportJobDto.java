@@ -0,0 +1,50 @@
+package org.myProject.focus.flow.service.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.store.entities.enums.JobStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Builder
+public class ImportJobDto {
+    @NonNull
+    Long id;
+
+    @NonNull
+    JobStatus status;
+
+    @NonNull
+    @JsonProperty("rows_read")
+    Long rowsRead;
+
+    @NonNull
+    @JsonProperty("imported_projects")
+    Long importedProjects;
+
+    @NonNull
+    @JsonProperty("imported_task_states")
+    Long importedTaskStates;
+
+    @NonNull
+    @JsonProperty("imported_tasks")
+    Long importedTasks;
+
+    @JsonProperty("rows_per_second")
+    Double rowsPerSecond;
+
+    @JsonProperty("error_message")
+    String errorMessage;
+
+    @NonNull
+    @JsonProperty("created_at")
+    LocalDateTime createdAt;
+
+    @JsonProperty("finished_at")
+    LocalDateTime finishedAt;
+}
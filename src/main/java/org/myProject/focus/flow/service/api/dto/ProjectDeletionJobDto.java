@@ -0,0 +1,47 @@
+package org.myProject.focus.flow.service.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.store.entities.enums.JobStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Builder
+public class ProjectDeletionJobDto {
+    @NonNull
+    Long id;
+
+    @NonNull
+    @JsonProperty("project_id")
+    Long projectId;
+
+    @NonNull
+    JobStatus status;
+
+    @NonNull
+    @JsonProperty("deleted_task_states")
+    Long deletedTaskStates;
+
+    @NonNull
+    @JsonProperty("deleted_tasks")
+    Long deletedTasks;
+
+    @JsonProperty("error_message")
+    String errorMessage;
+
+    @NonNull
+    @JsonProperty("created_at")
+    LocalDateTime createdAt;
+
+    @NonNull
+    @JsonProperty("updated_at")
+    LocalDateTime updatedAt;
+
+    @JsonProperty("finished_at")
+    LocalDateTime finishedAt;
+}
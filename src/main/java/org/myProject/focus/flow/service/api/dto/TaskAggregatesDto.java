@@ -0,0 +1,36 @@
+package org.myProject.focus.flow.service.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+
+import java.util.Map;
+
+/**
+ * Task counts of one TaskState, or of the whole project when {@code task_state_id} is absent.
+ * Every Priority and Category is present, with 0 when no task has it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TaskAggregatesDto {
+
+    @JsonProperty("task_state_id")
+    Long taskStateId;
+
+    long total;
+
+    long overdue;
+
+    @NonNull
+    @JsonProperty("by_priority")
+    Map<Priority, Long> byPriority;
+
+    @NonNull
+    @JsonProperty("by_category")
+    Map<Category, Long> byCategory;
+}
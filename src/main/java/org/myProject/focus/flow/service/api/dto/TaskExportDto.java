@@ -0,0 +1,79 @@
+package org.myProject.focus.flow.service.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonPropertyOrder({
+        "project_id", "project_name", "task_state_id", "task_state_name", "task_state_position",
+        "task_id", "task_position", "title", "description", "deadline", "category", "priority",
+        "created_at", "updated_at"
+})
+public class TaskExportDto {
+
+    public static final String[] CSV_HEADER = {
+            "project_id", "project_name", "task_state_id", "task_state_name", "task_state_position",
+            "task_id", "task_position", "title", "description", "deadline", "category", "priority",
+            "created_at", "updated_at"
+    };
+
+    @NonNull
+    @JsonProperty("project_id")
+    String projectId;
+
+    @NonNull
+    @JsonProperty("project_name")
+    String projectName;
+
+    @NonNull
+    @JsonProperty("task_state_id")
+    String taskStateId;
+
+    @NonNull
+    @JsonProperty("task_state_name")
+    String taskStateName;
+
+    @NonNull
+    @JsonProperty("task_state_position")
+    Integer taskStatePosition;
+
+    @JsonProperty("task_id")
+    String taskId;
+
+    @JsonProperty("task_position")
+    Integer taskPosition;
+
+    String title;
+
+    String description;
+
+    LocalDateTime deadline;
+
+    Category category;
+
+    Priority priority;
+
+    @JsonProperty("created_at")
+    LocalDateTime createdAt;
+
+    @JsonProperty("updated_at")
+    LocalDateTime updatedAt;
+
+    public Object[] toCsvValues() {
+        return new Object[]{
+                projectId, projectName, taskStateId, taskStateName, taskStatePosition,
+                taskId, taskPosition, title, description, deadline, category, priority,
+                createdAt, updatedAt
+        };
+    }
+}
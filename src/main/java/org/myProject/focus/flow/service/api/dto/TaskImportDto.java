@@ -0,0 +1,54 @@
+package org.myProject.focus.flow.service.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of an import file. Field names match {@link TaskExportDto}, so an export can be imported as is;
+ * the ids are external ids of the source system, or ids of this system as written by its export.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TaskImportDto {
+
+    @JsonProperty("project_id")
+    String projectId;
+
+    @JsonProperty("project_name")
+    String projectName;
+
+    @JsonProperty("task_state_id")
+    String taskStateId;
+
+    @JsonProperty("task_state_name")
+    String taskStateName;
+
+    @JsonProperty("task_state_position")
+    Integer taskStatePosition;
+
+    @JsonProperty("task_id")
+    String taskId;
+
+    @JsonProperty("task_position")
+    Integer taskPosition;
+
+    String title;
+
+    String description;
+
+    LocalDateTime deadline;
+
+    Category category;
+
+    Priority priority;
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 import org.myProject.focus.flow.service.store.entities.enums.Layouts;
+import org.myProject.focus.flow.service.store.entities.enums.TaskSortMode;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,6 +25,12 @@ public class TaskStateDto {
     @JsonProperty("type_of_layout")
     Layouts typeOfLayout;
 
+    @JsonProperty("sort_mode")
+    TaskSortMode sortMode;
+
+    @JsonProperty("archive_after_days")
+    Integer archiveAfterDays;
+
     @JsonProperty("left_task_state_id")
     Long leftTaskStateId;
 
@@ -0,0 +1,38 @@
+package org.myProject.focus.flow.service.api.factories;
+
+import org.myProject.focus.flow.service.api.dto.ArchivedTaskDto;
+import org.myProject.focus.flow.service.api.dto.ArchivedTaskPageDto;
+import org.myProject.focus.flow.service.store.entities.ArchivedTaskEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+public class ArchivedTaskDtoFactory {
+
+    public ArchivedTaskDto makeArchivedTaskDto(ArchivedTaskEntity entity) {
+
+        return ArchivedTaskDto.builder()
+                .id(entity.getId())
+                .title(entity.getTitle())
+                .description(entity.getDescription())
+                .deadline(entity.getDeadline())
+                .category(entity.getCategory())
+                .priority(entity.getPriority())
+                .taskStateId(entity.getTaskStateId())
+                .taskStateName(entity.getTaskStateName())
+                .updatedAt(entity.getUpdatedAt())
+                .createdAt(entity.getCreatedAt())
+                .archivedAt(entity.getArchivedAt())
+                .build();
+    }
+
+    public ArchivedTaskPageDto makeArchivedTaskPageDto(List<ArchivedTaskEntity> entities, Optional<String> optionalNextPageToken) {
+
+        return ArchivedTaskPageDto.builder()
+                .tasks(entities.stream().map(this::makeArchivedTaskDto).toList())
+                .nextPageToken(optionalNextPageToken.orElse(null))
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package org.myProject.focus.flow.service.api.factories;
+
+import org.myProject.focus.flow.service.api.dto.BoardAggregatesDto;
+import org.myProject.focus.flow.service.api.dto.TaskAggregatesDto;
+import org.myProject.focus.flow.service.store.entities.TaskStateEntity;
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+import org.myProject.focus.flow.service.store.projections.TaskCountProjection;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Component
+public class BoardAggregatesDtoFactory {
+
+    public BoardAggregatesDto makeBoardAggregatesDto(
+            Long projectId,
+            LocalDateTime computedAt,
+            List<TaskStateEntity> sortedTaskStates,
+            List<TaskCountProjection> taskCounts) {
+
+        TaskAggregatesDto projectAggregates = emptyAggregates(null);
+
+        Map<Long, TaskAggregatesDto> taskStateAggregates = new LinkedHashMap<>();
+
+        sortedTaskStates.forEach(taskState -> taskStateAggregates.put(taskState.getId(), emptyAggregates(taskState.getId())));
+
+        // Counts of task states that are not listed (deleted ones) are left out of the project totals too.
+        for (TaskCountProjection taskCount : taskCounts) {
+
+            Optional.ofNullable(taskStateAggregates.get(taskCount.getTaskStateId()))
+                    .ifPresent(aggregates -> {
+                        add(aggregates, taskCount);
+                        add(projectAggregates, taskCount);
+                    });
+        }
+
+        return BoardAggregatesDto.builder()
+                .projectId(projectId)
+                .computedAt(computedAt)
+                .project(projectAggregates)
+                .taskStates(new ArrayList<>(taskStateAggregates.values()))
+                .build();
+    }
+
+    private static TaskAggregatesDto emptyAggregates(Long taskStateId) {
+
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        Map<Category, Long> byCategory = new EnumMap<>(Category.class);
+
+        Arrays.stream(Priority.values()).forEach(priority -> byPriority.put(priority, 0L));
+        Arrays.stream(Category.values()).forEach(category -> byCategory.put(category, 0L));
+
+        return TaskAggregatesDto.builder()
+                .taskStateId(taskStateId)
+                .byPriority(byPriority)
+                .byCategory(byCategory)
+                .build();
+    }
+
+    private static void add(TaskAggregatesDto aggregates, TaskCountProjection taskCount) {
+
+        long count = taskCount.getTaskCount();
+
+        aggregates.setTotal(aggregates.getTotal() + count);
+        aggregates.setOverdue(aggregates.getOverdue() + Objects.requireNonNullElse(taskCount.getOverdueCount(), 0L));
+
+        if (Objects.nonNull(taskCount.getPriority())) {
+            aggregates.getByPriority().merge(taskCount.getPriority(), count, Long::sum);
+        }
+
+        if (Objects.nonNull(taskCount.getCategory())) {
+            aggregates.getByCategory().merge(taskCount.getCategory(), count, Long::sum);
+        }
+    }
+}
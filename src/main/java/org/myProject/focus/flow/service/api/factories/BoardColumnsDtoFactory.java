@@ -0,0 +1,106 @@
+package org.myProject.focus.flow.service.api.factories;
+
+import org.myProject.focus.flow.service.api.dto.BoardColumnsDto;
+import org.myProject.focus.flow.service.store.entities.TaskEntity;
+import org.myProject.focus.flow.service.store.entities.TaskStateEntity;
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.Layouts;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Component
+public class BoardColumnsDtoFactory {
+
+    private static final long NO_TIMESTAMP = -1L;
+
+    private static final int NO_CODE = -1;
+
+    public BoardColumnsDto makeBoardColumnsDto(
+            List<TaskStateEntity> sortedTaskStates,
+            Map<Long, List<TaskEntity>> sortedTasksOfProject) {
+
+        int taskStateCount = sortedTaskStates.size();
+
+        int taskCount = sortedTaskStates
+                .stream()
+                .mapToInt(taskState -> sortedTasksOfProject.getOrDefault(taskState.getId(), List.of()).size())
+                .sum();
+
+        long[] taskStateIds = new long[taskStateCount];
+        String[] taskStateNames = new String[taskStateCount];
+        int[] taskStateLayouts = new int[taskStateCount];
+        long[] taskStateCreatedAt = new long[taskStateCount];
+        int[] taskCounts = new int[taskStateCount];
+
+        long[] taskIds = new long[taskCount];
+        String[] taskTitles = new String[taskCount];
+        String[] taskDescriptions = new String[taskCount];
+        long[] taskDeadlines = new long[taskCount];
+        int[] taskCategories = new int[taskCount];
+        int[] taskPriorities = new int[taskCount];
+        long[] taskCreatedAt = new long[taskCount];
+        long[] taskUpdatedAt = new long[taskCount];
+
+        int taskIndex = 0;
+
+        for (int stateIndex = 0; stateIndex < taskStateCount; stateIndex++) {
+
+            TaskStateEntity taskState = sortedTaskStates.get(stateIndex);
+
+            List<TaskEntity> tasks = sortedTasksOfProject.getOrDefault(taskState.getId(), List.of());
+
+            taskStateIds[stateIndex] = taskState.getId();
+            taskStateNames[stateIndex] = taskState.getName();
+            taskStateLayouts[stateIndex] = code(taskState.getTypeOfLayout());
+            taskStateCreatedAt[stateIndex] = epochMillis(taskState.getCreatedAt());
+            taskCounts[stateIndex] = tasks.size();
+
+            for (TaskEntity task : tasks) {
+
+                taskIds[taskIndex] = task.getId();
+                taskTitles[taskIndex] = task.getTitle();
+                taskDescriptions[taskIndex] = task.getDescription();
+                taskDeadlines[taskIndex] = epochMillis(task.getDeadline());
+                taskCategories[taskIndex] = code(task.getCategory());
+                taskPriorities[taskIndex] = code(task.getPriority());
+                taskCreatedAt[taskIndex] = epochMillis(task.getCreatedAt());
+                taskUpdatedAt[taskIndex] = epochMillis(task.getUpdatedAt());
+
+                taskIndex++;
+            }
+        }
+
+        return BoardColumnsDto.builder()
+                .categories(List.of(Category.values()))
+                .priorities(List.of(Priority.values()))
+                .layouts(List.of(Layouts.values()))
+                .taskStateIds(taskStateIds)
+                .taskStateNames(taskStateNames)
+                .taskStateLayouts(taskStateLayouts)
+                .taskStateCreatedAt(taskStateCreatedAt)
+                .taskCounts(taskCounts)
+                .taskIds(taskIds)
+                .taskTitles(taskTitles)
+                .taskDescriptions(taskDescriptions)
+                .taskDeadlines(taskDeadlines)
+                .taskCategories(taskCategories)
+                .taskPriorities(taskPriorities)
+                .taskCreatedAt(taskCreatedAt)
+                .taskUpdatedAt(taskUpdatedAt)
+                .build();
+    }
+
+    private static int code(Enum<?> value) {
+        return Objects.isNull(value) ? NO_CODE : value.ordinal();
+    }
+
+    private static long epochMillis(LocalDateTime value) {
+        return Objects.isNull(value) ? NO_TIMESTAMP : value.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
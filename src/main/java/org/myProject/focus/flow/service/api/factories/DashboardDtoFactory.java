@@ -0,0 +1,99 @@
+package org.myProject.focus.flow.service.api.factories;
+
+import org.myProject.focus.flow.service.api.dto.DashboardDto;
+import org.myProject.focus.flow.service.api.dto.DashboardDto.DeadlineBucket;
+import org.myProject.focus.flow.service.api.dto.DashboardTaskDto;
+import org.myProject.focus.flow.service.store.entities.DashboardTaskEntity;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Component
+public class DashboardDtoFactory {
+
+    private static final Comparator<GroupKey> GROUP_ORDER = Comparator
+            .comparing(GroupKey::deadlineBucket)
+            .thenComparing(GroupKey::priority, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    /**
+     * @param rows read model rows of one user, ordered by deadline; order within a group is kept
+     */
+    public DashboardDto makeDashboardDto(List<DashboardTaskEntity> rows, LocalDateTime now) {
+
+        LocalDateTime startOfTomorrow = now.toLocalDate().plusDays(1).atStartOfDay();
+        LocalDateTime weekAhead = now.plusDays(7);
+
+        Map<GroupKey, List<DashboardTaskDto>> tasksByGroup = new HashMap<>();
+
+        for (DashboardTaskEntity row : rows) {
+
+            GroupKey key = new GroupKey(bucketOf(row.getDeadline(), now, startOfTomorrow, weekAhead), row.getPriority());
+
+            tasksByGroup
+                    .computeIfAbsent(key, it -> new ArrayList<>())
+                    .add(makeDashboardTaskDto(row));
+        }
+
+        List<DashboardDto.Group> groups = tasksByGroup
+                .entrySet()
+                .stream()
+                .sorted(Map.Entry.comparingByKey(GROUP_ORDER))
+                .map(entry -> DashboardDto.Group.builder()
+                        .deadlineBucket(entry.getKey().deadlineBucket())
+                        .priority(entry.getKey().priority())
+                        .tasks(entry.getValue())
+                        .build())
+                .toList();
+
+        return DashboardDto.builder()
+                .computedAt(now)
+                .total(rows.size())
+                .groups(groups)
+                .build();
+    }
+
+    private static DeadlineBucket bucketOf(
+            LocalDateTime deadline,
+            LocalDateTime now,
+            LocalDateTime startOfTomorrow,
+            LocalDateTime weekAhead) {
+
+        if (Objects.isNull(deadline)) {
+            return DeadlineBucket.NO_DEADLINE;
+        }
+
+        if (deadline.isBefore(now)) {
+            return DeadlineBucket.OVERDUE;
+        }
+
+        if (deadline.isBefore(startOfTomorrow)) {
+            return DeadlineBucket.TODAY;
+        }
+
+        if (deadline.isBefore(weekAhead)) {
+            return DeadlineBucket.NEXT_7_DAYS;
+        }
+
+        return DeadlineBucket.LATER;
+    }
+
+    private record GroupKey(DeadlineBucket deadlineBucket, Priority priority) {
+    }
+
+    private static DashboardTaskDto makeDashboardTaskDto(DashboardTaskEntity row) {
+
+        return DashboardTaskDto.builder()
+                .id(row.getTaskId())
+                .title(row.getTitle())
+                .deadline(row.getDeadline())
+                .category(row.getCategory())
+                .priority(row.getPriority())
+                .projectId(row.getProjectId())
+                .projectName(row.getProjectName())
+                .taskStateId(row.getTaskStateId())
+                .taskStateName(row.getTaskStateName())
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package org.myProject.focus.flow.service.api.factories;
+
+import org.myProject.focus.flow.service.api.dto.ImportJobDto;
+import org.myProject.focus.flow.service.store.entities.ImportJobEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ImportJobDtoFactory {
+
+    public ImportJobDto makeImportJobDto(ImportJobEntity entity) {
+
+        return ImportJobDto.builder()
+                .id(entity.getId())
+                .status(entity.getStatus())
+                .rowsRead(entity.getRowsRead())
+                .importedProjects(entity.getImportedProjects())
+                .importedTaskStates(entity.getImportedTaskStates())
+                .importedTasks(entity.getImportedTasks())
+                .rowsPerSecond(entity.getRowsPerSecond())
+                .errorMessage(entity.getErrorMessage())
+                .createdAt(entity.getCreatedAt())
+                .finishedAt(entity.getFinishedAt())
+                .build();
+    }
+}
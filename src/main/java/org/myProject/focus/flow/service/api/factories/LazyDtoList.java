@@ -0,0 +1,44 @@
+package org.myProject.focus.flow.service.api.factories;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Read-only view that maps entities to DTOs on access. Jackson serializes each DTO right after it is built,
+ * so large responses never hold a second, fully materialized copy of the list.
+ */
+public final class LazyDtoList<E, D> extends AbstractList<D> implements RandomAccess {
+
+    private final List<E> entities;
+
+    private final BiFunction<Integer, ? super E, ? extends D> mapper;
+
+    private LazyDtoList(List<E> entities, BiFunction<Integer, ? super E, ? extends D> mapper) {
+        this.entities = entities;
+        this.mapper = mapper;
+    }
+
+    public static <E, D> List<D> of(List<E> entities, Function<? super E, ? extends D> mapper) {
+        return new LazyDtoList<E, D>(entities, (index, entity) -> mapper.apply(entity));
+    }
+
+    /**
+     * For mappers that also need the position of the entity, e.g. to read its neighbours in the list.
+     */
+    public static <E, D> List<D> ofIndexed(List<E> entities, BiFunction<Integer, ? super E, ? extends D> mapper) {
+        return new LazyDtoList<>(entities, mapper);
+    }
+
+    @Override
+    public D get(int index) {
+        return mapper.apply(index, entities.get(index));
+    }
+
+    @Override
+    public int size() {
+        return entities.size();
+    }
+}
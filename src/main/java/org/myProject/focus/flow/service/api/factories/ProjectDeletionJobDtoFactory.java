@@ -0,0 +1,24 @@
+package org.myProject.focus.flow.service.api.factories;
+
+import org.myProject.focus.flow.service.api.dto.ProjectDeletionJobDto;
+import org.myProject.focus.flow.service.store.entities.ProjectDeletionJobEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProjectDeletionJobDtoFactory {
+
+    public ProjectDeletionJobDto makeProjectDeletionJobDto(ProjectDeletionJobEntity entity) {
+
+        return ProjectDeletionJobDto.builder()
+                .id(entity.getId())
+                .projectId(entity.getProjectId())
+                .status(entity.getStatus())
+                .deletedTaskStates(entity.getDeletedTaskStates())
+                .deletedTasks(entity.getDeletedTasks())
+                .errorMessage(entity.getErrorMessage())
+                .createdAt(entity.getCreatedAt())
+                .updatedAt(entity.getUpdatedAt())
+                .finishedAt(entity.getFinishedAt())
+                .build();
+    }
+}
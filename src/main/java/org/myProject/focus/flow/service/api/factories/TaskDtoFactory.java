@@ -4,11 +4,49 @@ import org.myProject.focus.flow.service.api.dto.TaskDto;
 import org.myProject.focus.flow.service.store.entities.TaskEntity;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
 @Component
 public class TaskDtoFactory {
 
+    /**
+     * A single task. Its pointers skip neighbours in the trash, loading them one at a time;
+     * lists of tasks in chain order go through {@link #makeTaskDtos(List)}.
+     */
     public TaskDto makeTaskDto(TaskEntity entity) {
 
+        return makeTaskDto(
+                entity,
+                nearestLive(entity.getHigherPriorityTask(), TaskEntity::getHigherPriorityTask).orElse(null),
+                nearestLive(entity.getLowerPriorityTask(), TaskEntity::getLowerPriorityTask).orElse(null)
+        );
+    }
+
+    /**
+     * Live tasks in chain order. The neighbours of a task in the list are its nearest live neighbours,
+     * so the pointers never name a task in the trash and nothing else is loaded.
+     */
+    public List<TaskDto> makeTaskDtos(List<TaskEntity> sortedTasks) {
+
+        return LazyDtoList.ofIndexed(sortedTasks, (index, entity) -> makeTaskDto(
+                entity,
+                index > 0 ? sortedTasks.get(index - 1) : null,
+                index < sortedTasks.size() - 1 ? sortedTasks.get(index + 1) : null
+        ));
+    }
+
+    /**
+     * For lists that are not in chain order, like due tasks across task states: the pointers are left out.
+     */
+    public TaskDto makeTaskDtoWithoutNeighbours(TaskEntity entity) {
+        return makeTaskDto(entity, null, null);
+    }
+
+    private TaskDto makeTaskDto(TaskEntity entity, TaskEntity higherPriorityTask, TaskEntity lowerPriorityTask) {
+
         return TaskDto.builder()
                 .id(entity.getId())
                 .title(entity.getTitle())
@@ -17,9 +55,20 @@ public class TaskDtoFactory {
                 .priority(entity.getPriority())
                 .updatedAt(entity.getUpdatedAt())
                 .deadline(entity.getDeadline())
-                .higherPriorityTaskId(entity.getHigherPriorityTask().map(TaskEntity::getId).orElse(null))
-                .lowerPriorityTaskId(entity.getLowerPriorityTask().map(TaskEntity::getId).orElse(null))
+                .higherPriorityTaskId(Optional.ofNullable(higherPriorityTask).map(TaskEntity::getId).orElse(null))
+                .lowerPriorityTaskId(Optional.ofNullable(lowerPriorityTask).map(TaskEntity::getId).orElse(null))
                 .createdAt(entity.getCreatedAt())
                 .build();
     }
+
+    private static Optional<TaskEntity> nearestLive(
+            Optional<TaskEntity> neighbour,
+            Function<TaskEntity, Optional<TaskEntity>> next) {
+
+        while (neighbour.filter(task -> Objects.nonNull(task.getDeletedAt())).isPresent()) {
+            neighbour = neighbour.flatMap(next);
+        }
+
+        return neighbour;
+    }
 }
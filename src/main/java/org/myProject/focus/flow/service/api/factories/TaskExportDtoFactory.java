@@ -0,0 +1,33 @@
+package org.myProject.focus.flow.service.api.factories;
+
+import org.myProject.focus.flow.service.api.dto.TaskExportDto;
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+import org.myProject.focus.flow.service.store.projections.TaskExportProjection;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+public class TaskExportDtoFactory {
+
+    public TaskExportDto makeTaskExportDto(TaskExportProjection projection) {
+
+        return TaskExportDto.builder()
+                .projectId(projection.getProjectId())
+                .projectName(projection.getProjectName())
+                .taskStateId(projection.getTaskStateId())
+                .taskStateName(projection.getTaskStateName())
+                .taskStatePosition(projection.getTaskStatePosition())
+                .taskId(projection.getTaskId())
+                .taskPosition(projection.getTaskPosition())
+                .title(projection.getTitle())
+                .description(projection.getDescription())
+                .deadline(projection.getDeadline())
+                .category(Optional.ofNullable(projection.getCategory()).map(it -> Category.values()[it]).orElse(null))
+                .priority(Optional.ofNullable(projection.getPriority()).map(it -> Priority.values()[it]).orElse(null))
+                .createdAt(projection.getCreatedAt())
+                .updatedAt(projection.getUpdatedAt())
+                .build();
+    }
+}
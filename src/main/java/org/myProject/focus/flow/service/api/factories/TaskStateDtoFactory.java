@@ -5,10 +5,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.myProject.focus.flow.service.api.controllers.helpers.TaskHelper;
 import org.myProject.focus.flow.service.api.dto.TaskStateDto;
+import org.myProject.focus.flow.service.store.entities.TaskEntity;
 import org.myProject.focus.flow.service.store.entities.TaskStateEntity;
 import org.springframework.stereotype.Component;
 
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
@@ -19,22 +24,70 @@ public class TaskStateDtoFactory {
 
     TaskHelper taskHelper;
 
+    /**
+     * A single task state. Like {@link TaskDtoFactory#makeTaskDto(TaskEntity)}, its pointers skip neighbours in the trash.
+     */
     public TaskStateDto makeTaskStateDto(TaskStateEntity entity) {
 
+        return makeTaskStateDto(
+                entity,
+                nearestLive(entity.getLeftTaskState(), TaskStateEntity::getLeftTaskState).orElse(null),
+                nearestLive(entity.getRightTaskState(), TaskStateEntity::getRightTaskState).orElse(null),
+                taskHelper.getSortedTasks(entity)
+        );
+    }
+
+    /**
+     * Live task states in chain order with their sorted tasks; the pointers name the neighbours in the list.
+     */
+    public List<TaskStateDto> makeTaskStateDtos(
+            List<TaskStateEntity> sortedTaskStates,
+            Function<TaskStateEntity, List<TaskEntity>> sortedTasksOf) {
+
+        List<TaskStateDto> taskStateDtos = new ArrayList<>(sortedTaskStates.size());
+
+        for (int i = 0; i < sortedTaskStates.size(); i++) {
+
+            TaskStateEntity entity = sortedTaskStates.get(i);
+
+            taskStateDtos.add(makeTaskStateDto(
+                    entity,
+                    i > 0 ? sortedTaskStates.get(i - 1) : null,
+                    i < sortedTaskStates.size() - 1 ? sortedTaskStates.get(i + 1) : null,
+                    sortedTasksOf.apply(entity)
+            ));
+        }
+
+        return taskStateDtos;
+    }
+
+    private TaskStateDto makeTaskStateDto(
+            TaskStateEntity entity,
+            TaskStateEntity leftTaskState,
+            TaskStateEntity rightTaskState,
+            List<TaskEntity> sortedTasks) {
+
         return TaskStateDto.builder()
                 .id(entity.getId())
                 .name(entity.getName())
-                .leftTaskStateId(entity.getLeftTaskState().map(TaskStateEntity::getId).orElse(null))
-                .rightTaskStateId(entity.getRightTaskState().map(TaskStateEntity::getId).orElse(null))
+                .leftTaskStateId(Optional.ofNullable(leftTaskState).map(TaskStateEntity::getId).orElse(null))
+                .rightTaskStateId(Optional.ofNullable(rightTaskState).map(TaskStateEntity::getId).orElse(null))
                 .typeOfLayout(entity.getTypeOfLayout())
+                .sortMode(entity.getSortMode())
+                .archiveAfterDays(entity.getArchiveAfterDays())
                 .createdAt(entity.getCreatedAt())
-                .tasks(
-                        taskHelper
-                                .getSortedTasks(entity.getId())
-                                .stream()
-                                .map(taskDtoFactory::makeTaskDto)
-                                .collect(Collectors.toList())
-                )
+                .tasks(taskDtoFactory.makeTaskDtos(sortedTasks))
                 .build();
     }
+
+    private static Optional<TaskStateEntity> nearestLive(
+            Optional<TaskStateEntity> neighbour,
+            Function<TaskStateEntity, Optional<TaskStateEntity>> next) {
+
+        while (neighbour.filter(taskState -> Objects.nonNull(taskState.getDeletedAt())).isPresent()) {
+            neighbour = neighbour.flatMap(next);
+        }
+
+        return neighbour;
+    }
 }
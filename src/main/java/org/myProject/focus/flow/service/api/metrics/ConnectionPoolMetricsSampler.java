@@ -0,0 +1,77 @@
+package org.myProject.focus.flow.service.api.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * Hikari only publishes the current active/idle/pending counts as gauges.
+ * Sampling them into distribution summaries gives histograms of pool occupancy,
+ * which is what shows whether the pool is sized right under load.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ConnectionPoolMetricsSampler {
+
+    DataSource dataSource;
+
+    MeterRegistry meterRegistry;
+
+    @NonFinal
+    DistributionSummary activeConnections;
+
+    @NonFinal
+    DistributionSummary idleConnections;
+
+    @NonFinal
+    DistributionSummary pendingThreads;
+
+    @Scheduled(fixedRateString = "${focus-flow.metrics.pool-sample-interval-ms:1000}")
+    public void sample() throws SQLException {
+
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return;
+        }
+
+        HikariDataSource hikariDataSource = dataSource.unwrap(HikariDataSource.class);
+
+        HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+
+        if (Objects.isNull(pool)) {
+            return;
+        }
+
+        if (Objects.isNull(activeConnections)) {
+            activeConnections = makeSummary("hikaricp.connections.active.sampled", hikariDataSource.getPoolName());
+            idleConnections = makeSummary("hikaricp.connections.idle.sampled", hikariDataSource.getPoolName());
+            pendingThreads = makeSummary("hikaricp.connections.pending.sampled", hikariDataSource.getPoolName());
+        }
+
+        activeConnections.record(pool.getActiveConnections());
+        idleConnections.record(pool.getIdleConnections());
+        pendingThreads.record(pool.getThreadsAwaitingConnection());
+    }
+
+    private DistributionSummary makeSummary(String name, String poolName) {
+
+        return DistributionSummary
+                .builder(name)
+                .tag("pool", poolName)
+                .baseUnit("connections")
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+}
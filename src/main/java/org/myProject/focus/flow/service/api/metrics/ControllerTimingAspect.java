@@ -0,0 +1,64 @@
+package org.myProject.focus.flow.service.api.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times the controller method itself. Compared with http.server.requests, which also covers
+ * JSON serialization and filters, it tells whether a slow endpoint is slow in the database or on the wire.
+ * Timers are cached per method and outcome; building and registering one on every call costs more than the timing.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ControllerTimingAspect {
+
+    MeterRegistry meterRegistry;
+
+    Map<Method, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        String outcome = "SUCCESS";
+
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            outcome = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(timerOf(joinPoint, outcome));
+        }
+    }
+
+    private Timer timerOf(ProceedingJoinPoint joinPoint, String outcome) {
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+
+        return timers
+                .computeIfAbsent(method, it -> new ConcurrentHashMap<>())
+                .computeIfAbsent(outcome, it -> Timer
+                        .builder("controller.method")
+                        .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                        .tag("method", method.getName())
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+    }
+}
@@ -0,0 +1,36 @@
+package org.myProject.focus.flow.service.api.metrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class HibernateStatisticsListeners {
+
+    EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void register() {
+
+        EventListenerRegistry registry = entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_LOAD,
+                (PostLoadEventListener) event -> RequestQueryStatistics.incrementEntityLoads());
+
+        registry.appendListeners(EventType.FLUSH,
+                (FlushEventListener) event -> RequestQueryStatistics.incrementFlushes());
+    }
+}
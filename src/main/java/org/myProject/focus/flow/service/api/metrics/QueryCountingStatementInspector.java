@@ -0,0 +1,17 @@
+package org.myProject.focus.flow.service.api.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Registered through hibernate.session_factory.statement_inspector, so Hibernate creates it itself.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+
+        RequestQueryStatistics.incrementStatements();
+
+        return sql;
+    }
+}
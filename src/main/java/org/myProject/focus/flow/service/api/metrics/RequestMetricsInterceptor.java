@@ -0,0 +1,139 @@
+package org.myProject.focus.flow.service.api.metrics;
+
+import com.sun.management.ThreadMXBean;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records statements, entity loads, flushes and heap bytes allocated by the request thread
+ * (serialization included) as histograms tagged by endpoint, and logs the request id of requests
+ * that issue more statements than the query budget. A streamed response is recorded once, when the request
+ * thread hands it over; its async dispatch keeps the request id and is not recorded again.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private static final String REQUEST_ID_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".requestId";
+
+    private static final String ALLOCATED_BYTES_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".allocatedBytes";
+
+    private static final ThreadMXBean THREAD_MX_BEAN = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    MeterRegistry meterRegistry;
+
+    Map<SummaryKey, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @NonFinal
+    @Value("${focus-flow.metrics.query-budget:50}")
+    long queryBudget;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        String requestId = Optional
+                .ofNullable(request.getHeader(REQUEST_ID_HEADER))
+                .filter(it -> !it.isBlank())
+                .orElseGet(() -> UUID.randomUUID().toString());
+
+        request.setAttribute(REQUEST_ID_ATTRIBUTE, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+
+        RequestQueryStatistics.start();
+
+        if (THREAD_MX_BEAN.isThreadAllocatedMemorySupported() && THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled()) {
+            request.setAttribute(ALLOCATED_BYTES_ATTRIBUTE, THREAD_MX_BEAN.getCurrentThreadAllocatedBytes());
+        }
+
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        afterCompletion(request, response, handler, null);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+
+        try {
+            RequestQueryStatistics.current().ifPresent(statistics -> record(request, handler, statistics));
+        } finally {
+            RequestQueryStatistics.clear();
+        }
+    }
+
+    private void record(HttpServletRequest request, Object handler, RequestQueryStatistics statistics) {
+
+        String endpoint = handler instanceof HandlerMethod handlerMethod
+                ? handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName()
+                : "unknown";
+
+        String uri = Optional
+                .ofNullable(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))
+                .map(Object::toString)
+                .orElse("unknown");
+
+        summary("http.server.requests.statements", endpoint, uri).record(statistics.getStatements());
+        summary("http.server.requests.entity.loads", endpoint, uri).record(statistics.getEntityLoads());
+        summary("http.server.requests.flushes", endpoint, uri).record(statistics.getFlushes());
+
+        if (request.getAttribute(ALLOCATED_BYTES_ATTRIBUTE) instanceof Long allocatedBytesAtStart) {
+            summary("http.server.requests.allocated", endpoint, uri)
+                    .record(THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - allocatedBytesAtStart);
+        }
+
+        if (statistics.getStatements() > queryBudget) {
+            log.warn("event=query_budget_exceeded request_id={} endpoint={} method={} uri={} statements={} entity_loads={} flushes={} budget={}",
+                    request.getAttribute(REQUEST_ID_ATTRIBUTE),
+                    endpoint,
+                    request.getMethod(),
+                    uri,
+                    statistics.getStatements(),
+                    statistics.getEntityLoads(),
+                    statistics.getFlushes(),
+                    queryBudget);
+        }
+    }
+
+    private DistributionSummary summary(String name, String endpoint, String uri) {
+
+        return summaries.computeIfAbsent(new SummaryKey(name, endpoint, uri), key -> DistributionSummary
+                .builder(name)
+                .tag("endpoint", endpoint)
+                .tag("uri", Objects.requireNonNull(uri))
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private record SummaryKey(String name, String endpoint, String uri) {
+    }
+}
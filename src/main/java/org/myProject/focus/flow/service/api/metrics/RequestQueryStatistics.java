@@ -0,0 +1,69 @@
+package org.myProject.focus.flow.service.api.metrics;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Per-request counters of SQL statements, entity loads and flushes.
+ * Hibernate hooks increment them on the request thread; work outside a request is not counted.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RequestQueryStatistics {
+
+    private static final ThreadLocal<RequestQueryStatistics> CURRENT = new ThreadLocal<>();
+
+    long statements;
+
+    long entityLoads;
+
+    long flushes;
+
+    public static RequestQueryStatistics start() {
+
+        RequestQueryStatistics statistics = new RequestQueryStatistics();
+
+        CURRENT.set(statistics);
+
+        return statistics;
+    }
+
+    public static Optional<RequestQueryStatistics> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    static void incrementStatements() {
+
+        RequestQueryStatistics statistics = CURRENT.get();
+
+        if (Objects.nonNull(statistics)) {
+            statistics.statements++;
+        }
+    }
+
+    static void incrementEntityLoads() {
+
+        RequestQueryStatistics statistics = CURRENT.get();
+
+        if (Objects.nonNull(statistics)) {
+            statistics.entityLoads++;
+        }
+    }
+
+    static void incrementFlushes() {
+
+        RequestQueryStatistics statistics = CURRENT.get();
+
+        if (Objects.nonNull(statistics)) {
+            statistics.flushes++;
+        }
+    }
+}
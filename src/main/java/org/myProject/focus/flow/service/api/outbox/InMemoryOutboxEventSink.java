@@ -0,0 +1,25 @@
+package org.myProject.focus.flow.service.api.outbox;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps every dispatched event in memory; meant for tests and local runs.
+ */
+public class InMemoryOutboxEventSink implements OutboxEventSink {
+
+    private final List<OutboxEvent> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void dispatch(List<OutboxEvent> events) {
+        this.events.addAll(events);
+    }
+
+    public List<OutboxEvent> getEvents() {
+        return List.copyOf(events);
+    }
+
+    public void clear() {
+        events.clear();
+    }
+}
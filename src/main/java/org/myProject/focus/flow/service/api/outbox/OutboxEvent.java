@@ -0,0 +1,32 @@
+package org.myProject.focus.flow.service.api.outbox;
+
+import org.myProject.focus.flow.service.store.entities.OutboxEventEntity;
+import org.myProject.focus.flow.service.store.entities.enums.OutboxEventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain event as handed to sinks. {@code aggregateId} is the task, task state or project the event is about;
+ * {@code payload} is a small JSON object with extra ids, or null.
+ */
+public record OutboxEvent(
+        Long id,
+        OutboxEventType type,
+        Long projectId,
+        Long userId,
+        Long aggregateId,
+        String payload,
+        LocalDateTime createdAt) {
+
+    public static OutboxEvent of(OutboxEventEntity entity) {
+        return new OutboxEvent(
+                entity.getId(),
+                entity.getType(),
+                entity.getProjectId(),
+                entity.getUserId(),
+                entity.getAggregateId(),
+                entity.getPayload(),
+                entity.getCreatedAt()
+        );
+    }
+}
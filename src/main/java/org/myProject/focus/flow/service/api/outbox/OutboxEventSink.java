@@ -0,0 +1,13 @@
+package org.myProject.focus.flow.service.api.outbox;
+
+import java.util.List;
+
+/**
+ * Receives relayed outbox events. A batch holds events of one shard in id order, so events of
+ * a project arrive in the order they were committed. Delivery is at least once: when any sink
+ * throws, the whole batch is offered again, so sinks must tolerate duplicates.
+ */
+public interface OutboxEventSink {
+
+    void dispatch(List<OutboxEvent> events);
+}
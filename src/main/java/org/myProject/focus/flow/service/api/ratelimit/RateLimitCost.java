@@ -0,0 +1,16 @@
+package org.myProject.focus.flow.service.api.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Number of tokens an endpoint takes from the caller's bucket. Endpoints without it cost one token.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimitCost {
+
+    int value();
+}
@@ -0,0 +1,104 @@
+package org.myProject.focus.flow.service.api.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.myProject.focus.flow.service.api.exceptions.ErrorDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Charges every API call to the bucket of the JWT subject and answers 429 with Retry-After
+ * once the bucket is empty. Costs come from {@link RateLimitCost} and are cached per handler method.
+ * The async dispatch of a streamed response is not charged again: the request already paid and its body is committed.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final int DEFAULT_COST = 1;
+
+    TokenBucketRateLimiter tokenBucketRateLimiter;
+
+    ObjectMapper objectMapper;
+
+    MeterRegistry meterRegistry;
+
+    Map<Method, Integer> costs = new ConcurrentHashMap<>();
+
+    @NonFinal
+    @Value("${focus-flow.rate-limit.enabled:true}")
+    boolean enabled;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+
+        if (!enabled || request.getDispatcherType() == DispatcherType.ASYNC
+                || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (Objects.isNull(authentication) || !authentication.isAuthenticated()) {
+            return true;
+        }
+
+        long waitNanos = tokenBucketRateLimiter.tryAcquire(authentication.getName(), costOf(handlerMethod));
+
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+
+        Counter
+                .builder("http.server.requests.throttled")
+                .tag("endpoint", handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName())
+                .register(meterRegistry)
+                .increment();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        objectMapper.writeValue(response.getOutputStream(), ErrorDto.builder()
+                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                .errorDescription(String.format("Request quota exceeded, retry in %s s", retryAfterSeconds))
+                .build());
+
+        return false;
+    }
+
+    private int costOf(HandlerMethod handlerMethod) {
+
+        return costs.computeIfAbsent(handlerMethod.getMethod(), method -> {
+
+            RateLimitCost cost = handlerMethod.getMethodAnnotation(RateLimitCost.class);
+
+            return Objects.isNull(cost) ? DEFAULT_COST : cost.value();
+        });
+    }
+}
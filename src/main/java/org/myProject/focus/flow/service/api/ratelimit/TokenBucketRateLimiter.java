@@ -0,0 +1,100 @@
+package org.myProject.focus.flow.service.api.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket per user, kept as a single "theoretical arrival time" (GCRA):
+ * the moment the bucket would be full again. Taking tokens pushes it forward by cost * interval,
+ * and a request is refused when that would put it further ahead of now than the burst allows.
+ * One CAS on the user's own counter per request, no locks and no background refill.
+ */
+@Component
+public class TokenBucketRateLimiter {
+
+    private final Map<String, AtomicLong> theoreticalArrivalTimes = new ConcurrentHashMap<>();
+
+    private final long nanosPerToken;
+
+    private final long burstNanos;
+
+    private final int burst;
+
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public TokenBucketRateLimiter(
+            @Value("${focus-flow.rate-limit.tokens-per-second:20}") double tokensPerSecond,
+            @Value("${focus-flow.rate-limit.burst:60}") int burst) {
+        this(tokensPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double tokensPerSecond, int burst, LongSupplier nanoClock) {
+
+        if (tokensPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate limit tokens per second and burst must be positive");
+        }
+
+        this.nanosPerToken = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / tokensPerSecond));
+        this.burstNanos = nanosPerToken * burst;
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes {@code cost} tokens from the user's bucket.
+     *
+     * @return 0 if the request may proceed, otherwise nanoseconds until it would be accepted
+     */
+    public long tryAcquire(String userKey, int cost) {
+
+        long increment = nanosPerToken * Math.min(Math.max(cost, 1), burst);
+
+        // A new bucket starts full at the current time; nanoTime has an arbitrary origin and may well be negative.
+        AtomicLong theoreticalArrivalTime = theoreticalArrivalTimes
+                .computeIfAbsent(userKey, key -> new AtomicLong(nanoClock.getAsLong()));
+
+        while (true) {
+
+            long now = nanoClock.getAsLong();
+            long current = theoreticalArrivalTime.get();
+            long next = Math.max(current, now) + increment;
+            long ahead = next - now;
+
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+
+            if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely; such a user is indistinguishable from a new one.
+     */
+    @Scheduled(fixedRateString = "${focus-flow.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+
+        long now = nanoClock.getAsLong();
+
+        theoreticalArrivalTimes.forEach((userKey, theoreticalArrivalTime) -> {
+            if (theoreticalArrivalTime.get() <= now) {
+                theoreticalArrivalTimes.remove(userKey, theoreticalArrivalTime);
+            }
+        });
+    }
+
+    int trackedUsers() {
+        return theoreticalArrivalTimes.size();
+    }
+}
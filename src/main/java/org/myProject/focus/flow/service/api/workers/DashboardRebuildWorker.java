@@ -0,0 +1,59 @@
+package org.myProject.focus.flow.service.api.workers;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.log4j.Log4j2;
+import org.myProject.focus.flow.service.api.controllers.helpers.DashboardHelper;
+import org.myProject.focus.flow.service.store.repositories.DashboardTaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Recovery command for the dashboard read model: with focus-flow.dashboard.rebuild-on-startup set,
+ * every user's rows are derived again from the source tables at startup, one user per transaction.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class DashboardRebuildWorker implements ApplicationRunner {
+
+    DashboardTaskRepository dashboardTaskRepository;
+
+    DashboardHelper dashboardHelper;
+
+    TransactionTemplate transactionTemplate;
+
+    @NonFinal
+    @Value("${focus-flow.dashboard.rebuild-on-startup:false}")
+    boolean rebuildOnStartup;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (rebuildOnStartup) {
+            rebuildAll();
+        }
+    }
+
+    public void rebuildAll() {
+
+        List<Long> userIds = dashboardTaskRepository.findAllUserIds();
+
+        log.info("Rebuilding dashboard read model of {} users", userIds.size());
+
+        long rows = 0;
+
+        for (Long userId : userIds) {
+            rows += transactionTemplate.execute(status -> dashboardHelper.rebuildUser(userId));
+        }
+
+        log.info("Dashboard read model rebuilt with {} tasks", rows);
+    }
+}
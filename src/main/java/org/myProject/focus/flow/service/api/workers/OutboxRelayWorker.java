@@ -0,0 +1,178 @@
+package org.myProject.focus.flow.service.api.workers;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.log4j.Log4j2;
+import org.myProject.focus.flow.service.api.controllers.helpers.OutboxHelper;
+import org.myProject.focus.flow.service.api.outbox.OutboxEvent;
+import org.myProject.focus.flow.service.api.outbox.OutboxEventSink;
+import org.myProject.focus.flow.service.store.entities.OutboxEventEntity;
+import org.myProject.focus.flow.service.store.repositories.OutboxEventRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Relays outbox events to every {@link OutboxEventSink}.
+ * Events are split into {@link OutboxHelper#SHARDS} shards by project. A shard is drained by one thread
+ * of one instance at a time (transaction-scoped advisory lock), batch by batch in id order,
+ * each batch dispatched and deleted in one transaction. A full batch is followed by the next one
+ * right away, so lag stays around one poll interval while the relay keeps up.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OutboxRelayWorker {
+
+    private static final long SHARD_LOCK_BASE = 0x6F7574626F78L;
+
+    OutboxEventRepository outboxEventRepository;
+
+    ObjectProvider<OutboxEventSink> sinkProvider;
+
+    TransactionTemplate transactionTemplate;
+
+    MeterRegistry meterRegistry;
+
+    Set<Integer> inFlightShards = ConcurrentHashMap.newKeySet();
+
+    @NonFinal
+    @Value("${focus-flow.outbox.relay.enabled:true}")
+    boolean enabled;
+
+    @NonFinal
+    @Value("${focus-flow.outbox.relay.concurrency:4}")
+    int concurrency;
+
+    @NonFinal
+    @Value("${focus-flow.outbox.relay.batch-size:500}")
+    int batchSize;
+
+    @NonFinal
+    List<OutboxEventSink> sinks;
+
+    @NonFinal
+    ThreadPoolExecutor executor;
+
+    @NonFinal
+    Counter relayedEvents;
+
+    @NonFinal
+    Timer lag;
+
+    @PostConstruct
+    void startExecutor() {
+
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        executor = new ThreadPoolExecutor(
+                concurrency,
+                concurrency,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(OutboxHelper.SHARDS),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "outbox-relay-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        sinks = sinkProvider.orderedStream().toList();
+
+        relayedEvents = Counter.builder("outbox.relay.events").register(meterRegistry);
+        lag = Timer.builder("outbox.relay.lag").publishPercentileHistogram().register(meterRegistry);
+
+        if (sinks.isEmpty()) {
+            log.info("No outbox event sinks configured, relayed events are dropped");
+        }
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${focus-flow.outbox.relay.poll-interval-ms:100}")
+    public void relay() {
+
+        if (!enabled) {
+            return;
+        }
+
+        for (int shard = 0; shard < OutboxHelper.SHARDS; shard++) {
+            submit(shard);
+        }
+    }
+
+    private void submit(int shard) {
+
+        if (!inFlightShards.add(shard)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> drain(shard));
+        } catch (RejectedExecutionException ex) {
+            inFlightShards.remove(shard);
+        }
+    }
+
+    private void drain(int shard) {
+
+        try {
+            while (Boolean.TRUE.equals(transactionTemplate.execute(status -> relayBatch(shard)))) {
+                log.trace("Outbox shard {} relayed a full batch", shard);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Outbox shard {} relay failed, the batch will be retried: ", shard, ex);
+        } finally {
+            inFlightShards.remove(shard);
+        }
+    }
+
+    /**
+     * @return whether the batch was full, i.e. more events may be waiting
+     */
+    boolean relayBatch(int shard) {
+
+        if (!outboxEventRepository.tryLockShard(SHARD_LOCK_BASE + shard)) {
+            return false;
+        }
+
+        List<OutboxEventEntity> entities = outboxEventRepository.findBatchByShard(shard, batchSize);
+
+        if (entities.isEmpty()) {
+            return false;
+        }
+
+        List<OutboxEvent> events = entities.stream().map(OutboxEvent::of).toList();
+
+        sinks.forEach(sink -> sink.dispatch(events));
+
+        outboxEventRepository.deleteAllByIdIn(events.stream().map(OutboxEvent::id).toList());
+
+        relayedEvents.increment(events.size());
+        lag.record(Duration.between(events.get(0).createdAt(), LocalDateTime.now()));
+
+        return entities.size() == batchSize;
+    }
+}
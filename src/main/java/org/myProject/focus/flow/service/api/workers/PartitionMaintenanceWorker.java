@@ -0,0 +1,95 @@
+package org.myProject.focus.flow.service.api.workers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Vacuums the partitions of task and task_states that collected the most dead rows, a few per run.
+ * Each partition holds a slice of the tenants, so a busy tenant's churn is cleaned up in its own
+ * partition without rewriting or scanning the others. Runs outside of any transaction, as VACUUM requires.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PartitionMaintenanceWorker {
+
+    private static final String PARTITIONS_TO_VACUUM = "SELECT parent.relname AS table_name, child.relname AS partition_name " +
+            "FROM pg_inherits i " +
+            "JOIN pg_class parent ON parent.oid = i.inhparent " +
+            "JOIN pg_class child ON child.oid = i.inhrelid " +
+            "JOIN pg_stat_user_tables s ON s.relid = child.oid " +
+            "WHERE parent.relname IN ('task', 'task_states') " +
+            "AND s.n_dead_tup >= ? AND s.n_dead_tup >= ? * GREATEST(s.n_live_tup, 1) " +
+            "ORDER BY s.n_dead_tup DESC LIMIT ?";
+
+    JdbcTemplate jdbcTemplate;
+
+    MeterRegistry meterRegistry;
+
+    AtomicBoolean running = new AtomicBoolean();
+
+    @NonFinal
+    @Value("${focus-flow.partition-maintenance.enabled:true}")
+    boolean enabled;
+
+    @NonFinal
+    @Value("${focus-flow.partition-maintenance.min-dead-tuples:10000}")
+    long minDeadTuples;
+
+    @NonFinal
+    @Value("${focus-flow.partition-maintenance.dead-tuple-ratio:0.1}")
+    double deadTupleRatio;
+
+    @NonFinal
+    @Value("${focus-flow.partition-maintenance.max-partitions-per-run:2}")
+    int maxPartitionsPerRun;
+
+    @Scheduled(fixedDelayString = "${focus-flow.partition-maintenance.interval-ms:300000}")
+    public void maintain() {
+
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            jdbcTemplate
+                    .queryForList(PARTITIONS_TO_VACUUM, minDeadTuples, deadTupleRatio, maxPartitionsPerRun)
+                    .forEach(this::vacuum);
+        } catch (RuntimeException ex) {
+            log.error("Partition maintenance failed: ", ex);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void vacuum(Map<String, Object> partition) {
+
+        String tableName = (String) partition.get("table_name");
+        String partitionName = (String) partition.get("partition_name");
+
+        Timer
+                .builder("partition.maintenance.vacuum")
+                .tag("table", tableName)
+                .register(meterRegistry)
+                .record(() -> jdbcTemplate.execute("VACUUM (ANALYZE) " + quoteIdentifier(partitionName)));
+
+        log.info("Vacuumed partition {} of {}", partitionName, tableName);
+    }
+
+    private static String quoteIdentifier(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
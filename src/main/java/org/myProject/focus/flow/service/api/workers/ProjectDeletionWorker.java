@@ -0,0 +1,244 @@
+package org.myProject.focus.flow.service.api.workers;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.log4j.Log4j2;
+import org.myProject.focus.flow.service.store.entities.ProjectDeletionJobEntity;
+import org.myProject.focus.flow.service.store.entities.enums.JobStatus;
+import org.myProject.focus.flow.service.store.repositories.ArchivedTaskRepository;
+import org.myProject.focus.flow.service.store.repositories.ProjectDeletionJobRepository;
+import org.myProject.focus.flow.service.store.repositories.ProjectRepository;
+import org.myProject.focus.flow.service.store.repositories.TaskRepository;
+import org.myProject.focus.flow.service.store.repositories.TaskStateRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Purges tombstoned projects in the background.
+ * Every chunk of archived tasks, tasks and task states is unlinked and deleted in its own short transaction,
+ * so a large project never holds locks or a pooled connection for the whole purge.
+ * Every chunk reads what is left of the project, so the sweep resumes failed jobs where they stopped.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ProjectDeletionWorker {
+
+    ProjectDeletionJobRepository projectDeletionJobRepository;
+
+    ProjectRepository projectRepository;
+
+    TaskRepository taskRepository;
+
+    TaskStateRepository taskStateRepository;
+
+    ArchivedTaskRepository archivedTaskRepository;
+
+    TransactionTemplate transactionTemplate;
+
+    Set<Long> inFlightJobIds = ConcurrentHashMap.newKeySet();
+
+    @NonFinal
+    @Value("${focus-flow.project-deletion.concurrency:2}")
+    int concurrency;
+
+    @NonFinal
+    @Value("${focus-flow.project-deletion.queue-capacity:100}")
+    int queueCapacity;
+
+    @NonFinal
+    @Value("${focus-flow.project-deletion.chunk-size:500}")
+    int chunkSize;
+
+    @NonFinal
+    ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void startExecutor() {
+
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        executor = new ThreadPoolExecutor(
+                concurrency,
+                concurrency,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "project-deletion-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    public void submitAfterCommit(Long jobId) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(jobId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(jobId);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${focus-flow.project-deletion.sweep-interval-ms:30000}")
+    public void resubmitUnfinishedJobs() {
+
+        projectDeletionJobRepository
+                .findAllByStatusInOrderByIdAsc(List.of(JobStatus.PENDING, JobStatus.RUNNING, JobStatus.FAILED))
+                .forEach(job -> submit(job.getId()));
+    }
+
+    private void submit(Long jobId) {
+
+        if (!inFlightJobIds.add(jobId)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> purge(jobId));
+        } catch (RejectedExecutionException ex) {
+            inFlightJobIds.remove(jobId);
+            log.warn("Project deletion queue is full, job {} will be picked up by the next sweep", jobId);
+        }
+    }
+
+    private void purge(Long jobId) {
+
+        try {
+            Long projectId = transactionTemplate.execute(status -> markRunning(jobId));
+
+            while (Boolean.TRUE.equals(transactionTemplate.execute(status -> purgeArchivedTaskChunk(projectId)))) {
+                log.debug("Project deletion job {} purged a chunk of archived tasks", jobId);
+            }
+
+            while (Boolean.TRUE.equals(transactionTemplate.execute(status -> purgeTaskChunk(jobId, projectId)))) {
+                log.debug("Project deletion job {} purged a chunk of tasks", jobId);
+            }
+
+            while (Boolean.TRUE.equals(transactionTemplate.execute(status -> purgeTaskStateChunk(jobId, projectId)))) {
+                log.debug("Project deletion job {} purged a chunk of task states", jobId);
+            }
+
+            transactionTemplate.executeWithoutResult(status -> finish(jobId, projectId));
+        } catch (RuntimeException ex) {
+            log.error("Project deletion job {} failed: ", jobId, ex);
+
+            transactionTemplate.executeWithoutResult(status -> fail(jobId, ex));
+        } finally {
+            inFlightJobIds.remove(jobId);
+        }
+    }
+
+    private Long markRunning(Long jobId) {
+
+        ProjectDeletionJobEntity job = projectDeletionJobRepository.getReferenceById(jobId);
+
+        job.setStatus(JobStatus.RUNNING);
+        job.setUpdatedAt(LocalDateTime.now());
+
+        return projectDeletionJobRepository.saveAndFlush(job).getProjectId();
+    }
+
+    private boolean purgeArchivedTaskChunk(Long projectId) {
+
+        List<Long> archivedTaskIds = archivedTaskRepository.findIdsByProjectId(projectId, PageRequest.of(0, chunkSize));
+
+        if (archivedTaskIds.isEmpty()) {
+            return false;
+        }
+
+        archivedTaskRepository.deleteAllByProjectIdAndIdIn(projectId, archivedTaskIds);
+
+        return true;
+    }
+
+    private boolean purgeTaskChunk(Long jobId, Long projectId) {
+
+        List<Long> taskIds = taskRepository.findIdsByProjectId(projectId, PageRequest.of(0, chunkSize));
+
+        if (taskIds.isEmpty()) {
+            return false;
+        }
+
+        taskRepository.unlinkAllByProjectIdAndIdIn(projectId, taskIds);
+
+        int deletedTasks = taskRepository.deleteAllByProjectIdAndIdIn(projectId, taskIds);
+
+        ProjectDeletionJobEntity job = projectDeletionJobRepository.getReferenceById(jobId);
+
+        job.setDeletedTasks(job.getDeletedTasks() + deletedTasks);
+        job.setUpdatedAt(LocalDateTime.now());
+
+        return true;
+    }
+
+    private boolean purgeTaskStateChunk(Long jobId, Long projectId) {
+
+        List<Long> taskStateIds = taskStateRepository.findIdsByProjectId(projectId, PageRequest.of(0, chunkSize));
+
+        if (taskStateIds.isEmpty()) {
+            return false;
+        }
+
+        taskStateRepository.unlinkAllByProjectIdAndIdIn(projectId, taskStateIds);
+
+        int deletedTaskStates = taskStateRepository.deleteAllByProjectIdAndIdIn(projectId, taskStateIds);
+
+        ProjectDeletionJobEntity job = projectDeletionJobRepository.getReferenceById(jobId);
+
+        job.setDeletedTaskStates(job.getDeletedTaskStates() + deletedTaskStates);
+        job.setUpdatedAt(LocalDateTime.now());
+
+        return true;
+    }
+
+    private void finish(Long jobId, Long projectId) {
+
+        projectRepository.findById(projectId).ifPresent(projectRepository::delete);
+
+        ProjectDeletionJobEntity job = projectDeletionJobRepository.getReferenceById(jobId);
+
+        job.setStatus(JobStatus.DONE);
+        job.setErrorMessage(null);
+        job.setUpdatedAt(LocalDateTime.now());
+        job.setFinishedAt(LocalDateTime.now());
+    }
+
+    private void fail(Long jobId, RuntimeException ex) {
+
+        ProjectDeletionJobEntity job = projectDeletionJobRepository.getReferenceById(jobId);
+
+        job.setStatus(JobStatus.FAILED);
+        job.setErrorMessage(ex.getMessage());
+        job.setUpdatedAt(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,162 @@
+package org.myProject.focus.flow.service.api.workers;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.log4j.Log4j2;
+import org.myProject.focus.flow.service.api.controllers.helpers.BoardHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.TaskHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.TaskStateHelper;
+import org.myProject.focus.flow.service.store.repositories.TaskRepository;
+import org.myProject.focus.flow.service.store.repositories.TaskStateRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Removes tasks and task states whose undo window has ended, project by project.
+ * Every batch is cut out of its chain with one relink and deleted in its own short transaction,
+ * holding the project row lock like any other board mutation, so it never relinks next to a concurrent move or restore.
+ * Tasks go first, so a deleted task state is only removed once its tasks are gone.
+ * Rows are only taken a grace period after their undo window ended, so a restore that passed its check
+ * just before the end of the window is never overtaken by the compactor.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SoftDeleteCompactionWorker {
+
+    TaskRepository taskRepository;
+
+    TaskStateRepository taskStateRepository;
+
+    TaskHelper taskHelper;
+
+    TaskStateHelper taskStateHelper;
+
+    BoardHelper boardHelper;
+
+    TransactionTemplate transactionTemplate;
+
+    MeterRegistry meterRegistry;
+
+    AtomicBoolean running = new AtomicBoolean();
+
+    @NonFinal
+    @Value("${focus-flow.soft-delete.compaction.enabled:true}")
+    boolean enabled;
+
+    @NonFinal
+    @Value("${focus-flow.soft-delete.undo-window-ms:3600000}")
+    long undoWindowMillis;
+
+    @NonFinal
+    @Value("${focus-flow.soft-delete.compaction.grace-ms:60000}")
+    long graceMillis;
+
+    @NonFinal
+    @Value("${focus-flow.soft-delete.compaction.batch-size:500}")
+    int batchSize;
+
+    @NonFinal
+    @Value("${focus-flow.soft-delete.compaction.max-projects-per-run:100}")
+    int maxProjectsPerRun;
+
+    @NonFinal
+    Counter compactedTasks;
+
+    @NonFinal
+    Counter compactedTaskStates;
+
+    @PostConstruct
+    void registerMeters() {
+        compactedTasks = Counter.builder("soft.delete.compacted").tag("table", "task").register(meterRegistry);
+        compactedTaskStates = Counter.builder("soft.delete.compacted").tag("table", "task_states").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${focus-flow.soft-delete.compaction.interval-ms:60000}")
+    public void compact() {
+
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusNanos((undoWindowMillis + graceMillis) * 1_000_000);
+
+            taskRepository
+                    .findProjectIdsDeletedBefore(cutoff, maxProjectsPerRun)
+                    .forEach(projectId -> compactProject(projectId, cutoff));
+        } catch (RuntimeException ex) {
+            log.error("Soft delete compaction failed: ", ex);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void compactProject(Long projectId, LocalDateTime cutoff) {
+
+        try {
+            while (Boolean.TRUE.equals(transactionTemplate.execute(status -> compactTaskChunk(projectId, cutoff, status)))) {
+                log.debug("Project {} compacted a chunk of deleted tasks", projectId);
+            }
+
+            while (Boolean.TRUE.equals(transactionTemplate.execute(status -> compactTaskStateChunk(projectId, cutoff, status)))) {
+                log.debug("Project {} compacted a chunk of deleted task states", projectId);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Compaction of project {} failed, it will be retried by the next run: ", projectId, ex);
+        }
+    }
+
+    /**
+     * Takes the project row lock before reading the chunk; an empty chunk rolls back, leaving the board version as is.
+     */
+    private boolean compactTaskChunk(Long projectId, LocalDateTime cutoff, TransactionStatus status) {
+
+        boardHelper.markBoardChanged(projectId);
+
+        List<Long> taskIds = taskRepository.findIdsDeletedBefore(projectId, cutoff, PageRequest.of(0, batchSize));
+
+        if (taskIds.isEmpty()) {
+            status.setRollbackOnly();
+            return false;
+        }
+
+        taskHelper.unlinkTasks(projectId, taskIds);
+
+        compactedTasks.increment(taskRepository.deleteAllByProjectIdAndIdIn(projectId, taskIds));
+
+        return true;
+    }
+
+    private boolean compactTaskStateChunk(Long projectId, LocalDateTime cutoff, TransactionStatus status) {
+
+        boardHelper.markBoardChanged(projectId);
+
+        List<Long> taskStateIds = taskStateRepository.findIdsDeletedBefore(projectId, cutoff, PageRequest.of(0, batchSize));
+
+        if (taskStateIds.isEmpty()) {
+            status.setRollbackOnly();
+            return false;
+        }
+
+        taskStateHelper.unlinkTaskStates(projectId, taskStateIds);
+
+        compactedTaskStates.increment(taskStateRepository.deleteAllByProjectIdAndIdIn(projectId, taskStateIds));
+
+        return true;
+    }
+}
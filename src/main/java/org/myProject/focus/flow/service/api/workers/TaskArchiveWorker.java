@@ -0,0 +1,99 @@
+package org.myProject.focus.flow.service.api.workers;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.log4j.Log4j2;
+import org.myProject.focus.flow.service.api.controllers.helpers.ArchiveHelper;
+import org.myProject.focus.flow.service.store.repositories.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves tasks due for archiving out of the live task table, project by project.
+ * Every batch is archived in its own short transaction; a project is drained before the next one is started.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TaskArchiveWorker {
+
+    TaskRepository taskRepository;
+
+    ArchiveHelper archiveHelper;
+
+    TransactionTemplate transactionTemplate;
+
+    MeterRegistry meterRegistry;
+
+    AtomicBoolean running = new AtomicBoolean();
+
+    @NonFinal
+    @Value("${focus-flow.archive.enabled:true}")
+    boolean enabled;
+
+    @NonFinal
+    @Value("${focus-flow.archive.max-idle-days:0}")
+    int maxIdleDays;
+
+    @NonFinal
+    @Value("${focus-flow.archive.batch-size:500}")
+    int batchSize;
+
+    @NonFinal
+    @Value("${focus-flow.archive.max-projects-per-run:100}")
+    int maxProjectsPerRun;
+
+    @NonFinal
+    Counter archivedTasks;
+
+    @PostConstruct
+    void registerMeters() {
+        archivedTasks = Counter.builder("archive.tasks").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${focus-flow.archive.interval-ms:600000}")
+    public void archive() {
+
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            taskRepository
+                    .findProjectIdsDueForArchive(LocalDateTime.now(), maxIdleDays, maxProjectsPerRun)
+                    .forEach(this::archiveProject);
+        } catch (RuntimeException ex) {
+            log.error("Task archiving failed: ", ex);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void archiveProject(Long projectId) {
+
+        try {
+            int archived;
+
+            do {
+                archived = Objects.requireNonNull(transactionTemplate.execute(status ->
+                        archiveHelper.archiveTasks(projectId, maxIdleDays, batchSize)));
+
+                archivedTasks.increment(archived);
+            } while (archived == batchSize);
+        } catch (RuntimeException ex) {
+            log.error("Archiving tasks of project {} failed, they will be retried by the next run: ", projectId, ex);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.myProject.focus.flow.service.store.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+
+import java.time.LocalDateTime;
+
+/**
+ * Task moved out of its chain into the cold tier. Written once when the task is archived and never updated,
+ * it keeps the id the task had and the name of the task state it was archived from.
+ */
+@Entity
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "archived_task")
+public class ArchivedTaskEntity {
+
+    @Id
+    Long id;
+
+    Long projectId;
+
+    Long taskStateId;
+
+    String taskStateName;
+
+    Long userId;
+
+    String title;
+
+    String description;
+
+    LocalDateTime deadline;
+
+    Category category;
+
+    Priority priority;
+
+    String externalId;
+
+    LocalDateTime createdAt;
+
+    LocalDateTime updatedAt;
+
+    LocalDateTime archivedAt;
+}
@@ -0,0 +1,46 @@
+package org.myProject.focus.flow.service.store.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the per-user dashboard read model, written only through DashboardTaskRepository upserts.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "dashboard_task")
+public class DashboardTaskEntity {
+
+    @Id
+    Long taskId;
+
+    Long userId;
+
+    Long projectId;
+
+    String projectName;
+
+    Long taskStateId;
+
+    String taskStateName;
+
+    String title;
+
+    LocalDateTime deadline;
+
+    Priority priority;
+
+    Category category;
+
+    LocalDateTime createdAt;
+}
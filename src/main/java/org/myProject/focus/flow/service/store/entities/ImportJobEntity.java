@@ -0,0 +1,49 @@
+package org.myProject.focus.flow.service.store.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.store.entities.enums.JobStatus;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "import_job")
+public class ImportJobEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    Long id;
+
+    Long userId;
+
+    @Builder.Default
+    JobStatus status = JobStatus.PENDING;
+
+    @Builder.Default
+    Long rowsRead = 0L;
+
+    @Builder.Default
+    Long importedProjects = 0L;
+
+    @Builder.Default
+    Long importedTaskStates = 0L;
+
+    @Builder.Default
+    Long importedTasks = 0L;
+
+    Double rowsPerSecond;
+
+    String errorMessage;
+
+    @Builder.Default
+    LocalDateTime createdAt = LocalDateTime.now();
+
+    LocalDateTime finishedAt;
+}
@@ -0,0 +1,43 @@
+package org.myProject.focus.flow.service.store.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.store.entities.enums.OutboxEventType;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "outbox_event")
+public class OutboxEventEntity {
+
+    /**
+     * Assigned by the database on insert, i.e. while the writer holds the project row lock,
+     * so ids of one project grow in commit order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    Integer shard;
+
+    Long projectId;
+
+    Long userId;
+
+    OutboxEventType type;
+
+    Long aggregateId;
+
+    @Column(columnDefinition = "text")
+    String payload;
+
+    @Builder.Default
+    LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,46 @@
+package org.myProject.focus.flow.service.store.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.store.entities.enums.JobStatus;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "project_deletion_job")
+public class ProjectDeletionJobEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    Long id;
+
+    Long projectId;
+
+    Long userId;
+
+    @Builder.Default
+    JobStatus status = JobStatus.PENDING;
+
+    @Builder.Default
+    Long deletedTaskStates = 0L;
+
+    @Builder.Default
+    Long deletedTasks = 0L;
+
+    String errorMessage;
+
+    @Builder.Default
+    LocalDateTime createdAt = LocalDateTime.now();
+
+    @Builder.Default
+    LocalDateTime updatedAt = LocalDateTime.now();
+
+    LocalDateTime finishedAt;
+}
@@ -34,6 +34,13 @@ public class ProjectEntity {
 
     Long userId;
 
+    LocalDateTime deletedAt;
+
+    String externalId;
+
+    @Builder.Default
+    Long boardVersion = 0L;
+
     @OneToMany
     @JoinColumn(name = "project_id", referencedColumnName = "id")
     List<TaskStateEntity> taskStates = new ArrayList<>();
@@ -32,18 +32,29 @@ public class TaskEntity {
 
     Priority priority;
 
-    @OneToOne
+    String externalId;
+
+    Long userId;
+
+    Long projectId;
+
+    @OneToOne(fetch = FetchType.LAZY)
     TaskEntity higherPriorityTask;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     TaskEntity lowerPriorityTask;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     TaskStateEntity taskState;
 
     @Builder.Default
     LocalDateTime updatedAt = LocalDateTime.now();
 
+    /**
+     * Set while the task is in the trash: it keeps its place in the chain until it is compacted.
+     */
+    LocalDateTime deletedAt;
+
     @Builder.Default
     LocalDateTime createdAt = LocalDateTime.now();
 
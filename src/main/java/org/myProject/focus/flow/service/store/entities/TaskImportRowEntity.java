@@ -0,0 +1,67 @@
+package org.myProject.focus.flow.service.store.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Staging row of an import job. Rows are written with COPY or JDBC batches and merged
+ * into project, task_states and task with set-based statements once the whole file is read.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@IdClass(TaskImportRowEntity.Key.class)
+@Table(name = "task_import_row")
+public class TaskImportRowEntity {
+
+    @Id
+    Long importJobId;
+
+    @Id
+    Long lineNumber;
+
+    String externalProjectId;
+
+    String projectName;
+
+    String externalTaskStateId;
+
+    String taskStateName;
+
+    Integer taskStatePosition;
+
+    String externalTaskId;
+
+    Integer taskPosition;
+
+    String title;
+
+    String description;
+
+    LocalDateTime deadline;
+
+    Category category;
+
+    Priority priority;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Key implements Serializable {
+
+        Long importJobId;
+
+        Long lineNumber;
+    }
+}
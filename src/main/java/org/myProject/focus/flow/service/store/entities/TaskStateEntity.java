@@ -4,10 +4,12 @@ import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 import org.myProject.focus.flow.service.store.entities.enums.Layouts;
+import org.myProject.focus.flow.service.store.entities.enums.TaskSortMode;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Entity
@@ -28,15 +30,32 @@ public class TaskStateEntity {
 
     Layouts typeOfLayout;
 
-    @OneToOne
+    @Builder.Default
+    TaskSortMode sortMode = TaskSortMode.MANUAL;
+
+    /**
+     * Tasks unchanged for this many days are moved to the archive; null keeps them on the board.
+     */
+    Integer archiveAfterDays;
+
+    String externalId;
+
+    Long userId;
+
+    @OneToOne(fetch = FetchType.LAZY)
     TaskStateEntity leftTaskState;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     TaskStateEntity rightTaskState;
 
     @Builder.Default
     LocalDateTime createdAt = LocalDateTime.now();
 
+    /**
+     * Set while the task state is in the trash, together with its tasks; it keeps its place in the chain until it is compacted.
+     */
+    LocalDateTime deletedAt;
+
     @ManyToOne
     ProjectEntity project;
 
@@ -45,6 +64,13 @@ public class TaskStateEntity {
     @JoinColumn(name = "task_state_id", referencedColumnName = "id")
     List<TaskEntity> tasks = new ArrayList<>();
 
+    /**
+     * Tasks of an auto-sorted state are kept in sort key order instead of the order users drag them into.
+     */
+    public boolean isAutoSorted() {
+        return Objects.nonNull(sortMode) && sortMode != TaskSortMode.MANUAL;
+    }
+
     public Optional<TaskStateEntity> getLeftTaskState() {
         return Optional.ofNullable(leftTaskState);
     }
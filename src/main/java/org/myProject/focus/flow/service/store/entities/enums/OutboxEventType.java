@@ -0,0 +1,9 @@
+package org.myProject.focus.flow.service.store.entities.enums;
+
+public enum OutboxEventType {
+    TASK_CREATED, TASK_UPDATED, TASK_POSITION_CHANGED, TASKS_MOVED, TASKS_REORDERED, TASK_DELETED,
+    TASK_STATE_CREATED, TASK_STATE_UPDATED, TASK_STATE_POSITION_CHANGED, TASK_STATES_REORDERED, TASK_STATE_DELETED,
+    PROJECT_CREATED, PROJECT_UPDATED, PROJECT_CLONED, PROJECT_DELETED,
+    TASKS_ARCHIVED, TASK_RESTORED, TASK_STATE_RESTORED,
+    PROJECT_IMPORTED
+}
@@ -0,0 +1,5 @@
+package org.myProject.focus.flow.service.store.entities.enums;
+
+public enum TaskStateDeletionMode {
+    CASCADE, MOVE
+}
@@ -0,0 +1,17 @@
+package org.myProject.focus.flow.service.store.projections;
+
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+
+public interface TaskCountProjection {
+
+    Long getTaskStateId();
+
+    Priority getPriority();
+
+    Category getCategory();
+
+    Long getTaskCount();
+
+    Long getOverdueCount();
+}
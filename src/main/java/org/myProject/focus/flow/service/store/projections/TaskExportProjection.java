@@ -0,0 +1,34 @@
+package org.myProject.focus.flow.service.store.projections;
+
+import java.time.LocalDateTime;
+
+public interface TaskExportProjection {
+
+    String getProjectId();
+
+    String getProjectName();
+
+    String getTaskStateId();
+
+    String getTaskStateName();
+
+    Integer getTaskStatePosition();
+
+    String getTaskId();
+
+    Integer getTaskPosition();
+
+    String getTitle();
+
+    String getDescription();
+
+    LocalDateTime getDeadline();
+
+    Integer getCategory();
+
+    Integer getPriority();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,57 @@
+package org.myProject.focus.flow.service.store.repositories;
+
+import org.myProject.focus.flow.service.store.entities.ArchivedTaskEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTaskEntity, Long> {
+
+    /**
+     * Copies tasks of a project into the archive with the name of their task state.
+     * Tasks archived before are skipped, so a retried batch does not fail.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO archived_task (id, project_id, task_state_id, task_state_name, user_id, title, " +
+            "description, deadline, category, priority, external_id, created_at, updated_at, archived_at) " +
+            "SELECT t.id, t.project_id, t.task_state_id, ts.name, t.user_id, t.title, " +
+            "t.description, t.deadline, t.category, t.priority, t.external_id, t.created_at, t.updated_at, :archivedAt " +
+            "FROM task t " +
+            "LEFT JOIN task_states ts ON ts.project_id = t.project_id AND ts.id = t.task_state_id " +
+            "WHERE t.project_id = :projectId AND t.id IN (:ids) " +
+            "ON CONFLICT (id) DO NOTHING", nativeQuery = true)
+    int archiveAllByProjectIdAndIdIn(
+            @Param("projectId") Long projectId,
+            @Param("ids") Collection<Long> ids,
+            @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Query("SELECT a FROM ArchivedTaskEntity a WHERE a.projectId = :projectId " +
+            "ORDER BY a.archivedAt DESC, a.id DESC")
+    List<ArchivedTaskEntity> findFirstPageByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    /**
+     * Next page of the archive of a project, after the last task of the previous page; a seek on the
+     * (project_id, archived_at, id) index, so deep pages cost the same as the first one.
+     */
+    @Query("SELECT a FROM ArchivedTaskEntity a WHERE a.projectId = :projectId " +
+            "AND (a.archivedAt < :archivedAt OR a.archivedAt = :archivedAt AND a.id < :id) " +
+            "ORDER BY a.archivedAt DESC, a.id DESC")
+    List<ArchivedTaskEntity> findPageByProjectIdAfter(
+            @Param("projectId") Long projectId,
+            @Param("archivedAt") LocalDateTime archivedAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query("SELECT a.id FROM ArchivedTaskEntity a WHERE a.projectId = :projectId ORDER BY a.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedTaskEntity a WHERE a.projectId = :projectId AND a.id IN :ids")
+    int deleteAllByProjectIdAndIdIn(@Param("projectId") Long projectId, @Param("ids") Collection<Long> ids);
+}
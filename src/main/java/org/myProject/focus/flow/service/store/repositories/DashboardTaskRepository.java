@@ -0,0 +1,74 @@
+package org.myProject.focus.flow.service.store.repositories;
+
+import org.myProject.focus.flow.service.store.entities.DashboardTaskEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface DashboardTaskRepository extends JpaRepository<DashboardTaskEntity, Long> {
+
+    String UPSERT_FROM_TASKS = "INSERT INTO dashboard_task (task_id, user_id, project_id, project_name, task_state_id, " +
+            "task_state_name, title, deadline, priority, category, created_at) " +
+            "SELECT t.id, t.user_id, t.project_id, p.name, ts.id, ts.name, t.title, t.deadline, t.priority, t.category, t.created_at " +
+            "FROM task t JOIN task_states ts ON ts.project_id = t.project_id AND ts.id = t.task_state_id " +
+            "JOIN project p ON p.id = t.project_id " +
+            "WHERE p.deleted_at IS NULL AND t.deleted_at IS NULL AND ts.deleted_at IS NULL AND ";
+
+    String ON_CONFLICT_UPDATE = " ON CONFLICT (task_id) DO UPDATE SET " +
+            "user_id = EXCLUDED.user_id, project_id = EXCLUDED.project_id, project_name = EXCLUDED.project_name, " +
+            "task_state_id = EXCLUDED.task_state_id, task_state_name = EXCLUDED.task_state_name, title = EXCLUDED.title, " +
+            "deadline = EXCLUDED.deadline, priority = EXCLUDED.priority, category = EXCLUDED.category, " +
+            "created_at = EXCLUDED.created_at";
+
+    @Query("SELECT d FROM DashboardTaskEntity d WHERE d.userId = :userId " +
+            "ORDER BY d.deadline ASC NULLS LAST, d.priority DESC, d.taskId ASC")
+    List<DashboardTaskEntity> findAllByUserIdInDisplayOrder(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = UPSERT_FROM_TASKS + "t.id IN (:taskIds)" + ON_CONFLICT_UPDATE, nativeQuery = true)
+    int upsertAllByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = UPSERT_FROM_TASKS + "t.task_state_id = :taskStateId" + ON_CONFLICT_UPDATE, nativeQuery = true)
+    int upsertAllByTaskStateId(@Param("taskStateId") Long taskStateId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = UPSERT_FROM_TASKS + "t.project_id = :projectId" + ON_CONFLICT_UPDATE, nativeQuery = true)
+    int upsertAllByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = UPSERT_FROM_TASKS + "t.user_id = :userId" + ON_CONFLICT_UPDATE, nativeQuery = true)
+    int upsertAllByUserId(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = UPSERT_FROM_TASKS + "p.user_id = :userId AND p.external_id IN (" +
+            "SELECT r.external_project_id FROM task_import_row r WHERE r.import_job_id = :importJobId)" +
+            ON_CONFLICT_UPDATE, nativeQuery = true)
+    int upsertAllOfImportJob(
+            @Param("importJobId") Long importJobId,
+            @Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM DashboardTaskEntity d WHERE d.taskId IN :taskIds")
+    int deleteAllByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM DashboardTaskEntity d WHERE d.taskStateId = :taskStateId")
+    int deleteAllByTaskStateId(@Param("taskStateId") Long taskStateId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM DashboardTaskEntity d WHERE d.projectId = :projectId")
+    int deleteAllByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM DashboardTaskEntity d WHERE d.userId = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+
+    @Query(value = "SELECT p.user_id FROM project p WHERE p.user_id IS NOT NULL " +
+            "UNION SELECT d.user_id FROM dashboard_task d", nativeQuery = true)
+    List<Long> findAllUserIds();
+}
@@ -0,0 +1,7 @@
+package org.myProject.focus.flow.service.store.repositories;
+
+import org.myProject.focus.flow.service.store.entities.ImportJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ImportJobRepository extends JpaRepository<ImportJobEntity, Long> {
+}
@@ -0,0 +1,29 @@
+package org.myProject.focus.flow.service.store.repositories;
+
+import org.myProject.focus.flow.service.store.entities.OutboxEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    /**
+     * Held until the end of the transaction; one relay per shard at a time keeps events of a project in order.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryLockShard(@Param("lockKey") long lockKey);
+
+    @Query(value = "SELECT * FROM outbox_event WHERE shard = :shard ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEventEntity> findBatchByShard(
+            @Param("shard") int shard,
+            @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEventEntity e WHERE e.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
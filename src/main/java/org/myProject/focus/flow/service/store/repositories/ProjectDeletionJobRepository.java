@@ -0,0 +1,13 @@
+package org.myProject.focus.flow.service.store.repositories;
+
+import org.myProject.focus.flow.service.store.entities.ProjectDeletionJobEntity;
+import org.myProject.focus.flow.service.store.entities.enums.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProjectDeletionJobRepository extends JpaRepository<ProjectDeletionJobEntity, Long> {
+
+    List<ProjectDeletionJobEntity> findAllByStatusInOrderByIdAsc(Collection<JobStatus> statuses);
+}
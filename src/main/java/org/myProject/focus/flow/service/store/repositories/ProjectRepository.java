@@ -1,7 +1,14 @@
 package org.myProject.focus.flow.service.store.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.myProject.focus.flow.service.store.entities.ProjectEntity;
+import org.myProject.focus.flow.service.store.projections.TaskExportProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,5 +22,109 @@ public interface ProjectRepository extends JpaRepository<ProjectEntity, Long> {
 
     Stream<ProjectEntity> streamAllByNameContainingIgnoreCaseAndUserId(String name, Long userId);
 
+    Stream<ProjectEntity> streamAllByUserIdAndDeletedAtIsNull(Long userId);
+
+    Stream<ProjectEntity> streamAllByNameContainingIgnoreCaseAndUserIdAndDeletedAtIsNull(String name, Long userId);
+
     Stream<ProjectEntity> findAllByUserId(Long userId);
+
+    @Query("SELECT p.boardVersion FROM ProjectEntity p WHERE p.id = :projectId AND p.deletedAt IS NULL")
+    Optional<Long> findBoardVersionById(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("UPDATE ProjectEntity p SET p.boardVersion = p.boardVersion + 1 WHERE p.id = :projectId")
+    int incrementBoardVersion(@Param("projectId") Long projectId);
+
+    /**
+     * Bumps the board version of every live project named in an import job and returns their ids;
+     * the row locks it takes order the outbox events of the merge after those of other writers.
+     */
+    @Query(value = "UPDATE project SET board_version = board_version + 1 " +
+            "WHERE user_id = :userId AND deleted_at IS NULL AND external_id IN (" +
+            "SELECT r.external_project_id FROM task_import_row r WHERE r.import_job_id = :importJobId) " +
+            "RETURNING id", nativeQuery = true)
+    List<Long> incrementBoardVersionsOfImportJob(
+            @Param("importJobId") Long importJobId,
+            @Param("userId") Long userId);
+
+    /**
+     * Takes over projects of the user that were exported from here: an export writes the id of a project
+     * without an external id, so that id becomes its external id and a re-import matches the project.
+     */
+    @Modifying
+    @Query(value = "UPDATE project p SET external_id = CAST(p.id AS varchar) " +
+            "WHERE p.user_id = :userId AND p.deleted_at IS NULL AND p.external_id IS NULL " +
+            "AND CAST(p.id AS varchar) IN (" +
+            "SELECT r.external_project_id FROM task_import_row r WHERE r.import_job_id = :importJobId) " +
+            "AND NOT EXISTS (SELECT 1 FROM project o WHERE o.user_id = :userId " +
+            "AND o.external_id = CAST(p.id AS varchar) AND o.deleted_at IS NULL)", nativeQuery = true)
+    int adoptExportedIdsOfImportJob(
+            @Param("importJobId") Long importJobId,
+            @Param("userId") Long userId);
+
+    /**
+     * Inserts the projects of an import job that are not imported yet. Project names are unique,
+     * so a name that is already taken gets the external id appended.
+     */
+    @Query(value = "WITH source AS (" +
+            "SELECT DISTINCT ON (r.external_project_id) r.external_project_id, r.project_name " +
+            "FROM task_import_row r WHERE r.import_job_id = :importJobId " +
+            "ORDER BY r.external_project_id, r.line_number" +
+            "), fresh AS (" +
+            "SELECT s.*, row_number() OVER (PARTITION BY s.project_name ORDER BY s.external_project_id) AS name_rank " +
+            "FROM source s " +
+            "WHERE NOT EXISTS (SELECT 1 FROM project p " +
+            "WHERE p.user_id = :userId AND p.external_id = s.external_project_id AND p.deleted_at IS NULL)" +
+            "), inserted AS (" +
+            "INSERT INTO project (id, name, user_id, external_id, created_at, updated_at) " +
+            "SELECT nextval('project_entity_seq'), " +
+            "CASE WHEN f.name_rank > 1 OR EXISTS (SELECT 1 FROM project p WHERE p.name = f.project_name) " +
+            "THEN LEFT(f.project_name, 120) || ' (' || LEFT(f.external_project_id, 120) || ')' " +
+            "ELSE f.project_name END, " +
+            ":userId, f.external_project_id, now(), now() " +
+            "FROM fresh f " +
+            "RETURNING id" +
+            ") SELECT count(*) FROM inserted", nativeQuery = true)
+    long importFromStaging(
+            @Param("importJobId") Long importJobId,
+            @Param("userId") Long userId);
+
+    /**
+     * Rows of all live projects of a user (or of one of them when projectId is set), one per task
+     * and one per empty task state, already in board order: the task state and task chains are
+     * walked by recursive CTEs, so the caller can write rows out as they arrive.
+     * Deleted task states and tasks are walked through but not returned.
+     * Ids are written as external ids (the own id where there is none), so an export imports back onto itself.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "WITH RECURSIVE state_chain AS (" +
+            "SELECT s.id, s.name, s.external_id, s.project_id, s.deleted_at, 0 AS position FROM task_states s " +
+            "JOIN project p ON p.id = s.project_id " +
+            "WHERE p.user_id = :userId AND p.deleted_at IS NULL " +
+            "AND (CAST(:projectId AS bigint) IS NULL OR p.id = :projectId) " +
+            "AND s.left_task_state_id IS NULL " +
+            "UNION ALL " +
+            "SELECT s.id, s.name, s.external_id, s.project_id, s.deleted_at, sc.position + 1 FROM task_states s " +
+            "JOIN state_chain sc ON s.left_task_state_id = sc.id" +
+            "), task_chain AS (" +
+            "SELECT t.id, t.task_state_id, t.deleted_at, 0 AS position FROM task t " +
+            "JOIN state_chain sc ON sc.id = t.task_state_id " +
+            "WHERE t.higher_priority_task_id IS NULL " +
+            "UNION ALL " +
+            "SELECT t.id, t.task_state_id, t.deleted_at, tc.position + 1 FROM task t " +
+            "JOIN task_chain tc ON t.higher_priority_task_id = tc.id" +
+            ") SELECT COALESCE(p.external_id, CAST(p.id AS varchar)) AS \"projectId\", p.name AS \"projectName\", " +
+            "COALESCE(sc.external_id, CAST(sc.id AS varchar)) AS \"taskStateId\", sc.name AS \"taskStateName\", sc.position AS \"taskStatePosition\", " +
+            "COALESCE(t.external_id, CAST(t.id AS varchar)) AS \"taskId\", tc.position AS \"taskPosition\", t.title AS \"title\", " +
+            "t.description AS \"description\", t.deadline AS \"deadline\", t.category AS \"category\", " +
+            "t.priority AS \"priority\", t.created_at AS \"createdAt\", t.updated_at AS \"updatedAt\" " +
+            "FROM state_chain sc " +
+            "JOIN project p ON p.id = sc.project_id " +
+            "LEFT JOIN task_chain tc ON tc.task_state_id = sc.id AND tc.deleted_at IS NULL " +
+            "LEFT JOIN task t ON t.id = tc.id " +
+            "WHERE sc.deleted_at IS NULL " +
+            "ORDER BY p.id, sc.position, tc.position", nativeQuery = true)
+    Stream<TaskExportProjection> streamExportRowsByUserIdAndProjectId(
+            @Param("userId") Long userId,
+            @Param("projectId") Long projectId);
 }
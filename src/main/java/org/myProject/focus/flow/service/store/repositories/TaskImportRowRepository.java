@@ -0,0 +1,14 @@
+package org.myProject.focus.flow.service.store.repositories;
+
+import org.myProject.focus.flow.service.store.entities.TaskImportRowEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TaskImportRowRepository extends JpaRepository<TaskImportRowEntity, TaskImportRowEntity.Key> {
+
+    @Modifying
+    @Query("DELETE FROM TaskImportRowEntity r WHERE r.importJobId = :importJobId")
+    int deleteAllByImportJobId(@Param("importJobId") Long importJobId);
+}
@@ -1,18 +1,347 @@
 package org.myProject.focus.flow.service.store.repositories;
 
 import org.myProject.focus.flow.service.store.entities.TaskEntity;
+import org.myProject.focus.flow.service.store.projections.TaskCountProjection;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.scheduling.config.Task;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 
+/**
+ * The task table is hash partitioned by project id: queries scoped to one project filter on it
+ * so the planner only visits that project's partition.
+ */
 public interface TaskRepository extends JpaRepository<TaskEntity, Long> {
 
-    Optional<TaskEntity> findTaskEntityByHigherPriorityTaskIsNullAndTaskStateId(Long taskState_id);
+    /**
+     * Relinks the chains of the task states selected by the condition that follows, in sort key order.
+     * Rows already in place are left untouched.
+     */
+    String RESORT_CHAINS = "UPDATE task t SET " +
+            "higher_priority_task_id = o.higher_priority_task_id, lower_priority_task_id = o.lower_priority_task_id " +
+            "FROM (SELECT s.id, s.project_id, " +
+            "LAG(s.id) OVER w AS higher_priority_task_id, LEAD(s.id) OVER w AS lower_priority_task_id " +
+            "FROM task s WHERE ";
 
-    Optional<TaskEntity> findTaskEntityByLowerPriorityTaskIsNullAndTaskStateId(Long taskState_id);
+    String RESORT_CHAINS_END = " WINDOW w AS (PARTITION BY s.task_state_id " +
+            "ORDER BY s.priority DESC, s.deadline ASC NULLS LAST, s.id)) o " +
+            "WHERE t.id = o.id AND t.project_id = o.project_id " +
+            "AND (t.higher_priority_task_id IS DISTINCT FROM o.higher_priority_task_id " +
+            "OR t.lower_priority_task_id IS DISTINCT FROM o.lower_priority_task_id)";
 
-    List<TaskEntity> findAllByTaskStateId(Long taskState_id);
+    Optional<TaskEntity> findTaskEntityByHigherPriorityTaskIsNullAndProjectIdAndTaskStateId(Long projectId, Long taskState_id);
+
+    Optional<TaskEntity> findTaskEntityByLowerPriorityTaskIsNullAndProjectIdAndTaskStateId(Long projectId, Long taskState_id);
+
+    List<TaskEntity> findAllByProjectIdAndTaskStateId(Long projectId, Long taskState_id);
+
+    List<TaskEntity> findAllByProjectId(Long projectId);
+
+    /**
+     * The task if neither it, its task state nor its project is in the trash. The liveness is checked in the
+     * same query: the task state and project rows are joined for their deleted_at only, nothing else is loaded.
+     */
+    @Query("SELECT t FROM TaskEntity t JOIN t.taskState s JOIN ProjectEntity p ON p.id = t.projectId " +
+            "WHERE t.id = :id AND t.deletedAt IS NULL AND s.deletedAt IS NULL AND p.deletedAt IS NULL")
+    Optional<TaskEntity> findLiveById(@Param("id") Long id);
+
+    @Query("SELECT t FROM TaskEntity t JOIN t.taskState s JOIN ProjectEntity p ON p.id = t.projectId " +
+            "WHERE t.id IN :ids AND t.deletedAt IS NULL AND s.deletedAt IS NULL AND p.deletedAt IS NULL")
+    List<TaskEntity> findAllLiveById(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t FROM TaskEntity t WHERE t.projectId = :projectId AND t.taskState.id = :taskStateId " +
+            "AND t.deletedAt IS NULL ORDER BY t.priority DESC, t.deadline ASC NULLS LAST, t.id")
+    List<TaskEntity> findAllByProjectIdAndTaskStateIdInSortOrder(
+            @Param("projectId") Long projectId,
+            @Param("taskStateId") Long taskStateId);
+
+    /**
+     * First task of the state that sorts after the given sort key, i.e. the task to insert before.
+     * Among equal keys the lower id goes first; a task not saved yet passes {@code Long.MAX_VALUE}.
+     */
+    @Query(value = "SELECT * FROM task t " +
+            "WHERE t.project_id = :projectId AND t.task_state_id = :taskStateId AND t.id <> :taskId " +
+            "AND (t.priority < :priority OR t.priority = :priority AND (" +
+            "CAST(:deadline AS timestamp) IS NULL AND t.deadline IS NULL AND t.id > :taskId " +
+            "OR CAST(:deadline AS timestamp) IS NOT NULL AND (t.deadline IS NULL OR t.deadline > :deadline " +
+            "OR t.deadline = :deadline AND t.id > :taskId))) " +
+            "ORDER BY t.priority DESC, t.deadline ASC NULLS LAST, t.id LIMIT 1", nativeQuery = true)
+    Optional<TaskEntity> findFirstSortedAfter(
+            @Param("projectId") Long projectId,
+            @Param("taskStateId") Long taskStateId,
+            @Param("taskId") Long taskId,
+            @Param("priority") Integer priority,
+            @Param("deadline") LocalDateTime deadline);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = RESORT_CHAINS + "s.project_id = :projectId AND s.task_state_id = :taskStateId" +
+            RESORT_CHAINS_END + " AND t.project_id = :projectId", nativeQuery = true)
+    int resortByProjectIdAndTaskStateId(
+            @Param("projectId") Long projectId,
+            @Param("taskStateId") Long taskStateId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = RESORT_CHAINS + "s.task_state_id IN (" +
+            "SELECT ts.id FROM task_states ts JOIN project p ON p.id = ts.project_id " +
+            "WHERE p.user_id = :userId AND p.deleted_at IS NULL AND ts.sort_mode <> 0 AND p.external_id IN (" +
+            "SELECT r.external_project_id FROM task_import_row r WHERE r.import_job_id = :importJobId))" +
+            RESORT_CHAINS_END, nativeQuery = true)
+    int resortAllOfImportJob(
+            @Param("importJobId") Long importJobId,
+            @Param("userId") Long userId);
+
+    @Query("SELECT t FROM TaskEntity t " +
+            "WHERE t.userId = :userId AND t.deadline >= :dueFrom AND t.deadline < :dueTo " +
+            "AND t.deletedAt IS NULL AND t.taskState.deletedAt IS NULL " +
+            "AND NOT EXISTS (SELECT p.id FROM ProjectEntity p WHERE p.id = t.projectId AND p.deletedAt IS NOT NULL) " +
+            "ORDER BY t.deadline, t.id")
+    List<TaskEntity> findAllDueByUserId(
+            @Param("userId") Long userId,
+            @Param("dueFrom") LocalDateTime dueFrom,
+            @Param("dueTo") LocalDateTime dueTo);
+
+    /**
+     * One row per (task state, priority, category) of the project with the number of tasks
+     * and how many of them have a deadline before {@code now}.
+     */
+    @Query("SELECT t.taskState.id AS taskStateId, t.priority AS priority, t.category AS category, " +
+            "COUNT(t) AS taskCount, SUM(CASE WHEN t.deadline < :now THEN 1L ELSE 0L END) AS overdueCount " +
+            "FROM TaskEntity t WHERE t.projectId = :projectId AND t.deletedAt IS NULL AND t.taskState.deletedAt IS NULL " +
+            "GROUP BY t.taskState.id, t.priority, t.category")
+    List<TaskCountProjection> countByProjectIdGrouped(
+            @Param("projectId") Long projectId,
+            @Param("now") LocalDateTime now);
+
+    @Query("SELECT t.id FROM TaskEntity t " +
+            "WHERE t.projectId = :projectId AND t.taskState.id = :taskStateId AND t.higherPriorityTask IS NULL")
+    Optional<Long> findHeadIdByProjectIdAndTaskStateId(
+            @Param("projectId") Long projectId,
+            @Param("taskStateId") Long taskStateId);
+
+    @Query("SELECT t.id FROM TaskEntity t " +
+            "WHERE t.projectId = :projectId AND t.taskState.id = :taskStateId AND t.lowerPriorityTask IS NULL")
+    Optional<Long> findTailIdByProjectIdAndTaskStateId(
+            @Param("projectId") Long projectId,
+            @Param("taskStateId") Long taskStateId);
+
+    /**
+     * Moves the tasks of a task state into another one of the same project, within its partition.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE task t SET task_state_id = ts.id, user_id = ts.user_id " +
+            "FROM task_states ts WHERE ts.project_id = :projectId AND ts.id = :targetTaskStateId " +
+            "AND t.project_id = :projectId AND t.task_state_id = :taskStateId", nativeQuery = true)
+    int moveAllToTaskState(
+            @Param("projectId") Long projectId,
+            @Param("taskStateId") Long taskStateId,
+            @Param("targetTaskStateId") Long targetTaskStateId);
+
+    @Modifying
+    @Query(value = "UPDATE task SET " +
+            "lower_priority_task_id = CASE WHEN id = :higherPriorityTaskId THEN :lowerPriorityTaskId ELSE lower_priority_task_id END, " +
+            "higher_priority_task_id = CASE WHEN id = :lowerPriorityTaskId THEN :higherPriorityTaskId ELSE higher_priority_task_id END " +
+            "WHERE project_id = :projectId AND id IN (:higherPriorityTaskId, :lowerPriorityTaskId)", nativeQuery = true)
+    int linkTasks(
+            @Param("projectId") Long projectId,
+            @Param("higherPriorityTaskId") Long higherPriorityTaskId,
+            @Param("lowerPriorityTaskId") Long lowerPriorityTaskId);
+
+    @Query("SELECT t.id FROM TaskEntity t " +
+            "WHERE t.projectId = :projectId AND t.taskState.id = :taskStateId AND t.deletedAt IS NULL")
+    List<Long> findLiveIdsByProjectIdAndTaskStateId(
+            @Param("projectId") Long projectId,
+            @Param("taskStateId") Long taskStateId);
+
+    @Query("SELECT t.id FROM TaskEntity t " +
+            "WHERE t.projectId = :projectId AND t.taskState.id = :taskStateId AND t.deletedAt IS NOT NULL ORDER BY t.id")
+    List<Long> findDeletedIdsByProjectIdAndTaskStateId(
+            @Param("projectId") Long projectId,
+            @Param("taskStateId") Long taskStateId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE task t SET task_state_id = v.task_state_id, " +
+            "project_id = ts.project_id, user_id = ts.user_id, " +
+            "higher_priority_task_id = v.higher_priority_task_id, " +
+            "lower_priority_task_id = v.lower_priority_task_id " +
+            "FROM unnest(CAST(:ids AS bigint[]), CAST(:taskStateIds AS bigint[]), " +
+            "CAST(:higherPriorityTaskIds AS bigint[]), CAST(:lowerPriorityTaskIds AS bigint[])) " +
+            "AS v(id, task_state_id, higher_priority_task_id, lower_priority_task_id) " +
+            "JOIN task_states ts ON ts.id = v.task_state_id " +
+            "WHERE t.id = v.id AND t.project_id = ts.project_id", nativeQuery = true)
+    int relink(
+            @Param("ids") Long[] ids,
+            @Param("taskStateIds") Long[] taskStateIds,
+            @Param("higherPriorityTaskIds") Long[] higherPriorityTaskIds,
+            @Param("lowerPriorityTaskIds") Long[] lowerPriorityTaskIds);
+
+    /**
+     * Like {@link ProjectRepository#adoptExportedIdsOfImportJob}, for the tasks of the imported task states.
+     */
+    @Modifying
+    @Query(value = "UPDATE task t SET external_id = CAST(t.id AS varchar) " +
+            "FROM task_import_row r " +
+            "JOIN project p ON p.user_id = :userId AND p.external_id = r.external_project_id AND p.deleted_at IS NULL " +
+            "JOIN task_states ts ON ts.project_id = p.id AND ts.external_id = r.external_task_state_id " +
+            "AND ts.deleted_at IS NULL " +
+            "WHERE r.import_job_id = :importJobId AND t.project_id = p.id AND t.task_state_id = ts.id " +
+            "AND CAST(t.id AS varchar) = r.external_task_id AND t.external_id IS NULL AND t.deleted_at IS NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM task o WHERE o.project_id = t.project_id AND o.task_state_id = t.task_state_id " +
+            "AND o.external_id = CAST(t.id AS varchar) AND o.deleted_at IS NULL)", nativeQuery = true)
+    int adoptExportedIdsOfImportJob(
+            @Param("importJobId") Long importJobId,
+            @Param("userId") Long userId);
+
+    /**
+     * Inserts the tasks of an import job that are not imported yet, linking them by position
+     * and appending each new block to the lower end of its task state chain.
+     */
+    @Query(value = "WITH source AS (" +
+            "SELECT DISTINCT ON (ts.id, r.external_task_id) ts.id AS task_state_id, p.id AS project_id, r.external_task_id, " +
+            "r.task_position, r.line_number, r.title, r.description, r.deadline, r.category, r.priority " +
+            "FROM task_import_row r " +
+            "JOIN project p ON p.user_id = :userId AND p.external_id = r.external_project_id AND p.deleted_at IS NULL " +
+            "JOIN task_states ts ON ts.project_id = p.id AND ts.external_id = r.external_task_state_id " +
+            "AND ts.deleted_at IS NULL " +
+            "WHERE r.import_job_id = :importJobId AND r.external_task_id IS NOT NULL " +
+            "ORDER BY ts.id, r.external_task_id, r.line_number" +
+            "), fresh AS (" +
+            "SELECT s.*, nextval('task_entity_seq') AS id FROM source s " +
+            "WHERE NOT EXISTS (SELECT 1 FROM task t " +
+            "WHERE t.project_id = s.project_id AND t.task_state_id = s.task_state_id " +
+            "AND t.external_id = s.external_task_id AND t.deleted_at IS NULL)" +
+            "), ordered AS (" +
+            "SELECT f.*, " +
+            "LAG(f.id) OVER (PARTITION BY f.task_state_id ORDER BY f.task_position, f.line_number) AS higher_id, " +
+            "LEAD(f.id) OVER (PARTITION BY f.task_state_id ORDER BY f.task_position, f.line_number) AS lower_id " +
+            "FROM fresh f" +
+            "), inserted AS (" +
+            "INSERT INTO task (id, title, description, deadline, category, priority, external_id, task_state_id, " +
+            "project_id, user_id, higher_priority_task_id, lower_priority_task_id, created_at, updated_at) " +
+            "SELECT o.id, o.title, COALESCE(o.description, ''), o.deadline, o.category, o.priority, " +
+            "o.external_task_id, o.task_state_id, o.project_id, :userId, COALESCE(o.higher_id, tail.id), o.lower_id, now(), now() " +
+            "FROM ordered o " +
+            "LEFT JOIN task tail ON o.higher_id IS NULL AND tail.project_id = o.project_id " +
+            "AND tail.task_state_id = o.task_state_id AND tail.lower_priority_task_id IS NULL " +
+            "RETURNING id, project_id, task_state_id, higher_priority_task_id" +
+            "), linked AS (" +
+            "UPDATE task t SET lower_priority_task_id = i.id FROM inserted i " +
+            "WHERE t.project_id = i.project_id AND t.id = i.higher_priority_task_id " +
+            "AND t.task_state_id = i.task_state_id AND t.lower_priority_task_id IS NULL " +
+            "RETURNING t.id" +
+            ") SELECT count(*) FROM inserted", nativeQuery = true)
+    long importFromStaging(
+            @Param("importJobId") Long importJobId,
+            @Param("userId") Long userId);
+
+    /**
+     * Clones the live tasks of the given task states of a project onto their clones. Each chain is walked
+     * by a recursive CTE so the clones link to their nearest live neighbours; tasks in the trash stay behind.
+     */
+    @Modifying
+    @Query(value = "WITH RECURSIVE state_mapping AS (" +
+            "SELECT * FROM unnest(CAST(:taskStateIds AS bigint[]), CAST(:targetTaskStateIds AS bigint[])) AS m(old_id, new_id)" +
+            "), task_chain AS (" +
+            "SELECT t.id, t.task_state_id, t.deleted_at, 0 AS position FROM task t " +
+            "JOIN state_mapping sm ON sm.old_id = t.task_state_id " +
+            "WHERE t.project_id = :projectId AND t.higher_priority_task_id IS NULL " +
+            "UNION ALL " +
+            "SELECT t.id, t.task_state_id, t.deleted_at, tc.position + 1 FROM task t " +
+            "JOIN task_chain tc ON t.project_id = :projectId AND t.higher_priority_task_id = tc.id" +
+            "), task_mapping AS (" +
+            "SELECT id AS old_id, task_state_id, nextval('task_entity_seq') AS new_id, position FROM task_chain " +
+            "WHERE deleted_at IS NULL" +
+            "), linked AS (" +
+            "SELECT old_id, new_id, LAG(new_id) OVER w AS higher_id, LEAD(new_id) OVER w AS lower_id " +
+            "FROM task_mapping WINDOW w AS (PARTITION BY task_state_id ORDER BY position)" +
+            ") INSERT INTO task (id, title, description, deadline, category, priority, task_state_id, project_id, user_id, " +
+            "higher_priority_task_id, lower_priority_task_id, created_at, updated_at) " +
+            "SELECT l.new_id, t.title, t.description, t.deadline, t.category, t.priority, sm.new_id, ts.project_id, ts.user_id, " +
+            "l.higher_id, l.lower_id, now(), now() " +
+            "FROM task t " +
+            "JOIN linked l ON l.old_id = t.id " +
+            "JOIN state_mapping sm ON sm.old_id = t.task_state_id " +
+            "JOIN task_states ts ON ts.id = sm.new_id " +
+            "WHERE t.project_id = :projectId", nativeQuery = true)
+    int copyAllToTaskStates(
+            @Param("projectId") Long projectId,
+            @Param("taskStateIds") Long[] taskStateIds,
+            @Param("targetTaskStateIds") Long[] targetTaskStateIds);
+
+    /**
+     * Archiving condition: unchanged for the archive_after_days of its task state,
+     * or for max idle days when that is above zero. Either holds when updated_at is before the later
+     * of the two cutoffs (GREATEST skips the one that is not set), so it stays a single range on updated_at.
+     */
+    String DUE_FOR_ARCHIVE = "t.deleted_at IS NULL AND ts.deleted_at IS NULL " +
+            "AND t.updated_at < GREATEST(CAST(:now AS timestamp) - ts.archive_after_days * INTERVAL '1 day', " +
+            "CASE WHEN :maxIdleDays > 0 THEN CAST(:now AS timestamp) - :maxIdleDays * INTERVAL '1 day' END)";
+
+    List<TaskEntity> findAllByProjectIdAndTaskStateIdIn(Long projectId, Collection<Long> taskState_ids);
+
+    @Query("SELECT DISTINCT t.taskState.id FROM TaskEntity t WHERE t.projectId = :projectId AND t.id IN :ids")
+    List<Long> findTaskStateIdsByProjectIdAndIdIn(@Param("projectId") Long projectId, @Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT t.id FROM task t " +
+            "JOIN task_states ts ON ts.project_id = t.project_id AND ts.id = t.task_state_id " +
+            "WHERE t.project_id = :projectId AND " + DUE_FOR_ARCHIVE + " ORDER BY t.id LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsDueForArchive(
+            @Param("projectId") Long projectId,
+            @Param("now") LocalDateTime now,
+            @Param("maxIdleDays") int maxIdleDays,
+            @Param("limit") int limit);
+
+    /**
+     * Projects with tasks due for archiving. The lookup starts from the task states that archive at all
+     * and probes their idle tasks by updated_at; every task state is only visited when max idle days is set.
+     */
+    @Query(value = "SELECT ts.project_id FROM task_states ts " +
+            "JOIN project p ON p.id = ts.project_id AND p.deleted_at IS NULL " +
+            "WHERE ts.archive_after_days IS NOT NULL AND ts.deleted_at IS NULL AND EXISTS (" +
+            "SELECT 1 FROM task t WHERE t.project_id = ts.project_id AND t.task_state_id = ts.id AND " + DUE_FOR_ARCHIVE +
+            ") UNION " +
+            "SELECT ts.project_id FROM task_states ts " +
+            "JOIN project p ON p.id = ts.project_id AND p.deleted_at IS NULL " +
+            "WHERE :maxIdleDays > 0 AND ts.deleted_at IS NULL AND EXISTS (" +
+            "SELECT 1 FROM task t WHERE t.project_id = ts.project_id AND t.task_state_id = ts.id AND " + DUE_FOR_ARCHIVE +
+            ") LIMIT :limit", nativeQuery = true)
+    List<Long> findProjectIdsDueForArchive(
+            @Param("now") LocalDateTime now,
+            @Param("maxIdleDays") int maxIdleDays,
+            @Param("limit") int limit);
+
+    /**
+     * Tasks of a project due for compaction: deleted, or in a deleted task state, before the cutoff.
+     */
+    @Query("SELECT t.id FROM TaskEntity t WHERE t.projectId = :projectId " +
+            "AND (t.deletedAt < :cutoff OR t.taskState.deletedAt < :cutoff) ORDER BY t.id")
+    List<Long> findIdsDeletedBefore(
+            @Param("projectId") Long projectId,
+            @Param("cutoff") LocalDateTime cutoff,
+            Pageable pageable);
+
+    @Query(value = "SELECT project_id FROM task WHERE deleted_at < :cutoff " +
+            "UNION SELECT project_id FROM task_states WHERE deleted_at < :cutoff LIMIT :limit", nativeQuery = true)
+    List<Long> findProjectIdsDeletedBefore(
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("limit") int limit);
+
+    @Query("SELECT t.id FROM TaskEntity t WHERE t.projectId = :projectId ORDER BY t.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE TaskEntity t SET t.higherPriorityTask = null, t.lowerPriorityTask = null " +
+            "WHERE t.projectId = :projectId AND (t.id IN :ids OR t.higherPriorityTask.id IN :ids OR t.lowerPriorityTask.id IN :ids)")
+    int unlinkAllByProjectIdAndIdIn(@Param("projectId") Long projectId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM TaskEntity t WHERE t.projectId = :projectId AND t.id IN :ids")
+    int deleteAllByProjectIdAndIdIn(@Param("projectId") Long projectId, @Param("ids") Collection<Long> ids);
 }
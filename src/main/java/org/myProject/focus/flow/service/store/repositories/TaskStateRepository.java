@@ -1,18 +1,151 @@
 package org.myProject.focus.flow.service.store.repositories;
 
 import org.myProject.focus.flow.service.store.entities.TaskStateEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
+/**
+ * The task_states table is hash partitioned by project id, like task: project scoped queries filter on it.
+ */
 public interface TaskStateRepository extends JpaRepository<TaskStateEntity, Long> {
 
     Optional<TaskStateEntity> findTaskStateEntityByLeftTaskStateIsNullAndProjectId(Long projectId);
 
     Optional<TaskStateEntity> findTaskStateEntityByRightTaskStateIsNullAndProjectId(Long projectId);
 
-    Optional<TaskStateEntity> findTaskStateEntityByProjectIdAndNameContaining(Long projectId, String taskStateName);
+    Optional<TaskStateEntity> findTaskStateEntityByProjectIdAndNameContainingAndDeletedAtIsNull(Long projectId, String taskStateName);
 
     Optional<TaskStateEntity> findTaskStateEntityByIdAndProjectId(Long id, Long projectId);
+
+    List<TaskStateEntity> findAllByProjectId(Long projectId);
+
+    /**
+     * Like {@link ProjectRepository#adoptExportedIdsOfImportJob}, for the task states of the imported projects.
+     */
+    @Modifying
+    @Query(value = "UPDATE task_states ts SET external_id = CAST(ts.id AS varchar) " +
+            "FROM project p " +
+            "WHERE p.user_id = :userId AND p.deleted_at IS NULL AND ts.project_id = p.id " +
+            "AND ts.external_id IS NULL AND ts.deleted_at IS NULL " +
+            "AND CAST(ts.id AS varchar) IN (SELECT r.external_task_state_id FROM task_import_row r " +
+            "WHERE r.import_job_id = :importJobId AND r.external_project_id = p.external_id) " +
+            "AND NOT EXISTS (SELECT 1 FROM task_states o WHERE o.project_id = ts.project_id " +
+            "AND o.external_id = CAST(ts.id AS varchar) AND o.deleted_at IS NULL)", nativeQuery = true)
+    int adoptExportedIdsOfImportJob(
+            @Param("importJobId") Long importJobId,
+            @Param("userId") Long userId);
+
+    /**
+     * Inserts the task states of an import job that are not imported yet, linking them by position
+     * and appending each new block to the right end of its project chain.
+     */
+    @Query(value = "WITH source AS (" +
+            "SELECT DISTINCT ON (p.id, r.external_task_state_id) p.id AS project_id, r.external_task_state_id, " +
+            "r.task_state_name, r.task_state_position, r.line_number " +
+            "FROM task_import_row r " +
+            "JOIN project p ON p.user_id = :userId AND p.external_id = r.external_project_id AND p.deleted_at IS NULL " +
+            "WHERE r.import_job_id = :importJobId " +
+            "ORDER BY p.id, r.external_task_state_id, r.line_number" +
+            "), fresh AS (" +
+            "SELECT s.*, nextval('task_state_entity_seq') AS id FROM source s " +
+            "WHERE NOT EXISTS (SELECT 1 FROM task_states ts " +
+            "WHERE ts.project_id = s.project_id AND ts.external_id = s.external_task_state_id AND ts.deleted_at IS NULL)" +
+            "), ordered AS (" +
+            "SELECT f.*, " +
+            "LAG(f.id) OVER (PARTITION BY f.project_id ORDER BY f.task_state_position, f.line_number) AS left_id, " +
+            "LEAD(f.id) OVER (PARTITION BY f.project_id ORDER BY f.task_state_position, f.line_number) AS right_id " +
+            "FROM fresh f" +
+            "), inserted AS (" +
+            "INSERT INTO task_states (id, name, type_of_layout, external_id, created_at, project_id, user_id, " +
+            "left_task_state_id, right_task_state_id) " +
+            "SELECT o.id, o.task_state_name, :typeOfLayout, o.external_task_state_id, now(), o.project_id, :userId, " +
+            "COALESCE(o.left_id, tail.id), o.right_id " +
+            "FROM ordered o " +
+            "LEFT JOIN task_states tail ON o.left_id IS NULL " +
+            "AND tail.project_id = o.project_id AND tail.right_task_state_id IS NULL " +
+            "RETURNING id, project_id, left_task_state_id" +
+            "), linked AS (" +
+            "UPDATE task_states ts SET right_task_state_id = i.id FROM inserted i " +
+            "WHERE ts.id = i.left_task_state_id AND ts.project_id = i.project_id AND ts.right_task_state_id IS NULL " +
+            "RETURNING ts.id" +
+            ") SELECT count(*) FROM inserted", nativeQuery = true)
+    long importFromStaging(
+            @Param("importJobId") Long importJobId,
+            @Param("userId") Long userId,
+            @Param("typeOfLayout") Integer typeOfLayout);
+
+    /**
+     * Clones the live task states of a project onto another one and returns (old id, new id) rows in chain order.
+     * The chain is walked by a recursive CTE so the clones can be linked to their nearest live neighbours:
+     * task states in the trash are not cloned, and their undo window does not carry over.
+     */
+    @Query(value = "WITH RECURSIVE state_chain AS (" +
+            "SELECT s.id, s.deleted_at, 0 AS position FROM task_states s " +
+            "WHERE s.project_id = :projectId AND s.left_task_state_id IS NULL " +
+            "UNION ALL " +
+            "SELECT s.id, s.deleted_at, sc.position + 1 FROM task_states s " +
+            "JOIN state_chain sc ON s.project_id = :projectId AND s.left_task_state_id = sc.id" +
+            "), mapping AS (" +
+            "SELECT id AS old_id, nextval('task_state_entity_seq') AS new_id, position FROM state_chain " +
+            "WHERE deleted_at IS NULL" +
+            "), linked AS (" +
+            "SELECT old_id, new_id, LAG(new_id) OVER w AS left_id, LEAD(new_id) OVER w AS right_id " +
+            "FROM mapping WINDOW w AS (ORDER BY position)" +
+            "), inserted AS (" +
+            "INSERT INTO task_states (id, name, type_of_layout, sort_mode, archive_after_days, created_at, project_id, user_id, left_task_state_id, right_task_state_id) " +
+            "SELECT l.new_id, s.name, s.type_of_layout, s.sort_mode, s.archive_after_days, now(), :targetProjectId, p.user_id, l.left_id, l.right_id " +
+            "FROM task_states s " +
+            "JOIN project p ON p.id = :targetProjectId " +
+            "JOIN linked l ON l.old_id = s.id " +
+            "WHERE s.project_id = :projectId " +
+            "RETURNING id" +
+            ") SELECT old_id, new_id FROM mapping ORDER BY position", nativeQuery = true)
+    List<Object[]> copyAllToProject(
+            @Param("projectId") Long projectId,
+            @Param("targetProjectId") Long targetProjectId);
+
+    @Query("SELECT s.id FROM TaskStateEntity s WHERE s.project.id = :projectId ORDER BY s.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    @Query("SELECT s.id FROM TaskStateEntity s WHERE s.project.id = :projectId AND s.deletedAt IS NULL")
+    List<Long> findLiveIdsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT s.id FROM TaskStateEntity s WHERE s.project.id = :projectId AND s.deletedAt IS NOT NULL ORDER BY s.id")
+    List<Long> findDeletedIdsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT s.id FROM TaskStateEntity s WHERE s.project.id = :projectId AND s.deletedAt < :cutoff ORDER BY s.id")
+    List<Long> findIdsDeletedBefore(
+            @Param("projectId") Long projectId,
+            @Param("cutoff") LocalDateTime cutoff,
+            Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE task_states s SET " +
+            "left_task_state_id = v.left_task_state_id, right_task_state_id = v.right_task_state_id " +
+            "FROM unnest(CAST(:ids AS bigint[]), CAST(:leftTaskStateIds AS bigint[]), CAST(:rightTaskStateIds AS bigint[])) " +
+            "AS v(id, left_task_state_id, right_task_state_id) " +
+            "WHERE s.project_id = :projectId AND s.id = v.id", nativeQuery = true)
+    int relink(
+            @Param("projectId") Long projectId,
+            @Param("ids") Long[] ids,
+            @Param("leftTaskStateIds") Long[] leftTaskStateIds,
+            @Param("rightTaskStateIds") Long[] rightTaskStateIds);
+
+    @Modifying
+    @Query("UPDATE TaskStateEntity s SET s.leftTaskState = null, s.rightTaskState = null " +
+            "WHERE s.project.id = :projectId AND (s.id IN :ids OR s.leftTaskState.id IN :ids OR s.rightTaskState.id IN :ids)")
+    int unlinkAllByProjectIdAndIdIn(@Param("projectId") Long projectId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM TaskStateEntity s WHERE s.project.id = :projectId AND s.id IN :ids")
+    int deleteAllByProjectIdAndIdIn(@Param("projectId") Long projectId, @Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,120 @@
+-- task and task_states become hash partitioned by project_id, 16 partitions each, so every tenant's rows,
+-- indexes and vacuum work live in one small partition instead of the shared tables.
+-- A partitioned table only enforces uniqueness on keys containing the partition key, so the primary keys,
+-- the chain constraints and the foreign keys below all carry project_id. Chains never cross projects,
+-- so they keep their meaning. Rows without a project were unreachable and are not carried over.
+-- The tables are rewritten in this transaction: plan a maintenance window on large databases.
+
+CREATE TABLE task_states_partitioned
+(
+    id                  bigint NOT NULL,
+    name                varchar(255),
+    type_of_layout      smallint CHECK (type_of_layout BETWEEN 0 AND 2),
+    external_id         varchar(255),
+    left_task_state_id  bigint,
+    right_task_state_id bigint,
+    created_at          timestamp(6),
+    project_id          bigint NOT NULL,
+    user_id             bigint,
+    sort_mode           smallint NOT NULL DEFAULT 0,
+    CONSTRAINT task_states_partitioned_pkey PRIMARY KEY (id, project_id)
+) PARTITION BY HASH (project_id);
+
+CREATE TABLE task_partitioned
+(
+    id                      bigint NOT NULL,
+    title                   varchar(255),
+    description             varchar(255),
+    deadline                timestamp(6),
+    category                smallint CHECK (category BETWEEN 0 AND 2),
+    priority                smallint CHECK (priority BETWEEN 0 AND 3),
+    external_id             varchar(255),
+    higher_priority_task_id bigint,
+    lower_priority_task_id  bigint,
+    task_state_id           bigint,
+    updated_at              timestamp(6),
+    created_at              timestamp(6),
+    user_id                 bigint,
+    project_id              bigint NOT NULL,
+    CONSTRAINT task_partitioned_pkey PRIMARY KEY (id, project_id)
+) PARTITION BY HASH (project_id);
+
+DO
+$$
+    BEGIN
+        FOR remainder IN 0..15
+            LOOP
+                EXECUTE format('CREATE TABLE task_states_p%s PARTITION OF task_states_partitioned '
+                                   'FOR VALUES WITH (MODULUS 16, REMAINDER %s)', lpad(remainder::text, 2, '0'), remainder);
+                EXECUTE format('CREATE TABLE task_p%s PARTITION OF task_partitioned '
+                                   'FOR VALUES WITH (MODULUS 16, REMAINDER %s)', lpad(remainder::text, 2, '0'), remainder);
+            END LOOP;
+    END
+$$;
+
+INSERT INTO task_states_partitioned (id, name, type_of_layout, external_id, left_task_state_id, right_task_state_id,
+                                     created_at, project_id, user_id, sort_mode)
+SELECT id, name, type_of_layout, external_id, left_task_state_id, right_task_state_id,
+       created_at, project_id, user_id, sort_mode
+FROM task_states
+WHERE project_id IS NOT NULL;
+
+INSERT INTO task_partitioned (id, title, description, deadline, category, priority, external_id,
+                              higher_priority_task_id, lower_priority_task_id, task_state_id,
+                              updated_at, created_at, user_id, project_id)
+SELECT id, title, description, deadline, category, priority, external_id,
+       higher_priority_task_id, lower_priority_task_id, task_state_id,
+       updated_at, created_at, user_id, project_id
+FROM task
+WHERE project_id IS NOT NULL;
+
+DROP TABLE task;
+DROP TABLE task_states;
+
+ALTER TABLE task_states_partitioned RENAME TO task_states;
+ALTER TABLE task_states RENAME CONSTRAINT task_states_partitioned_pkey TO task_states_pkey;
+ALTER TABLE task_partitioned RENAME TO task;
+ALTER TABLE task RENAME CONSTRAINT task_partitioned_pkey TO task_pkey;
+
+ALTER TABLE task_states
+    ADD CONSTRAINT task_states_left_task_state_id_key
+        UNIQUE (left_task_state_id, project_id) DEFERRABLE INITIALLY DEFERRED,
+    ADD CONSTRAINT task_states_right_task_state_id_key
+        UNIQUE (right_task_state_id, project_id) DEFERRABLE INITIALLY DEFERRED,
+    ADD CONSTRAINT task_states_left_task_state_id_fkey
+        FOREIGN KEY (left_task_state_id, project_id) REFERENCES task_states (id, project_id),
+    ADD CONSTRAINT task_states_right_task_state_id_fkey
+        FOREIGN KEY (right_task_state_id, project_id) REFERENCES task_states (id, project_id),
+    ADD CONSTRAINT task_states_project_id_fkey
+        FOREIGN KEY (project_id) REFERENCES project (id);
+
+ALTER TABLE task
+    ADD CONSTRAINT task_higher_priority_task_id_key
+        UNIQUE (higher_priority_task_id, project_id) DEFERRABLE INITIALLY DEFERRED,
+    ADD CONSTRAINT task_lower_priority_task_id_key
+        UNIQUE (lower_priority_task_id, project_id) DEFERRABLE INITIALLY DEFERRED,
+    ADD CONSTRAINT task_higher_priority_task_id_fkey
+        FOREIGN KEY (higher_priority_task_id, project_id) REFERENCES task (id, project_id),
+    ADD CONSTRAINT task_lower_priority_task_id_fkey
+        FOREIGN KEY (lower_priority_task_id, project_id) REFERENCES task (id, project_id),
+    ADD CONSTRAINT task_task_state_id_fkey
+        FOREIGN KEY (task_state_id, project_id) REFERENCES task_states (id, project_id);
+
+-- The indexes of V2, V3 and V9, now created on every partition. Lookups by id alone use the leading
+-- column of the primary key; they cannot be pruned and probe one small index per partition.
+CREATE INDEX task_head_idx ON task (task_state_id) WHERE higher_priority_task_id IS NULL;
+CREATE INDEX task_tail_idx ON task (task_state_id) WHERE lower_priority_task_id IS NULL;
+CREATE INDEX task_task_state_id_idx ON task (task_state_id, id);
+CREATE INDEX task_task_state_id_external_id_idx ON task (task_state_id, external_id) WHERE external_id IS NOT NULL;
+CREATE INDEX task_project_id_idx ON task (project_id, id);
+CREATE INDEX task_user_id_deadline_idx ON task (user_id, deadline);
+CREATE INDEX task_sort_key_idx ON task (task_state_id, priority DESC, deadline ASC NULLS LAST, id);
+
+CREATE INDEX task_states_head_idx ON task_states (project_id) WHERE left_task_state_id IS NULL;
+CREATE INDEX task_states_tail_idx ON task_states (project_id) WHERE right_task_state_id IS NULL;
+CREATE INDEX task_states_project_id_idx ON task_states (project_id, id);
+CREATE INDEX task_states_project_id_external_id_idx ON task_states (project_id, external_id) WHERE external_id IS NOT NULL;
+CREATE INDEX task_states_user_id_idx ON task_states (user_id);
+
+ANALYZE task_states;
+ANALYZE task;
@@ -0,0 +1,39 @@
+-- Cold tier for finished and long idle tasks. Archived tasks leave the task chains and the hot task partitions,
+-- so chain walks and boards only carry active work. Rows are written once and never updated:
+-- the table is packed full (fillfactor 100) and the text columns are stored compressed out of line once large.
+-- Rows are only deleted together with their project.
+CREATE TABLE IF NOT EXISTS archived_task
+(
+    id              bigint       NOT NULL PRIMARY KEY,
+    project_id      bigint       NOT NULL,
+    task_state_id   bigint,
+    task_state_name varchar(255),
+    user_id         bigint,
+    title           varchar(255),
+    description     text,
+    deadline        timestamp(6),
+    category        smallint,
+    priority        smallint,
+    external_id     varchar(255),
+    created_at      timestamp(6),
+    updated_at      timestamp(6),
+    archived_at     timestamp(6) NOT NULL
+) WITH (fillfactor = 100);
+
+CREATE OR REPLACE FUNCTION archived_task_reject_update() RETURNS trigger AS
+$$
+BEGIN
+    RAISE EXCEPTION 'archived_task is append-only';
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER archived_task_append_only
+    BEFORE UPDATE ON archived_task
+    FOR EACH ROW
+EXECUTE FUNCTION archived_task_reject_update();
+
+-- Keyset pagination of a project's archive, newest first.
+CREATE INDEX IF NOT EXISTS archived_task_project_archived_at_idx ON archived_task (project_id, archived_at DESC, id DESC);
+
+-- Tasks of a state are archived once they stayed unchanged for this many days; NULL keeps them on the board.
+ALTER TABLE task_states ADD COLUMN IF NOT EXISTS archive_after_days integer CHECK (archive_after_days >= 0);
@@ -0,0 +1,22 @@
+-- Deleting a task or a task state only stamps deleted_at. The row stays in its chain, so delete and undo
+-- never touch the neighbours; readers walk the chain as before and skip deleted rows.
+-- Rows deleted longer than the undo window ago are unlinked and removed in batches by a background compactor.
+ALTER TABLE task ADD COLUMN IF NOT EXISTS deleted_at timestamp(6);
+ALTER TABLE task_states ADD COLUMN IF NOT EXISTS deleted_at timestamp(6);
+
+-- Indexes serving only live rows skip the deleted ones. The chain indexes (head, tail, task state)
+-- keep them: chain walks and relinks still pass through deleted rows until they are compacted.
+DROP INDEX IF EXISTS task_user_id_deadline_idx;
+CREATE INDEX task_user_id_deadline_idx ON task (user_id, deadline) WHERE deleted_at IS NULL;
+
+DROP INDEX IF EXISTS task_task_state_id_external_id_idx;
+CREATE INDEX task_task_state_id_external_id_idx ON task (task_state_id, external_id)
+    WHERE external_id IS NOT NULL AND deleted_at IS NULL;
+
+DROP INDEX IF EXISTS task_states_project_id_external_id_idx;
+CREATE INDEX task_states_project_id_external_id_idx ON task_states (project_id, external_id)
+    WHERE external_id IS NOT NULL AND deleted_at IS NULL;
+
+-- The compactor's scan: only deleted rows are indexed, so the index stays as small as the backlog.
+CREATE INDEX IF NOT EXISTS task_deleted_at_idx ON task (deleted_at, project_id) WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS task_states_deleted_at_idx ON task_states (deleted_at, project_id) WHERE deleted_at IS NOT NULL;
@@ -0,0 +1,8 @@
+-- The archive worker finds its projects through the task states that archive at all: few of them set
+-- archive_after_days, so the index stays small and the scan never visits the task partitions as a whole.
+CREATE INDEX IF NOT EXISTS task_states_archive_after_days_idx ON task_states (project_id, id)
+    WHERE archive_after_days IS NOT NULL AND deleted_at IS NULL;
+
+-- Idle tasks of one task state are a range scan on updated_at, for the project lookup and the per-project batches.
+CREATE INDEX IF NOT EXISTS task_project_id_task_state_id_updated_at_idx ON task (project_id, task_state_id, updated_at)
+    WHERE deleted_at IS NULL;
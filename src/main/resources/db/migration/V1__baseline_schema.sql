@@ -0,0 +1,111 @@
+-- Schema as previously generated by Hibernate (ddl-auto: update).
+-- Existing databases are baselined at this version and skip this script.
+
+CREATE SEQUENCE IF NOT EXISTS project_entity_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS task_state_entity_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS task_entity_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS project_deletion_job_entity_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS import_job_entity_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE project
+(
+    id          bigint       NOT NULL,
+    name        varchar(255),
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    user_id     bigint,
+    deleted_at  timestamp(6),
+    external_id varchar(255),
+    CONSTRAINT project_pkey PRIMARY KEY (id),
+    CONSTRAINT project_name_key UNIQUE (name)
+);
+
+CREATE TABLE task_states
+(
+    id                   bigint NOT NULL,
+    name                 varchar(255),
+    type_of_layout       smallint CHECK (type_of_layout BETWEEN 0 AND 2),
+    external_id          varchar(255),
+    left_task_state_id   bigint,
+    right_task_state_id  bigint,
+    created_at           timestamp(6),
+    project_id           bigint,
+    CONSTRAINT task_states_pkey PRIMARY KEY (id),
+    CONSTRAINT task_states_left_task_state_id_key UNIQUE (left_task_state_id),
+    CONSTRAINT task_states_right_task_state_id_key UNIQUE (right_task_state_id),
+    CONSTRAINT task_states_left_task_state_id_fkey FOREIGN KEY (left_task_state_id) REFERENCES task_states (id),
+    CONSTRAINT task_states_right_task_state_id_fkey FOREIGN KEY (right_task_state_id) REFERENCES task_states (id),
+    CONSTRAINT task_states_project_id_fkey FOREIGN KEY (project_id) REFERENCES project (id)
+);
+
+CREATE TABLE task
+(
+    id                      bigint NOT NULL,
+    title                   varchar(255),
+    description             varchar(255),
+    deadline                timestamp(6),
+    category                smallint CHECK (category BETWEEN 0 AND 2),
+    priority                smallint CHECK (priority BETWEEN 0 AND 3),
+    external_id             varchar(255),
+    higher_priority_task_id bigint,
+    lower_priority_task_id  bigint,
+    task_state_id           bigint,
+    updated_at              timestamp(6),
+    created_at              timestamp(6),
+    CONSTRAINT task_pkey PRIMARY KEY (id),
+    CONSTRAINT task_higher_priority_task_id_key UNIQUE (higher_priority_task_id),
+    CONSTRAINT task_lower_priority_task_id_key UNIQUE (lower_priority_task_id),
+    CONSTRAINT task_higher_priority_task_id_fkey FOREIGN KEY (higher_priority_task_id) REFERENCES task (id),
+    CONSTRAINT task_lower_priority_task_id_fkey FOREIGN KEY (lower_priority_task_id) REFERENCES task (id),
+    CONSTRAINT task_task_state_id_fkey FOREIGN KEY (task_state_id) REFERENCES task_states (id)
+);
+
+CREATE TABLE project_deletion_job
+(
+    id                  bigint NOT NULL,
+    project_id          bigint,
+    user_id             bigint,
+    status              smallint CHECK (status BETWEEN 0 AND 3),
+    deleted_task_states bigint,
+    deleted_tasks       bigint,
+    error_message       varchar(255),
+    created_at          timestamp(6),
+    updated_at          timestamp(6),
+    finished_at         timestamp(6),
+    CONSTRAINT project_deletion_job_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE import_job
+(
+    id                   bigint NOT NULL,
+    user_id              bigint,
+    status               smallint CHECK (status BETWEEN 0 AND 3),
+    rows_read            bigint,
+    imported_projects    bigint,
+    imported_task_states bigint,
+    imported_tasks       bigint,
+    rows_per_second      float(53),
+    error_message        varchar(255),
+    created_at           timestamp(6),
+    finished_at          timestamp(6),
+    CONSTRAINT import_job_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE task_import_row
+(
+    import_job_id          bigint NOT NULL,
+    line_number            bigint NOT NULL,
+    external_project_id    varchar(255),
+    project_name           varchar(255),
+    external_task_state_id varchar(255),
+    task_state_name        varchar(255),
+    task_state_position    integer,
+    external_task_id       varchar(255),
+    task_position          integer,
+    title                  varchar(255),
+    description            varchar(255),
+    deadline               timestamp(6),
+    category               smallint CHECK (category BETWEEN 0 AND 2),
+    priority               smallint CHECK (priority BETWEEN 0 AND 3),
+    CONSTRAINT task_import_row_pkey PRIMARY KEY (import_job_id, line_number)
+);
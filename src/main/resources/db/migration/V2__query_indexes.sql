@@ -0,0 +1,42 @@
+-- Indexes for the linked-list lookups and per-user listings.
+-- Built concurrently, so Flyway runs this script outside a transaction.
+
+-- Head and tail of the task list of a task state.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS task_head_idx
+    ON task (task_state_id) WHERE higher_priority_task_id IS NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS task_tail_idx
+    ON task (task_state_id) WHERE lower_priority_task_id IS NULL;
+
+-- All tasks of a task state: listing, bulk moves and deletes.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS task_task_state_id_idx
+    ON task (task_state_id, id);
+
+-- Import merge: tasks already imported into a task state.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS task_task_state_id_external_id_idx
+    ON task (task_state_id, external_id) WHERE external_id IS NOT NULL;
+
+-- Leftmost and rightmost task state of a project.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS task_states_head_idx
+    ON task_states (project_id) WHERE left_task_state_id IS NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS task_states_tail_idx
+    ON task_states (project_id) WHERE right_task_state_id IS NULL;
+
+-- All task states of a project: board listing, clone, purge.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS task_states_project_id_idx
+    ON task_states (project_id, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS task_states_project_id_external_id_idx
+    ON task_states (project_id, external_id) WHERE external_id IS NOT NULL;
+
+-- Live projects of a user; tombstoned projects are never listed.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS project_user_id_idx
+    ON project (user_id, id) WHERE deleted_at IS NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS project_user_id_external_id_idx
+    ON project (user_id, external_id) WHERE deleted_at IS NULL AND external_id IS NOT NULL;
+
+-- Deletion jobs still to be picked up by the sweeper (PENDING, RUNNING).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS project_deletion_job_unfinished_idx
+    ON project_deletion_job (id) WHERE status IN (0, 1);
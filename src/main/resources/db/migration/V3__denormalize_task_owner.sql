@@ -0,0 +1,29 @@
+-- Owner and project copied onto task and task_states, so ownership checks and
+-- per-user task listings read a single table.
+
+ALTER TABLE task_states ADD COLUMN IF NOT EXISTS user_id bigint;
+
+ALTER TABLE task ADD COLUMN IF NOT EXISTS user_id bigint;
+ALTER TABLE task ADD COLUMN IF NOT EXISTS project_id bigint;
+
+UPDATE task_states ts
+SET user_id = p.user_id
+FROM project p
+WHERE p.id = ts.project_id;
+
+UPDATE task t
+SET project_id = ts.project_id,
+    user_id    = ts.user_id
+FROM task_states ts
+WHERE ts.id = t.task_state_id;
+
+-- Board listing and purge of a project.
+CREATE INDEX IF NOT EXISTS task_project_id_idx
+    ON task (project_id, id);
+
+-- "My tasks due this week".
+CREATE INDEX IF NOT EXISTS task_user_id_deadline_idx
+    ON task (user_id, deadline);
+
+CREATE INDEX IF NOT EXISTS task_states_user_id_idx
+    ON task_states (user_id);
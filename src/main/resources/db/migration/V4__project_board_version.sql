@@ -0,0 +1,3 @@
+-- Bumped in the same transaction as every change to the task states or tasks of a project;
+-- board reads are shared and cached per (project, board_version).
+ALTER TABLE project ADD COLUMN IF NOT EXISTS board_version bigint NOT NULL DEFAULT 0;
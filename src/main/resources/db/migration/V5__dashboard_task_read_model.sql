@@ -0,0 +1,38 @@
+-- Read model of the "my work" dashboard: one row per live task with the names it is shown with.
+-- Kept up to date in the transactions that change tasks, task states and projects;
+-- can be rebuilt from task, task_states and project at any time.
+
+CREATE TABLE IF NOT EXISTS dashboard_task
+(
+    task_id         bigint       NOT NULL,
+    user_id         bigint       NOT NULL,
+    project_id      bigint       NOT NULL,
+    project_name    varchar(255),
+    task_state_id   bigint       NOT NULL,
+    task_state_name varchar(255),
+    title           varchar(255),
+    deadline        timestamp(6),
+    priority        smallint CHECK (priority BETWEEN 0 AND 3),
+    category        smallint CHECK (category BETWEEN 0 AND 2),
+    created_at      timestamp(6),
+    CONSTRAINT dashboard_task_pkey PRIMARY KEY (task_id)
+);
+
+-- The dashboard itself: one range scan per user, already in display order.
+CREATE INDEX IF NOT EXISTS dashboard_task_user_id_deadline_idx
+    ON dashboard_task (user_id, deadline, priority DESC, task_id);
+
+CREATE INDEX IF NOT EXISTS dashboard_task_project_id_idx
+    ON dashboard_task (project_id);
+
+CREATE INDEX IF NOT EXISTS dashboard_task_task_state_id_idx
+    ON dashboard_task (task_state_id);
+
+INSERT INTO dashboard_task (task_id, user_id, project_id, project_name, task_state_id, task_state_name,
+                            title, deadline, priority, category, created_at)
+SELECT t.id, t.user_id, t.project_id, p.name, ts.id, ts.name, t.title, t.deadline, t.priority, t.category, t.created_at
+FROM task t
+         JOIN task_states ts ON ts.id = t.task_state_id
+         JOIN project p ON p.id = t.project_id
+WHERE p.deleted_at IS NULL
+ON CONFLICT (task_id) DO NOTHING;
@@ -0,0 +1,19 @@
+-- Transactional outbox: domain events written in the transaction of the change they describe
+-- and deleted by the relay once every sink has taken them.
+
+CREATE TABLE IF NOT EXISTS outbox_event
+(
+    id           bigint GENERATED BY DEFAULT AS IDENTITY,
+    shard        integer      NOT NULL,
+    project_id   bigint       NOT NULL,
+    user_id      bigint,
+    type         smallint     NOT NULL,
+    aggregate_id bigint,
+    payload      text,
+    created_at   timestamp(6) NOT NULL,
+    CONSTRAINT outbox_event_pkey PRIMARY KEY (id)
+);
+
+-- Relay batches: oldest events of one shard.
+CREATE INDEX IF NOT EXISTS outbox_event_shard_id_idx
+    ON outbox_event (shard, id);
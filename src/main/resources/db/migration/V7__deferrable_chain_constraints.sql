@@ -0,0 +1,13 @@
+-- Neighbour pointers are rewritten together (one batched flush, or one set-based relink),
+-- so uniqueness is only required once the whole move is applied.
+ALTER TABLE task
+    DROP CONSTRAINT task_higher_priority_task_id_key,
+    DROP CONSTRAINT task_lower_priority_task_id_key,
+    ADD CONSTRAINT task_higher_priority_task_id_key UNIQUE (higher_priority_task_id) DEFERRABLE INITIALLY DEFERRED,
+    ADD CONSTRAINT task_lower_priority_task_id_key UNIQUE (lower_priority_task_id) DEFERRABLE INITIALLY DEFERRED;
+
+ALTER TABLE task_states
+    DROP CONSTRAINT task_states_left_task_state_id_key,
+    DROP CONSTRAINT task_states_right_task_state_id_key,
+    ADD CONSTRAINT task_states_left_task_state_id_key UNIQUE (left_task_state_id) DEFERRABLE INITIALLY DEFERRED,
+    ADD CONSTRAINT task_states_right_task_state_id_key UNIQUE (right_task_state_id) DEFERRABLE INITIALLY DEFERRED;
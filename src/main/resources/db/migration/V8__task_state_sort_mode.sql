@@ -0,0 +1,3 @@
+-- How the tasks of a task state are ordered: 0 = MANUAL (user defined chain), 1 = PRIORITY_DEADLINE.
+-- Auto-sorted states still keep their chain, in sort key order, so chain walks stay valid for every state.
+ALTER TABLE task_states ADD COLUMN IF NOT EXISTS sort_mode smallint NOT NULL DEFAULT 0;
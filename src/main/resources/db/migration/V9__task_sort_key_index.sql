@@ -0,0 +1,5 @@
+-- Sort keys of auto-sorted task states: priority (CRITICAL first), then deadline, then id.
+-- Serves the ordered listing and the insert position lookup with one index seek.
+-- Built concurrently, so Flyway runs this script outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS task_sort_key_idx
+    ON task (task_state_id, priority DESC, deadline ASC NULLS LAST, id);
@@ -0,0 +1,120 @@
+package org.myProject.focus.flow.service.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.myProject.focus.flow.service.api.metrics.RequestMetricsInterceptor;
+import org.myProject.focus.flow.service.api.ratelimit.RateLimitInterceptor;
+import org.myProject.focus.flow.service.api.ratelimit.TokenBucketRateLimiter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * A streamed response passes the interceptors twice: on the request dispatch and on the async dispatch
+ * that completes it. Only the first one may charge the rate limit and start the request metrics.
+ */
+class AsyncDispatchInterceptorTest {
+
+    private static final String STREAM = "/api/stream";
+
+    private final TokenBucketRateLimiter tokenBucketRateLimiter = mock(TokenBucketRateLimiter.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MockMvc mockMvc;
+
+    @RestController
+    static class StreamingController {
+
+        @GetMapping(STREAM)
+        ResponseEntity<StreamingResponseBody> stream() {
+            return ResponseEntity.ok(outputStream -> outputStream.write("streamed".getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+
+        RateLimitInterceptor rateLimitInterceptor =
+                new RateLimitInterceptor(tokenBucketRateLimiter, new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(rateLimitInterceptor, "enabled", true);
+
+        RequestMetricsInterceptor requestMetricsInterceptor = new RequestMetricsInterceptor(meterRegistry);
+        ReflectionTestUtils.setField(requestMetricsInterceptor, "queryBudget", 50L);
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new StreamingController())
+                .addInterceptors(rateLimitInterceptor, requestMetricsInterceptor)
+                .build();
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("7", null, "ROLE_USER"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MvcResult startStream() throws Exception {
+
+        return mockMvc
+                .perform(get(STREAM).header(RequestMetricsInterceptor.REQUEST_ID_HEADER, "request-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    @Test
+    void testAsyncDispatch_IsNotChargedAgain() throws Exception {
+
+        // A second charge would find the bucket empty and write a 429 over the streamed body.
+        when(tokenBucketRateLimiter.tryAcquire(anyString(), anyInt())).thenReturn(0L, TimeUnit.SECONDS.toNanos(5));
+
+        MvcResult result = startStream();
+
+        mockMvc
+                .perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("streamed"));
+
+        verify(tokenBucketRateLimiter, times(1)).tryAcquire("7", 1);
+        assertEquals(0, meterRegistry.find("http.server.requests.throttled").counters().size());
+    }
+
+    @Test
+    void testAsyncDispatch_RecordsRequestOnceWithItsRequestId() throws Exception {
+
+        when(tokenBucketRateLimiter.tryAcquire(anyString(), anyInt())).thenReturn(0L);
+
+        MvcResult result = startStream();
+
+        assertEquals(1, meterRegistry.get("http.server.requests.statements").summary().count());
+
+        mockMvc
+                .perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(RequestMetricsInterceptor.REQUEST_ID_HEADER, "request-1"));
+
+        assertEquals(1, meterRegistry.get("http.server.requests.statements").summary().count());
+    }
+}
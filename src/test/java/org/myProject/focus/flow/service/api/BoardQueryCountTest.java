@@ -0,0 +1,203 @@
+package org.myProject.focus.flow.service.api;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.myProject.focus.flow.service.api.controllers.TaskController;
+import org.myProject.focus.flow.service.api.controllers.TaskStateController;
+import org.myProject.focus.flow.service.api.controllers.helpers.TaskHelper;
+import org.myProject.focus.flow.service.api.dto.TaskDto;
+import org.myProject.focus.flow.service.api.dto.TaskStateDto;
+import org.myProject.focus.flow.service.api.exceptions.CustomAppException;
+import org.myProject.focus.flow.service.store.entities.TaskEntity;
+import org.myProject.focus.flow.service.support.QueryCountAssertions;
+import org.myProject.focus.flow.service.support.QueryCountConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Import(QueryCountConfig.class)
+class BoardQueryCountTest {
+
+    private static final long USER_ID = 42L;
+    private static final long PROJECT_ID = 1_000_000L;
+    private static final long FIRST_TASK_STATE_ID = 1_000_000L;
+    private static final long FIRST_TASK_ID = 1_000_000L;
+
+    private static final int TASK_STATES = 20;
+    private static final int TASKS_PER_STATE = 200;
+
+    private static final long BOARD_QUERY_BUDGET = 5;
+    private static final long TASK_STATE_QUERY_BUDGET = 5;
+    private static final long TASK_LOOKUP_QUERY_BUDGET = 1;
+
+    @Autowired
+    private TaskStateController taskStateController;
+
+    @Autowired
+    private TaskController taskController;
+
+    @Autowired
+    private TaskHelper taskHelper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seedBoard() {
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.update(
+                "INSERT INTO project (id, name, user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                PROJECT_ID, "query-count-board", USER_ID, now, now);
+
+        List<Object[]> taskStates = new ArrayList<>();
+        List<Object[]> taskStateLinks = new ArrayList<>();
+        List<Object[]> tasks = new ArrayList<>();
+        List<Object[]> taskLinks = new ArrayList<>();
+
+        for (int state = 0; state < TASK_STATES; state++) {
+
+            long taskStateId = FIRST_TASK_STATE_ID + state;
+
+            taskStates.add(new Object[]{taskStateId, "state-" + state, 1, now, PROJECT_ID, USER_ID});
+            taskStateLinks.add(new Object[]{
+                    state == 0 ? null : taskStateId - 1,
+                    state == TASK_STATES - 1 ? null : taskStateId + 1,
+                    taskStateId
+            });
+
+            for (int position = 0; position < TASKS_PER_STATE; position++) {
+
+                long taskId = FIRST_TASK_ID + (long) state * TASKS_PER_STATE + position;
+
+                tasks.add(new Object[]{taskId, "task-" + position, "", now, 0, 1, taskStateId, PROJECT_ID, USER_ID, now, now});
+                taskLinks.add(new Object[]{
+                        position == 0 ? null : taskId - 1,
+                        position == TASKS_PER_STATE - 1 ? null : taskId + 1,
+                        taskId
+                });
+            }
+        }
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO task_states (id, name, type_of_layout, created_at, project_id, user_id) VALUES (?, ?, ?, ?, ?, ?)",
+                taskStates);
+        jdbcTemplate.batchUpdate(
+                "UPDATE task_states SET left_task_state_id = ?, right_task_state_id = ? WHERE id = ?",
+                taskStateLinks);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO task (id, title, description, deadline, category, priority, task_state_id, project_id, user_id, " +
+                        "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                tasks);
+        jdbcTemplate.batchUpdate(
+                "UPDATE task SET higher_priority_task_id = ?, lower_priority_task_id = ? WHERE id = ?",
+                taskLinks);
+    }
+
+    @AfterEach
+    void dropBoard() {
+        jdbcTemplate.update(
+                "UPDATE task SET higher_priority_task_id = NULL, lower_priority_task_id = NULL WHERE id >= ?",
+                FIRST_TASK_ID);
+        jdbcTemplate.update("DELETE FROM task WHERE id >= ?", FIRST_TASK_ID);
+        jdbcTemplate.update(
+                "UPDATE task_states SET left_task_state_id = NULL, right_task_state_id = NULL WHERE id >= ?",
+                FIRST_TASK_STATE_ID);
+        jdbcTemplate.update("DELETE FROM task_states WHERE id >= ?", FIRST_TASK_STATE_ID);
+        jdbcTemplate.update("DELETE FROM project WHERE id = ?", PROJECT_ID);
+    }
+
+    @Test
+    void listingBoardIssuesConstantNumberOfQueries() throws IOException {
+
+        QueryCountAssertions.reset();
+
+        byte[] json = taskStateController.getTasks(PROJECT_ID, jwt()).getBody();
+
+        QueryCountAssertions.assertSelectCountAtMost(BOARD_QUERY_BUDGET);
+
+        List<TaskStateDto> board = objectMapper.readValue(json, new TypeReference<>() {});
+
+        assertEquals(TASK_STATES, board.size());
+        assertEquals(FIRST_TASK_STATE_ID, board.get(0).getId());
+        board.forEach(taskState -> assertEquals(TASKS_PER_STATE, taskState.getTasks().size()));
+        assertEquals(FIRST_TASK_ID, board.get(0).getTasks().get(0).getId());
+    }
+
+    @Test
+    void listingTasksOfTaskStateIssuesConstantNumberOfQueries() {
+
+        QueryCountAssertions.reset();
+
+        List<TaskDto> tasks = taskController.getTasks(FIRST_TASK_STATE_ID, jwt());
+
+        QueryCountAssertions.assertSelectCountAtMost(TASK_STATE_QUERY_BUDGET);
+
+        assertEquals(TASKS_PER_STATE, tasks.size());
+        assertEquals(FIRST_TASK_ID + TASKS_PER_STATE - 1, tasks.get(TASKS_PER_STATE - 1).getId());
+    }
+
+    @Test
+    void lookingUpTasksChecksLivenessInOneQuery() {
+
+        QueryCountAssertions.reset();
+
+        TaskEntity task = taskHelper.getTaskOrThrowException(FIRST_TASK_ID, USER_ID);
+
+        QueryCountAssertions.assertSelectCountAtMost(TASK_LOOKUP_QUERY_BUDGET);
+
+        assertEquals(FIRST_TASK_ID, task.getId());
+
+        QueryCountAssertions.reset();
+
+        List<TaskEntity> tasks = taskHelper.getTasksOrThrowException(
+                List.of(FIRST_TASK_ID + 2, FIRST_TASK_ID, FIRST_TASK_ID + TASKS_PER_STATE), USER_ID);
+
+        QueryCountAssertions.assertSelectCountAtMost(TASK_LOOKUP_QUERY_BUDGET);
+
+        assertEquals(
+                List.of(FIRST_TASK_ID + 2, FIRST_TASK_ID, FIRST_TASK_ID + TASKS_PER_STATE),
+                tasks.stream().map(TaskEntity::getId).toList());
+    }
+
+    @Test
+    void lookingUpTaskOfTrashedTaskStateFails() {
+
+        jdbcTemplate.update("UPDATE task_states SET deleted_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now()), FIRST_TASK_STATE_ID);
+
+        CustomAppException exception = assertThrows(CustomAppException.class,
+                () -> taskHelper.getTaskOrThrowException(FIRST_TASK_ID, USER_ID));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
+        assertThrows(CustomAppException.class,
+                () -> taskHelper.getTasksOrThrowException(List.of(FIRST_TASK_ID + TASKS_PER_STATE, FIRST_TASK_ID), USER_ID));
+    }
+
+    private static Jwt jwt() {
+        return Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject(String.valueOf(USER_ID))
+                .build();
+    }
+}
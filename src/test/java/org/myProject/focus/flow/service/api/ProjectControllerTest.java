@@ -1,12 +1,223 @@
 package org.myProject.focus.flow.service.api;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.util.Assert;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.myProject.focus.flow.service.api.controllers.ProjectController;
+import org.myProject.focus.flow.service.api.controllers.helpers.DashboardHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.OutboxHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.ProjectHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.TaskHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.TaskStateHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.ValidateRequestsHelper;
+import org.myProject.focus.flow.service.api.dto.ProjectDeletionJobDto;
+import org.myProject.focus.flow.service.api.dto.ProjectDto;
+import org.myProject.focus.flow.service.api.exceptions.CustomAppException;
+import org.myProject.focus.flow.service.api.factories.ProjectDeletionJobDtoFactory;
+import org.myProject.focus.flow.service.api.factories.ProjectDtoFactory;
+import org.myProject.focus.flow.service.api.workers.ProjectDeletionWorker;
+import org.myProject.focus.flow.service.store.entities.ProjectDeletionJobEntity;
+import org.myProject.focus.flow.service.store.entities.ProjectEntity;
+import org.myProject.focus.flow.service.store.entities.enums.JobStatus;
+import org.myProject.focus.flow.service.store.entities.enums.OutboxEventType;
+import org.myProject.focus.flow.service.store.repositories.ProjectDeletionJobRepository;
+import org.myProject.focus.flow.service.store.repositories.ProjectRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
 
 class ProjectControllerTest {
+
+    private static final Long USER_ID = 1L;
+
+    private static final Long PROJECT_ID = 7L;
+
+    private static final Long JOB_ID = 5L;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private ProjectDtoFactory projectDtoFactory;
+
+    @Mock
+    private ProjectHelper projectHelper;
+
+    @Mock
+    private ProjectDeletionJobRepository projectDeletionJobRepository;
+
+    @Mock
+    private ProjectDeletionWorker projectDeletionWorker;
+
+    @Mock
+    private TaskStateHelper taskStateHelper;
+
+    @Mock
+    private TaskHelper taskHelper;
+
+    @Mock
+    private DashboardHelper dashboardHelper;
+
+    @Mock
+    private OutboxHelper outboxHelper;
+
+    private final ProjectEntity project = ProjectEntity.builder().id(PROJECT_ID).userId(USER_ID).build();
+
+    private ProjectController projectController;
+
+    @BeforeEach
+    void setUp() {
+
+        MockitoAnnotations.openMocks(this);
+
+        projectController = new ProjectController(
+                projectRepository,
+                projectDtoFactory,
+                projectHelper,
+                projectDeletionJobRepository,
+                new ProjectDeletionJobDtoFactory(),
+                projectDeletionWorker,
+                new ValidateRequestsHelper(),
+                taskStateHelper,
+                taskHelper,
+                dashboardHelper,
+                outboxHelper);
+
+        when(projectHelper.getProjectOrThrowException(PROJECT_ID, USER_ID)).thenReturn(project);
+        when(projectDeletionJobRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            ProjectDeletionJobEntity job = invocation.getArgument(0);
+            job.setId(JOB_ID);
+            return job;
+        });
+    }
+
+    private static Jwt jwt(Long userId) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject(String.valueOf(userId))
+                .build();
+    }
+
+    @Test
+    void testGetProject_ReturnsProjectDto() {
+
+        ProjectDto projectDto = ProjectDto.builder()
+                .id(PROJECT_ID)
+                .userId(USER_ID)
+                .name("board")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        when(projectDtoFactory.makeProjectDto(project)).thenReturn(projectDto);
+
+        assertSame(projectDto, projectController.getProject(PROJECT_ID, jwt(USER_ID)));
+    }
+
     @Test
-    void getProject() {
+    void testDeleteProject_TombstonesProjectBeforeSchedulingPurge() {
+
+        ProjectDeletionJobDto jobDto = projectController.deleteProject(PROJECT_ID, jwt(USER_ID));
+
+        assertNotNull(project.getDeletedAt());
+
+        InOrder inOrder = inOrder(projectRepository, dashboardHelper, outboxHelper, projectDeletionJobRepository, projectDeletionWorker);
+        inOrder.verify(projectRepository).saveAndFlush(project);
+        inOrder.verify(dashboardHelper).removeProject(PROJECT_ID);
+        inOrder.verify(outboxHelper).publish(OutboxEventType.PROJECT_DELETED, PROJECT_ID, USER_ID, PROJECT_ID);
+        inOrder.verify(projectDeletionJobRepository).saveAndFlush(any());
+        inOrder.verify(projectDeletionWorker).submitAfterCommit(JOB_ID);
+
+        ArgumentCaptor<ProjectDeletionJobEntity> job = ArgumentCaptor.forClass(ProjectDeletionJobEntity.class);
+        verify(projectDeletionJobRepository).saveAndFlush(job.capture());
+        assertEquals(PROJECT_ID, job.getValue().getProjectId());
+        assertEquals(USER_ID, job.getValue().getUserId());
+
+        assertEquals(JOB_ID, jobDto.getId());
+        assertEquals(JobStatus.PENDING, jobDto.getStatus());
+        assertEquals(0L, jobDto.getDeletedTasks());
+
+        // Task rows are not touched on the request thread.
+        verifyNoInteractions(taskHelper, taskStateHelper);
+    }
+
+    @Test
+    void testDeleteProject_RespondsAccepted() throws NoSuchMethodException {
+
+        ResponseStatus responseStatus = ProjectController.class
+                .getMethod("deleteProject", Long.class, Jwt.class)
+                .getAnnotation(ResponseStatus.class);
+
+        assertEquals(HttpStatus.ACCEPTED, responseStatus.value());
+    }
+
+    @Test
+    void testDeleteProject_UnknownProjectSchedulesNothing() {
+
+        when(projectHelper.getProjectOrThrowException(PROJECT_ID, USER_ID))
+                .thenThrow(new CustomAppException(HttpStatus.NOT_FOUND, "Project with id (7) doesn't exist"));
+
+        CustomAppException exception = assertThrows(CustomAppException.class,
+                () -> projectController.deleteProject(PROJECT_ID, jwt(USER_ID)));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        verifyNoInteractions(projectRepository, dashboardHelper, outboxHelper, projectDeletionJobRepository, projectDeletionWorker);
+    }
+
+    @Test
+    void testGetProjectDeletionJob_ReturnsProgress() {
+
+        ProjectDeletionJobEntity job = ProjectDeletionJobEntity.builder()
+                .id(JOB_ID)
+                .projectId(PROJECT_ID)
+                .userId(USER_ID)
+                .status(JobStatus.RUNNING)
+                .deletedTaskStates(2L)
+                .deletedTasks(40L)
+                .build();
+        when(projectDeletionJobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+
+        ProjectDeletionJobDto jobDto = projectController.getProjectDeletionJob(JOB_ID, jwt(USER_ID));
+
+        assertEquals(JobStatus.RUNNING, jobDto.getStatus());
+        assertEquals(2L, jobDto.getDeletedTaskStates());
+        assertEquals(40L, jobDto.getDeletedTasks());
+    }
+
+    @Test
+    void testGetProjectDeletionJob_MissingJobIsNotFound() {
+
+        when(projectDeletionJobRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        CustomAppException exception = assertThrows(CustomAppException.class,
+                () -> projectController.getProjectDeletionJob(JOB_ID, jwt(USER_ID)));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    void testGetProjectDeletionJob_OtherUserIsForbidden() {
+
+        ProjectDeletionJobEntity job = ProjectDeletionJobEntity.builder()
+                .id(JOB_ID)
+                .projectId(PROJECT_ID)
+                .userId(USER_ID)
+                .build();
+        when(projectDeletionJobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+
+        CustomAppException exception = assertThrows(CustomAppException.class,
+                () -> projectController.getProjectDeletionJob(JOB_ID, jwt(2L)));
+
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,167 @@
+package org.myProject.focus.flow.service.api;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.myProject.focus.flow.service.api.controllers.TaskStateController;
+import org.myProject.focus.flow.service.api.controllers.helpers.DashboardHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.TaskHelper;
+import org.myProject.focus.flow.service.api.dto.TaskDto;
+import org.myProject.focus.flow.service.api.dto.TaskStateDto;
+import org.myProject.focus.flow.service.store.entities.enums.Layouts;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+import org.myProject.focus.flow.service.store.entities.enums.TaskSortMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Switching the sort mode resorts the chain with a statement that clears the persistence context,
+ * so the returned task state must not be built from the entities loaded before it.
+ */
+@SpringBootTest
+class TaskStateSortModeTest {
+
+    private static final long USER_ID = 43L;
+    private static final long PROJECT_ID = 2_000_000L;
+    private static final long LEFT_TASK_STATE_ID = 2_000_000L;
+    private static final long MIDDLE_TASK_STATE_ID = 2_000_001L;
+    private static final long RIGHT_TASK_STATE_ID = 2_000_002L;
+    private static final long FIRST_TASK_ID = 2_000_000L;
+
+    @Autowired
+    private TaskStateController taskStateController;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // The dashboard upserts use ON CONFLICT, which H2 does not support.
+    @MockitoBean
+    private DashboardHelper dashboardHelper;
+
+    @MockitoSpyBean
+    private TaskHelper taskHelper;
+
+    @BeforeEach
+    void seedBoard() {
+
+        // H2 has no UPDATE ... FROM: relink with plain updates instead, then flush and clear the
+        // persistence context the way the @Modifying resort statement does.
+        doAnswer(invocation -> {
+            entityManager.flush();
+            resortMiddleTaskState();
+            entityManager.clear();
+            return null;
+        }).when(taskHelper).resortTasks(any());
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.update(
+                "INSERT INTO project (id, name, user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                PROJECT_ID, "sort-mode-board", USER_ID, now, now);
+
+        for (long taskStateId = LEFT_TASK_STATE_ID; taskStateId <= RIGHT_TASK_STATE_ID; taskStateId++) {
+            jdbcTemplate.update(
+                    "INSERT INTO task_states (id, name, type_of_layout, sort_mode, created_at, project_id, user_id) " +
+                            "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    taskStateId, "state-" + taskStateId, Layouts.BOARD.ordinal(), TaskSortMode.MANUAL.ordinal(),
+                    now, PROJECT_ID, USER_ID);
+        }
+
+        jdbcTemplate.update("UPDATE task_states SET right_task_state_id = ? WHERE id = ?", MIDDLE_TASK_STATE_ID, LEFT_TASK_STATE_ID);
+        jdbcTemplate.update("UPDATE task_states SET left_task_state_id = ?, right_task_state_id = ? WHERE id = ?",
+                LEFT_TASK_STATE_ID, RIGHT_TASK_STATE_ID, MIDDLE_TASK_STATE_ID);
+        jdbcTemplate.update("UPDATE task_states SET left_task_state_id = ? WHERE id = ?", MIDDLE_TASK_STATE_ID, RIGHT_TASK_STATE_ID);
+
+        // Manual order LOW, CRITICAL, MEDIUM; the priority sort turns it into CRITICAL, MEDIUM, LOW.
+        List<Priority> priorities = List.of(Priority.LOW, Priority.CRITICAL, Priority.MEDIUM);
+
+        for (int position = 0; position < priorities.size(); position++) {
+            jdbcTemplate.update(
+                    "INSERT INTO task (id, title, description, deadline, category, priority, task_state_id, project_id, user_id, " +
+                            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    FIRST_TASK_ID + position, "task-" + position, "", now, 0, priorities.get(position).ordinal(),
+                    MIDDLE_TASK_STATE_ID, PROJECT_ID, USER_ID, now, now);
+        }
+
+        jdbcTemplate.update("UPDATE task SET lower_priority_task_id = ? WHERE id = ?", FIRST_TASK_ID + 1, FIRST_TASK_ID);
+        jdbcTemplate.update("UPDATE task SET higher_priority_task_id = ?, lower_priority_task_id = ? WHERE id = ?",
+                FIRST_TASK_ID, FIRST_TASK_ID + 2, FIRST_TASK_ID + 1);
+        jdbcTemplate.update("UPDATE task SET higher_priority_task_id = ? WHERE id = ?", FIRST_TASK_ID + 1, FIRST_TASK_ID + 2);
+    }
+
+    @AfterEach
+    void dropBoard() {
+        jdbcTemplate.update(
+                "UPDATE task SET higher_priority_task_id = NULL, lower_priority_task_id = NULL WHERE project_id = ?",
+                PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM task WHERE project_id = ?", PROJECT_ID);
+        jdbcTemplate.update(
+                "UPDATE task_states SET left_task_state_id = NULL, right_task_state_id = NULL WHERE project_id = ?",
+                PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM task_states WHERE project_id = ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM outbox_event WHERE project_id = ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM project WHERE id = ?", PROJECT_ID);
+    }
+
+    @Test
+    void switchingMiddleColumnToAutoSortReturnsResortedTaskState() {
+
+        TaskStateDto taskState = taskStateController.updateTaskState(
+                MIDDLE_TASK_STATE_ID, "state-" + MIDDLE_TASK_STATE_ID, Layouts.BOARD,
+                Optional.of(TaskSortMode.PRIORITY_DEADLINE), Optional.empty(), jwt());
+
+        assertEquals(TaskSortMode.PRIORITY_DEADLINE, taskState.getSortMode());
+        assertEquals(LEFT_TASK_STATE_ID, taskState.getLeftTaskStateId());
+        assertEquals(RIGHT_TASK_STATE_ID, taskState.getRightTaskStateId());
+        assertEquals(
+                List.of(FIRST_TASK_ID + 1, FIRST_TASK_ID + 2, FIRST_TASK_ID),
+                taskState.getTasks().stream().map(TaskDto::getId).toList());
+        assertEquals(FIRST_TASK_ID + 2, lowerPriorityTaskIdOf(FIRST_TASK_ID + 1));
+        assertEquals(FIRST_TASK_ID, lowerPriorityTaskIdOf(FIRST_TASK_ID + 2));
+    }
+
+    private void resortMiddleTaskState() {
+
+        List<Long> sortedIds = jdbcTemplate.queryForList(
+                "SELECT id FROM task WHERE task_state_id = ? ORDER BY priority DESC, deadline ASC NULLS LAST, id",
+                Long.class, MIDDLE_TASK_STATE_ID);
+
+        jdbcTemplate.update(
+                "UPDATE task SET higher_priority_task_id = NULL, lower_priority_task_id = NULL WHERE task_state_id = ?",
+                MIDDLE_TASK_STATE_ID);
+
+        for (int i = 1; i < sortedIds.size(); i++) {
+            jdbcTemplate.update("UPDATE task SET lower_priority_task_id = ? WHERE id = ?", sortedIds.get(i), sortedIds.get(i - 1));
+            jdbcTemplate.update("UPDATE task SET higher_priority_task_id = ? WHERE id = ?", sortedIds.get(i - 1), sortedIds.get(i));
+        }
+    }
+
+    private Long lowerPriorityTaskIdOf(long taskId) {
+        return jdbcTemplate.queryForObject("SELECT lower_priority_task_id FROM task WHERE id = ?", Long.class, taskId);
+    }
+
+    private static Jwt jwt() {
+        return Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject(String.valueOf(USER_ID))
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package org.myProject.focus.flow.service.api.factories;
+
+import org.junit.jupiter.api.Test;
+import org.myProject.focus.flow.service.api.dto.BoardAggregatesDto;
+import org.myProject.focus.flow.service.api.dto.TaskAggregatesDto;
+import org.myProject.focus.flow.service.store.entities.TaskStateEntity;
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+import org.myProject.focus.flow.service.store.projections.TaskCountProjection;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardAggregatesDtoFactoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    private final BoardAggregatesDtoFactory boardAggregatesDtoFactory = new BoardAggregatesDtoFactory();
+
+    private record TaskCount(Long taskStateId, Priority priority, Category category, Long taskCount, Long overdueCount)
+            implements TaskCountProjection {
+
+        public Long getTaskStateId() { return taskStateId; }
+
+        public Priority getPriority() { return priority; }
+
+        public Category getCategory() { return category; }
+
+        public Long getTaskCount() { return taskCount; }
+
+        public Long getOverdueCount() { return overdueCount; }
+    }
+
+    private static TaskStateEntity taskState(Long id) {
+        return TaskStateEntity.builder().id(id).build();
+    }
+
+    @Test
+    void testMakeBoardAggregatesDto_SumsGroupsPerTaskStateAndProject() {
+
+        BoardAggregatesDto aggregates = boardAggregatesDtoFactory.makeBoardAggregatesDto(
+                1L,
+                NOW,
+                List.of(taskState(20L), taskState(10L)),
+                List.of(
+                        new TaskCount(10L, Priority.CRITICAL, Category.WORK, 3L, 1L),
+                        new TaskCount(10L, Priority.LOW, Category.PERSONAL, 2L, 0L),
+                        new TaskCount(20L, Priority.CRITICAL, Category.PERSONAL, 4L, 4L)
+                ));
+
+        TaskAggregatesDto project = aggregates.getProject();
+
+        assertNull(project.getTaskStateId());
+        assertEquals(9, project.getTotal());
+        assertEquals(5, project.getOverdue());
+        assertEquals(7L, project.getByPriority().get(Priority.CRITICAL));
+        assertEquals(0L, project.getByPriority().get(Priority.MEDIUM));
+        assertEquals(6L, project.getByCategory().get(Category.PERSONAL));
+
+        assertEquals(List.of(20L, 10L), aggregates.getTaskStates().stream().map(TaskAggregatesDto::getTaskStateId).toList());
+
+        TaskAggregatesDto second = aggregates.getTaskStates().get(1);
+
+        assertEquals(5, second.getTotal());
+        assertEquals(1, second.getOverdue());
+        assertEquals(3L, second.getByCategory().get(Category.WORK));
+        assertEquals(2L, second.getByPriority().get(Priority.LOW));
+    }
+
+    @Test
+    void testMakeBoardAggregatesDto_LeavesTrashedTaskStatesOutOfTotals() {
+
+        // Task state 30 is in the trash: it is not among the sorted task states.
+        BoardAggregatesDto aggregates = boardAggregatesDtoFactory.makeBoardAggregatesDto(
+                1L,
+                NOW,
+                List.of(taskState(10L)),
+                List.of(
+                        new TaskCount(10L, Priority.HIGH, Category.WORK, 2L, 1L),
+                        new TaskCount(30L, Priority.HIGH, Category.WORK, 5L, 5L)
+                ));
+
+        TaskAggregatesDto project = aggregates.getProject();
+
+        assertEquals(2, project.getTotal());
+        assertEquals(1, project.getOverdue());
+        assertEquals(2L, project.getByPriority().get(Priority.HIGH));
+        assertEquals(List.of(10L), aggregates.getTaskStates().stream().map(TaskAggregatesDto::getTaskStateId).toList());
+    }
+
+    @Test
+    void testMakeBoardAggregatesDto_ListsEmptyTaskStatesWithZeros() {
+
+        BoardAggregatesDto aggregates = boardAggregatesDtoFactory.makeBoardAggregatesDto(
+                1L, NOW, List.of(taskState(10L)), List.of());
+
+        TaskAggregatesDto taskState = aggregates.getTaskStates().get(0);
+
+        assertEquals(0, taskState.getTotal());
+        assertEquals(Priority.values().length, taskState.getByPriority().size());
+        assertTrue(taskState.getByCategory().values().stream().allMatch(count -> count == 0L));
+    }
+}
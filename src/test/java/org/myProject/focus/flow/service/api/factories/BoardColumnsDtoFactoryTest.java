@@ -0,0 +1,146 @@
+package org.myProject.focus.flow.service.api.factories;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.myProject.focus.flow.service.api.dto.BoardColumnsDto;
+import org.myProject.focus.flow.service.api.dto.TaskStateDto;
+import org.myProject.focus.flow.service.store.entities.TaskEntity;
+import org.myProject.focus.flow.service.store.entities.TaskStateEntity;
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.Layouts;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardColumnsDtoFactoryTest {
+
+    private static final int TASK_STATES = 20;
+    private static final int TASKS_PER_STATE = 200;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    private final BoardColumnsDtoFactory boardColumnsDtoFactory = new BoardColumnsDtoFactory();
+
+    private final TaskStateDtoFactory taskStateDtoFactory = new TaskStateDtoFactory(new TaskDtoFactory(), null);
+
+    @Test
+    void testMakeBoardColumnsDto_KeepsBoardOrder() {
+
+        List<TaskStateEntity> taskStates = makeTaskStates();
+        Map<Long, List<TaskEntity>> tasks = makeTasks(taskStates);
+
+        BoardColumnsDto board = boardColumnsDtoFactory.makeBoardColumnsDto(taskStates, tasks);
+
+        assertEquals(TASK_STATES, board.getTaskStateIds().length);
+        assertEquals(TASK_STATES * TASKS_PER_STATE, board.getTaskIds().length);
+        assertEquals(TASKS_PER_STATE, board.getTaskCounts()[0]);
+
+        TaskEntity secondTaskOfSecondState = tasks.get(taskStates.get(1).getId()).get(1);
+
+        assertEquals(secondTaskOfSecondState.getId(), board.getTaskIds()[TASKS_PER_STATE + 1]);
+        assertEquals(secondTaskOfSecondState.getTitle(), board.getTaskTitles()[TASKS_PER_STATE + 1]);
+        assertEquals(
+                secondTaskOfSecondState.getPriority(),
+                board.getPriorities().get(board.getTaskPriorities()[TASKS_PER_STATE + 1]));
+        assertEquals(
+                NOW.toInstant(ZoneOffset.UTC).toEpochMilli(),
+                board.getTaskDeadlines()[TASKS_PER_STATE + 1]);
+        assertEquals(Layouts.BOARD, board.getLayouts().get(board.getTaskStateLayouts()[0]));
+    }
+
+    @Test
+    void testMakeBoardColumnsDto_IsSmallerThanJsonBoard() throws Exception {
+
+        List<TaskStateEntity> taskStates = makeTaskStates();
+        Map<Long, List<TaskEntity>> tasks = makeTasks(taskStates);
+
+        List<TaskStateDto> jsonBoard = taskStateDtoFactory
+                .makeTaskStateDtos(taskStates, taskState -> tasks.get(taskState.getId()));
+
+        ObjectMapper jsonMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
+        int jsonSize = jsonMapper.writeValueAsBytes(jsonBoard).length;
+
+        byte[] cbor = cborMapper.writeValueAsBytes(boardColumnsDtoFactory.makeBoardColumnsDto(taskStates, tasks));
+
+        assertTrue(cbor.length * 4 < jsonSize,
+                String.format("columnar CBOR board is %s bytes, JSON board is %s bytes", cbor.length, jsonSize));
+        assertArrayEquals(
+                tasks.get(taskStates.get(0).getId()).stream().mapToLong(TaskEntity::getId).toArray(),
+                Arrays.copyOf(cborMapper.readValue(cbor, BoardColumnsDto.class).getTaskIds(), TASKS_PER_STATE));
+    }
+
+    private static List<TaskStateEntity> makeTaskStates() {
+
+        List<TaskStateEntity> taskStates = new ArrayList<>();
+
+        for (int state = 0; state < TASK_STATES; state++) {
+            taskStates.add(TaskStateEntity
+                    .builder()
+                    .id(1_000L + state)
+                    .name("state-" + state)
+                    .typeOfLayout(Layouts.BOARD)
+                    .createdAt(NOW)
+                    .build());
+        }
+
+        return taskStates;
+    }
+
+    private static Map<Long, List<TaskEntity>> makeTasks(List<TaskStateEntity> taskStates) {
+
+        Map<Long, List<TaskEntity>> tasks = new LinkedHashMap<>();
+
+        long taskId = 1_000_000L;
+
+        for (TaskStateEntity taskState : taskStates) {
+
+            List<TaskEntity> tasksOfState = new ArrayList<>();
+
+            for (int position = 0; position < TASKS_PER_STATE; position++) {
+
+                TaskEntity task = TaskEntity
+                        .builder()
+                        .id(taskId++)
+                        .title("task-" + position)
+                        .description("")
+                        .deadline(NOW)
+                        .category(Category.values()[position % Category.values().length])
+                        .priority(Priority.values()[position % Priority.values().length])
+                        .taskState(taskState)
+                        .createdAt(NOW)
+                        .updatedAt(NOW)
+                        .build();
+
+                if (!tasksOfState.isEmpty()) {
+
+                    TaskEntity higherPriorityTask = tasksOfState.get(tasksOfState.size() - 1);
+
+                    task.setHigherPriorityTask(higherPriorityTask);
+                    higherPriorityTask.setLowerPriorityTask(task);
+                }
+
+                tasksOfState.add(task);
+            }
+
+            tasks.put(taskState.getId(), tasksOfState);
+        }
+
+        return tasks;
+    }
+}
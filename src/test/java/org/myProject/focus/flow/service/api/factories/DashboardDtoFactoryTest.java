@@ -0,0 +1,86 @@
+package org.myProject.focus.flow.service.api.factories;
+
+import org.junit.jupiter.api.Test;
+import org.myProject.focus.flow.service.api.dto.DashboardDto;
+import org.myProject.focus.flow.service.api.dto.DashboardDto.DeadlineBucket;
+import org.myProject.focus.flow.service.api.dto.DashboardTaskDto;
+import org.myProject.focus.flow.service.store.entities.DashboardTaskEntity;
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardDtoFactoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    private final DashboardDtoFactory dashboardDtoFactory = new DashboardDtoFactory();
+
+    private static DashboardTaskEntity row(Long taskId, LocalDateTime deadline, Priority priority) {
+        return DashboardTaskEntity.builder()
+                .taskId(taskId)
+                .userId(1L)
+                .projectId(10L)
+                .projectName("Project")
+                .taskStateId(100L)
+                .taskStateName("To do")
+                .title("Task " + taskId)
+                .deadline(deadline)
+                .priority(priority)
+                .category(Category.WORK)
+                .build();
+    }
+
+    @Test
+    void testMakeDashboardDto_GroupsByDeadlineBucketThenPriority() {
+
+        DashboardDto dashboard = dashboardDtoFactory.makeDashboardDto(List.of(
+                row(1L, NOW.minusDays(1), Priority.LOW),
+                row(2L, NOW.plusHours(2), Priority.LOW),
+                row(3L, NOW.plusHours(3), Priority.CRITICAL),
+                row(4L, NOW.plusDays(3), Priority.MEDIUM),
+                row(5L, NOW.plusDays(30), Priority.HIGH),
+                row(6L, null, Priority.HIGH)
+        ), NOW);
+
+        assertEquals(6, dashboard.getTotal());
+
+        List<DashboardDto.Group> groups = dashboard.getGroups();
+
+        assertEquals(
+                List.of(DeadlineBucket.OVERDUE, DeadlineBucket.TODAY, DeadlineBucket.TODAY,
+                        DeadlineBucket.NEXT_7_DAYS, DeadlineBucket.LATER, DeadlineBucket.NO_DEADLINE),
+                groups.stream().map(DashboardDto.Group::getDeadlineBucket).toList());
+
+        assertEquals(Priority.CRITICAL, groups.get(1).getPriority());
+        assertEquals(Priority.LOW, groups.get(2).getPriority());
+        assertEquals(3L, groups.get(1).getTasks().get(0).getId());
+        assertEquals("To do", groups.get(1).getTasks().get(0).getTaskStateName());
+    }
+
+    @Test
+    void testMakeDashboardDto_KeepsDeadlineOrderWithinGroup() {
+
+        DashboardDto dashboard = dashboardDtoFactory.makeDashboardDto(List.of(
+                row(1L, NOW.plusDays(2), Priority.HIGH),
+                row(2L, NOW.plusDays(4), Priority.HIGH)
+        ), NOW);
+
+        assertEquals(1, dashboard.getGroups().size());
+        assertEquals(
+                List.of(1L, 2L),
+                dashboard.getGroups().get(0).getTasks().stream().map(DashboardTaskDto::getId).toList());
+    }
+
+    @Test
+    void testMakeDashboardDto_EmptyDashboard() {
+
+        DashboardDto dashboard = dashboardDtoFactory.makeDashboardDto(List.of(), NOW);
+
+        assertEquals(0, dashboard.getTotal());
+        assertTrue(dashboard.getGroups().isEmpty());
+    }
+}
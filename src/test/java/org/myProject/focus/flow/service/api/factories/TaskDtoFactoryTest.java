@@ -0,0 +1,185 @@
+package org.myProject.focus.flow.service.api.factories;
+
+import org.junit.jupiter.api.Test;
+import org.myProject.focus.flow.service.api.controllers.helpers.TaskHelper;
+import org.myProject.focus.flow.service.api.dto.TaskDto;
+import org.myProject.focus.flow.service.api.dto.TaskStateDto;
+import org.myProject.focus.flow.service.store.entities.TaskEntity;
+import org.myProject.focus.flow.service.store.entities.TaskStateEntity;
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.Layouts;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskDtoFactoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    private final TaskDtoFactory taskDtoFactory = new TaskDtoFactory();
+
+    private final TaskHelper taskHelper = mock(TaskHelper.class);
+
+    private final TaskStateDtoFactory taskStateDtoFactory = new TaskStateDtoFactory(taskDtoFactory, taskHelper);
+
+    private static TaskEntity task(Long id, LocalDateTime deletedAt) {
+        return TaskEntity
+                .builder()
+                .id(id)
+                .title("task-" + id)
+                .description("")
+                .deadline(NOW)
+                .category(Category.WORK)
+                .priority(Priority.MEDIUM)
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .deletedAt(deletedAt)
+                .build();
+    }
+
+    private static TaskStateEntity taskState(Long id, LocalDateTime deletedAt) {
+        return TaskStateEntity
+                .builder()
+                .id(id)
+                .name("state-" + id)
+                .typeOfLayout(Layouts.BOARD)
+                .createdAt(NOW)
+                .deletedAt(deletedAt)
+                .build();
+    }
+
+    private static void linkTasks(TaskEntity... chain) {
+
+        for (int i = 1; i < chain.length; i++) {
+            chain[i].setHigherPriorityTask(chain[i - 1]);
+            chain[i - 1].setLowerPriorityTask(chain[i]);
+        }
+    }
+
+    private static void linkTaskStates(TaskStateEntity... chain) {
+
+        for (int i = 1; i < chain.length; i++) {
+            chain[i].setLeftTaskState(chain[i - 1]);
+            chain[i - 1].setRightTaskState(chain[i]);
+        }
+    }
+
+    @Test
+    void testMakeTaskDto_SkipsTrashedNeighbours() {
+
+        TaskEntity first = task(1L, null);
+        TaskEntity trashedAbove = task(2L, NOW);
+        TaskEntity task = task(3L, null);
+        TaskEntity trashedBelow = task(4L, NOW);
+        TaskEntity alsoTrashedBelow = task(5L, NOW);
+        TaskEntity last = task(6L, null);
+
+        linkTasks(first, trashedAbove, task, trashedBelow, alsoTrashedBelow, last);
+
+        TaskDto taskDto = taskDtoFactory.makeTaskDto(task);
+
+        assertEquals(1L, taskDto.getHigherPriorityTaskId());
+        assertEquals(6L, taskDto.getLowerPriorityTaskId());
+    }
+
+    @Test
+    void testMakeTaskDto_TrashedChainEndsLeavePointersEmpty() {
+
+        TaskEntity trashedHead = task(1L, NOW);
+        TaskEntity task = task(2L, null);
+        TaskEntity trashedTail = task(3L, NOW);
+
+        linkTasks(trashedHead, task, trashedTail);
+
+        TaskDto taskDto = taskDtoFactory.makeTaskDto(task);
+
+        assertNull(taskDto.getHigherPriorityTaskId());
+        assertNull(taskDto.getLowerPriorityTaskId());
+    }
+
+    @Test
+    void testMakeTaskDtos_PointsAtNeighboursInList() {
+
+        TaskEntity first = task(1L, null);
+        TaskEntity trashed = task(2L, NOW);
+        TaskEntity second = task(3L, null);
+        TaskEntity third = task(4L, null);
+
+        linkTasks(first, trashed, second, third);
+
+        List<TaskDto> taskDtos = taskDtoFactory.makeTaskDtos(List.of(first, second, third));
+
+        assertNull(taskDtos.get(0).getHigherPriorityTaskId());
+        assertEquals(3L, taskDtos.get(0).getLowerPriorityTaskId());
+        assertEquals(1L, taskDtos.get(1).getHigherPriorityTaskId());
+        assertEquals(4L, taskDtos.get(1).getLowerPriorityTaskId());
+        assertEquals(3L, taskDtos.get(2).getHigherPriorityTaskId());
+        assertNull(taskDtos.get(2).getLowerPriorityTaskId());
+    }
+
+    @Test
+    void testMakeTaskDtoWithoutNeighbours_LeavesPointersEmpty() {
+
+        TaskEntity first = task(1L, null);
+        TaskEntity second = task(2L, null);
+
+        linkTasks(first, second);
+
+        TaskDto taskDto = taskDtoFactory.makeTaskDtoWithoutNeighbours(second);
+
+        assertNull(taskDto.getHigherPriorityTaskId());
+        assertNull(taskDto.getLowerPriorityTaskId());
+    }
+
+    @Test
+    void testMakeTaskStateDto_SkipsTrashedNeighbours() {
+
+        TaskStateEntity left = taskState(10L, null);
+        TaskStateEntity trashedLeft = taskState(20L, NOW);
+        TaskStateEntity taskState = taskState(30L, null);
+        TaskStateEntity trashedRight = taskState(40L, NOW);
+
+        linkTaskStates(left, trashedLeft, taskState, trashedRight);
+
+        when(taskHelper.getSortedTasks(taskState)).thenReturn(List.of());
+
+        TaskStateDto taskStateDto = taskStateDtoFactory.makeTaskStateDto(taskState);
+
+        assertEquals(10L, taskStateDto.getLeftTaskStateId());
+        assertNull(taskStateDto.getRightTaskStateId());
+    }
+
+    @Test
+    void testMakeTaskStateDtos_PointsAtNeighboursInList() {
+
+        TaskStateEntity left = taskState(10L, null);
+        TaskStateEntity trashed = taskState(20L, NOW);
+        TaskStateEntity right = taskState(30L, null);
+
+        linkTaskStates(left, trashed, right);
+
+        TaskEntity first = task(1L, null);
+        TaskEntity trashedTask = task(2L, NOW);
+        TaskEntity second = task(3L, null);
+
+        linkTasks(first, trashedTask, second);
+
+        Map<Long, List<TaskEntity>> sortedTasks = Map.of(10L, List.of(), 30L, List.of(first, second));
+
+        List<TaskStateDto> taskStateDtos = taskStateDtoFactory
+                .makeTaskStateDtos(List.of(left, right), ts -> sortedTasks.get(ts.getId()));
+
+        assertNull(taskStateDtos.get(0).getLeftTaskStateId());
+        assertEquals(30L, taskStateDtos.get(0).getRightTaskStateId());
+        assertEquals(10L, taskStateDtos.get(1).getLeftTaskStateId());
+        assertNull(taskStateDtos.get(1).getRightTaskStateId());
+        assertEquals(3L, taskStateDtos.get(1).getTasks().get(0).getLowerPriorityTaskId());
+        assertEquals(1L, taskStateDtos.get(1).getTasks().get(1).getHigherPriorityTaskId());
+        verifyNoInteractions(taskHelper);
+    }
+}
@@ -0,0 +1,152 @@
+package org.myProject.focus.flow.service.api.helpers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.myProject.focus.flow.service.api.controllers.helpers.*;
+import org.myProject.focus.flow.service.api.exceptions.CustomAppException;
+import org.myProject.focus.flow.service.store.entities.ArchivedTaskEntity;
+import org.myProject.focus.flow.service.store.entities.TaskEntity;
+import org.myProject.focus.flow.service.store.entities.TaskStateEntity;
+import org.myProject.focus.flow.service.store.entities.enums.OutboxEventType;
+import org.myProject.focus.flow.service.store.repositories.ArchivedTaskRepository;
+import org.myProject.focus.flow.service.store.repositories.TaskRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ArchiveHelperTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private ValidateRequestsHelper validateRequestsHelper;
+
+    @Mock
+    private BoardHelper boardHelper;
+
+    @Mock
+    private OutboxHelper outboxHelper;
+
+    @Mock
+    private DashboardHelper dashboardHelper;
+
+    private ArchiveHelper archiveHelper;
+
+    @BeforeEach
+    void setUp() {
+
+        MockitoAnnotations.openMocks(this);
+
+        archiveHelper = new ArchiveHelper(
+                taskRepository,
+                archivedTaskRepository,
+                new TaskHelper(taskRepository, validateRequestsHelper),
+                boardHelper,
+                outboxHelper,
+                dashboardHelper
+        );
+    }
+
+    private static List<TaskEntity> chain(TaskStateEntity taskState, Long... taskIds) {
+
+        List<TaskEntity> tasks = Arrays.stream(taskIds)
+                .map(taskId -> TaskEntity.builder().id(taskId).projectId(1L).taskState(taskState).build())
+                .toList();
+
+        for (int i = 1; i < tasks.size(); i++) {
+            tasks.get(i - 1).setLowerPriorityTask(tasks.get(i));
+            tasks.get(i).setHigherPriorityTask(tasks.get(i - 1));
+        }
+
+        return tasks;
+    }
+
+    @Test
+    void testArchiveTasks_RelinksRemainingTasksOnceAndDeletesArchivedOnes() {
+
+        TaskStateEntity taskState = TaskStateEntity.builder().id(10L).build();
+
+        List<Long> archivedTaskIds = List.of(2L, 4L);
+
+        when(taskRepository.findIdsDueForArchive(eq(1L), any(), eq(0), eq(500))).thenReturn(archivedTaskIds);
+        when(taskRepository.findTaskStateIdsByProjectIdAndIdIn(eq(1L), anyCollection())).thenReturn(List.of(10L));
+        when(taskRepository.findAllByProjectIdAndTaskStateIdIn(1L, List.of(10L)))
+                .thenReturn(chain(taskState, 1L, 2L, 3L, 4L));
+
+        int archived = archiveHelper.archiveTasks(1L, 0, 500);
+
+        assertEquals(2, archived);
+
+        InOrder inOrder = inOrder(archivedTaskRepository, taskRepository, dashboardHelper);
+
+        inOrder.verify(archivedTaskRepository).archiveAllByProjectIdAndIdIn(eq(1L), eq(archivedTaskIds), any());
+        inOrder.verify(taskRepository).relink(
+                new Long[]{1L, 3L},
+                new Long[]{10L, 10L},
+                new Long[]{null, 1L},
+                new Long[]{3L, null}
+        );
+        inOrder.verify(taskRepository).deleteAllByProjectIdAndIdIn(1L, archivedTaskIds);
+        inOrder.verify(dashboardHelper).removeTasks(archivedTaskIds);
+
+        verify(boardHelper).markBoardChanged(1L);
+        verify(outboxHelper).publish(OutboxEventType.TASKS_ARCHIVED, 1L, null, 1L, Map.of("task_ids", archivedTaskIds));
+    }
+
+    @Test
+    void testArchiveTasks_NothingDueLeavesBoardUntouched() {
+
+        when(taskRepository.findIdsDueForArchive(eq(1L), any(), eq(0), eq(500))).thenReturn(List.of());
+
+        assertEquals(0, archiveHelper.archiveTasks(1L, 0, 500));
+
+        verifyNoInteractions(archivedTaskRepository, boardHelper, outboxHelper, dashboardHelper);
+        verify(taskRepository, never()).relink(any(), any(), any(), any());
+    }
+
+    @Test
+    void testGetArchivedTasks_NextPageStartsAfterLastTaskOfPage() {
+
+        LocalDateTime archivedAt = LocalDateTime.of(2024, 5, 1, 12, 30);
+
+        List<ArchivedTaskEntity> page = List.of(
+                ArchivedTaskEntity.builder().id(8L).archivedAt(archivedAt).build(),
+                ArchivedTaskEntity.builder().id(7L).archivedAt(archivedAt).build()
+        );
+
+        Optional<String> optionalNextPageToken = archiveHelper.getNextPageToken(page, 2);
+
+        assertTrue(optionalNextPageToken.isPresent());
+        assertTrue(archiveHelper.getNextPageToken(page, 3).isEmpty());
+
+        archiveHelper.getArchivedTasks(1L, optionalNextPageToken, 2);
+
+        verify(archivedTaskRepository).findPageByProjectIdAfter(1L, archivedAt, 7L, PageRequest.of(0, 2));
+    }
+
+    @Test
+    void testGetArchivedTasks_InvalidPageToken() {
+
+        CustomAppException exception = assertThrows(CustomAppException.class, () ->
+                archiveHelper.getArchivedTasks(1L, Optional.of("not a token"), 50)
+        );
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+    }
+}
@@ -0,0 +1,164 @@
+package org.myProject.focus.flow.service.api.helpers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.myProject.focus.flow.service.api.controllers.helpers.BoardCache;
+import org.myProject.focus.flow.service.api.controllers.helpers.BoardChangedEvent;
+import org.myProject.focus.flow.service.api.controllers.helpers.BoardHelper;
+import org.myProject.focus.flow.service.api.dto.TaskStateDto;
+import org.myProject.focus.flow.service.store.entities.ProjectEntity;
+import org.myProject.focus.flow.service.store.entities.enums.Layouts;
+import org.myProject.focus.flow.service.store.repositories.ProjectRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BoardCacheTest {
+
+    @Mock
+    private BoardHelper boardHelper;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private BoardCache boardCache;
+
+    @BeforeEach
+    void setUp() {
+
+        MockitoAnnotations.openMocks(this);
+
+        boardCache = new BoardCache(boardHelper, projectRepository, objectMapper, new SimpleMeterRegistry());
+
+        ReflectionTestUtils.setField(boardCache, "enabled", true);
+        ReflectionTestUtils.setField(boardCache, "maxBytes", 1_000_000L);
+        ReflectionTestUtils.setField(boardCache, "maxStaleMillis", 60_000L);
+        ReflectionTestUtils.setField(boardCache, "refreshConcurrency", 1);
+        ReflectionTestUtils.setField(boardCache, "refreshQueueCapacity", 10);
+        ReflectionTestUtils.invokeMethod(boardCache, "start");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(boardCache, "stop");
+    }
+
+    private static ProjectEntity project(Long projectId, Long boardVersion) {
+        return ProjectEntity.builder().id(projectId).boardVersion(boardVersion).build();
+    }
+
+    private static List<TaskStateDto> board(String taskStateName) {
+        return List.of(TaskStateDto.builder()
+                .id(1L)
+                .name(taskStateName)
+                .typeOfLayout(Layouts.BOARD)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .tasks(List.of())
+                .build());
+    }
+
+    @Test
+    void testGetBoardJson_ServesWarmReadsFromCache() throws Exception {
+
+        when(boardHelper.getBoard(1L, 0L)).thenReturn(board("To do"));
+
+        byte[] first = boardCache.getBoardJson(project(1L, 0L));
+        byte[] second = boardCache.getBoardJson(project(1L, 0L));
+
+        assertSame(first, second);
+        assertEquals("To do", objectMapper.readTree(first).get(0).get("name").asText());
+        verify(boardHelper, times(1)).getBoard(1L, 0L);
+    }
+
+    @Test
+    void testGetBoardJson_ServesStaleBoardWhileRebuilding() throws Exception {
+
+        when(boardHelper.getBoard(1L, 0L)).thenReturn(board("To do"));
+        when(boardHelper.getBoard(1L, 1L)).thenReturn(board("Doing"));
+        when(projectRepository.findBoardVersionById(1L)).thenReturn(Optional.of(1L));
+
+        boardCache.getBoardJson(project(1L, 0L));
+
+        byte[] stale = boardCache.getBoardJson(project(1L, 1L));
+
+        assertEquals("To do", objectMapper.readTree(stale).get(0).get("name").asText());
+
+        verify(boardHelper, timeout(5_000)).getBoard(1L, 1L);
+
+        byte[] fresh = null;
+
+        for (int i = 0; i < 100 && !"Doing".equals(nameOf(fresh)); i++) {
+            Thread.sleep(10);
+            fresh = boardCache.getBoardJson(project(1L, 1L));
+        }
+
+        assertEquals("Doing", nameOf(fresh));
+    }
+
+    @Test
+    void testGetBoardJson_RebuildsSynchronouslyOnceTooStale() throws Exception {
+
+        ReflectionTestUtils.setField(boardCache, "maxStaleMillis", 0L);
+
+        when(boardHelper.getBoard(1L, 0L)).thenReturn(board("To do"));
+        when(boardHelper.getBoard(1L, 1L)).thenReturn(board("Doing"));
+        when(projectRepository.findBoardVersionById(1L)).thenReturn(Optional.of(1L));
+
+        boardCache.getBoardJson(project(1L, 0L));
+
+        assertEquals("Doing", nameOf(boardCache.getBoardJson(project(1L, 1L))));
+    }
+
+    @Test
+    void testOnBoardChanged_RefreshesCachedBoardOnly() {
+
+        when(boardHelper.getBoard(1L, 0L)).thenReturn(board("To do"));
+        when(boardHelper.getBoard(1L, 1L)).thenReturn(board("Doing"));
+        when(projectRepository.findBoardVersionById(1L)).thenReturn(Optional.of(1L));
+
+        boardCache.getBoardJson(project(1L, 0L));
+
+        boardCache.onBoardChanged(new BoardChangedEvent(1L));
+        boardCache.onBoardChanged(new BoardChangedEvent(2L));
+
+        verify(boardHelper, timeout(5_000)).getBoard(1L, 1L);
+        verify(projectRepository, never()).findBoardVersionById(2L);
+    }
+
+    @Test
+    void testGetBoardJson_EvictsLeastRecentlyReadBoardsBeyondMaxBytes() throws Exception {
+
+        when(boardHelper.getBoard(anyLong(), eq(0L))).thenReturn(board("To do"));
+
+        byte[] json = boardCache.getBoardJson(project(1L, 0L));
+
+        ReflectionTestUtils.setField(boardCache, "maxBytes", (long) json.length * 2);
+
+        boardCache.getBoardJson(project(2L, 0L));
+        Thread.sleep(1);
+        boardCache.getBoardJson(project(1L, 0L));
+        boardCache.getBoardJson(project(3L, 0L));
+
+        boardCache.getBoardJson(project(1L, 0L));
+        boardCache.getBoardJson(project(2L, 0L));
+
+        verify(boardHelper, times(1)).getBoard(1L, 0L);
+        verify(boardHelper, times(2)).getBoard(2L, 0L);
+    }
+
+    private String nameOf(byte[] json) throws Exception {
+        return json == null ? null : objectMapper.readTree(json).get(0).get("name").asText();
+    }
+}
@@ -0,0 +1,161 @@
+package org.myProject.focus.flow.service.api.helpers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.myProject.focus.flow.service.api.controllers.helpers.ProjectExportHelper;
+import org.myProject.focus.flow.service.api.dto.TaskExportDto;
+import org.myProject.focus.flow.service.api.factories.TaskExportDtoFactory;
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.ExportFormat;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+import org.myProject.focus.flow.service.store.projections.TaskExportProjection;
+import org.myProject.focus.flow.service.store.repositories.ProjectRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProjectExportHelperTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    private ProjectExportHelper projectExportHelper;
+
+    @BeforeEach
+    void setUp() {
+
+        MockitoAnnotations.openMocks(this);
+
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        projectExportHelper = new ProjectExportHelper(projectRepository, new TaskExportDtoFactory(), objectMapper);
+    }
+
+    private record Row(
+            String projectId, String projectName, String taskStateId, String taskStateName, Integer taskStatePosition,
+            String taskId, Integer taskPosition, String title, String description, LocalDateTime deadline,
+            Integer category, Integer priority, LocalDateTime createdAt, LocalDateTime updatedAt)
+            implements TaskExportProjection {
+
+        public String getProjectId() { return projectId; }
+
+        public String getProjectName() { return projectName; }
+
+        public String getTaskStateId() { return taskStateId; }
+
+        public String getTaskStateName() { return taskStateName; }
+
+        public Integer getTaskStatePosition() { return taskStatePosition; }
+
+        public String getTaskId() { return taskId; }
+
+        public Integer getTaskPosition() { return taskPosition; }
+
+        public String getTitle() { return title; }
+
+        public String getDescription() { return description; }
+
+        public LocalDateTime getDeadline() { return deadline; }
+
+        public Integer getCategory() { return category; }
+
+        public Integer getPriority() { return priority; }
+
+        public LocalDateTime getCreatedAt() { return createdAt; }
+
+        public LocalDateTime getUpdatedAt() { return updatedAt; }
+    }
+
+    private static Row task(String taskId, Integer taskPosition, String title, String description) {
+        return new Row("p1", "Board", "s1", "To do", 0, taskId, taskPosition, title, description, NOW,
+                Category.WORK.ordinal(), Priority.HIGH.ordinal(), NOW, NOW);
+    }
+
+    private static Row emptyTaskState() {
+        return new Row("p1", "Board", "s2", "Done", 1, null, null, null, null, null, null, null, null, null);
+    }
+
+    private String export(ExportFormat format, Row... rows) throws IOException {
+
+        when(projectRepository.streamExportRowsByUserIdAndProjectId(1L, null))
+                .thenReturn(Stream.<TaskExportProjection>of(rows));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        projectExportHelper.export(1L, null, format, outputStream);
+
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testExport_CsvQuotesFieldsWithSeparators() throws IOException {
+
+        String csv = export(ExportFormat.CSV,
+                task("t1", 0, "Plain", ""),
+                task("t2", 1, "Comma, and \"quotes\"", "two\nlines"),
+                emptyTaskState());
+
+        assertEquals(String.join("\n",
+                String.join(",", TaskExportDto.CSV_HEADER),
+                "p1,Board,s1,To do,0,t1,0,Plain,,2026-10-19T12:00,WORK,HIGH,2026-10-19T12:00,2026-10-19T12:00",
+                "p1,Board,s1,To do,0,t2,1,\"Comma, and \"\"quotes\"\"\",\"two\nlines\",2026-10-19T12:00,WORK,HIGH," +
+                        "2026-10-19T12:00,2026-10-19T12:00",
+                "p1,Board,s2,Done,1,,,,,,,,,") + "\n", csv);
+    }
+
+    @Test
+    void testExport_NdjsonWritesOneObjectPerLine() throws IOException {
+
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        String ndjson = export(ExportFormat.NDJSON, task("t1", 0, "First", "a\nb"), emptyTaskState());
+
+        String[] lines = ndjson.split("\n", -1);
+
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+
+        assertEquals("t1", first.get("task_id").asText());
+        assertEquals("a\nb", first.get("description").asText());
+        assertEquals("2026-10-19T12:00:00", first.get("deadline").asText());
+        assertEquals("HIGH", first.get("priority").asText());
+        assertTrue(objectMapper.readTree(lines[1]).get("task_id").isNull());
+    }
+
+    @Test
+    void testExport_EmptyNdjsonWritesNothing() throws IOException {
+        assertEquals("", export(ExportFormat.NDJSON));
+    }
+
+    @Test
+    void testExport_ClosesDatabaseCursor() throws IOException {
+
+        AtomicBoolean closed = new AtomicBoolean();
+
+        when(projectRepository.streamExportRowsByUserIdAndProjectId(1L, 5L))
+                .thenReturn(Stream.<TaskExportProjection>of(emptyTaskState()).onClose(() -> closed.set(true)));
+
+        projectExportHelper.export(1L, 5L, ExportFormat.CSV, new ByteArrayOutputStream());
+
+        assertTrue(closed.get());
+    }
+}
@@ -0,0 +1,319 @@
+package org.myProject.focus.flow.service.api.helpers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.myProject.focus.flow.service.api.controllers.helpers.DashboardHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.OutboxHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.ProjectImportHelper;
+import org.myProject.focus.flow.service.api.exceptions.CustomAppException;
+import org.myProject.focus.flow.service.store.entities.ImportJobEntity;
+import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.ExportFormat;
+import org.myProject.focus.flow.service.store.entities.enums.JobStatus;
+import org.myProject.focus.flow.service.store.entities.enums.OutboxEventType;
+import org.myProject.focus.flow.service.store.entities.enums.Priority;
+import org.myProject.focus.flow.service.store.repositories.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProjectImportHelperTest {
+
+    private static final Long IMPORT_JOB_ID = 7L;
+
+    private static final Long USER_ID = 3L;
+
+    private static final String CSV_HEADER = "project_id,project_name,task_state_id,task_state_name,task_state_position," +
+            "task_id,task_position,title,description,deadline,category,priority,created_at,updated_at";
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @Mock
+    private TaskImportRowRepository taskImportRowRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TaskStateRepository taskStateRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private DashboardHelper dashboardHelper;
+
+    @Mock
+    private OutboxHelper outboxHelper;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private Connection connection;
+
+    private final ImportJobEntity importJob = ImportJobEntity.builder().id(IMPORT_JOB_ID).userId(USER_ID).build();
+
+    /**
+     * Values bound to each staged task_import_row, in INSERT column order.
+     */
+    private final List<Object[]> stagedRows = new ArrayList<>();
+
+    private ProjectImportHelper projectImportHelper;
+
+    @BeforeEach
+    void setUp() {
+
+        MockitoAnnotations.openMocks(this);
+
+        projectImportHelper = new ProjectImportHelper(
+                importJobRepository,
+                taskImportRowRepository,
+                projectRepository,
+                taskStateRepository,
+                taskRepository,
+                dashboardHelper,
+                outboxHelper,
+                jdbcTemplate,
+                transactionTemplate,
+                new ObjectMapper().findAndRegisterModules());
+
+        ReflectionTestUtils.setField(projectImportHelper, "batchSize", 1000);
+
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        when(importJobRepository.saveAndFlush(any(ImportJobEntity.class))).thenAnswer(invocation -> {
+            ImportJobEntity job = invocation.getArgument(0);
+            job.setId(IMPORT_JOB_ID);
+            return job;
+        });
+        when(importJobRepository.getReferenceById(IMPORT_JOB_ID)).thenReturn(importJob);
+
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenAnswer(invocation -> {
+
+            BatchPreparedStatementSetter setter = invocation.getArgument(1);
+
+            for (int i = 0; i < setter.getBatchSize(); i++) {
+
+                Object[] values = new Object[14];
+                PreparedStatement statement = mock(PreparedStatement.class);
+
+                doAnswer(set -> {
+                    values[set.<Integer>getArgument(0) - 1] = set.getArgument(1);
+                    return null;
+                }).when(statement).setObject(anyInt(), any());
+
+                setter.setValues(statement, i);
+                stagedRows.add(values);
+            }
+
+            return new int[setter.getBatchSize()];
+        });
+    }
+
+    private ImportJobEntity importCsv(String... lines) {
+        return importProjects(ExportFormat.CSV, String.join("\r\n", lines) + "\r\n");
+    }
+
+    private ImportJobEntity importProjects(ExportFormat format, String content) {
+        return projectImportHelper.importProjects(
+                USER_ID, format, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testImportProjects_CsvHandlesQuotingAndEmbeddedNewlines() {
+
+        ImportJobEntity job = importCsv(
+                CSV_HEADER,
+                "p1,\"Board, main\",s1,To do,0,t1,0,\"Fix \"\"urgent\"\" bug\",\"line one\nline two\"," +
+                        "2026-01-02T10:00,WORK,HIGH,,",
+                "p1,\"Board, main\",s2,Done,1,,,,,,,,,");
+
+        assertEquals(JobStatus.DONE, job.getStatus());
+        assertEquals(2L, job.getRowsRead());
+        assertEquals(2, stagedRows.size());
+
+        Object[] task = stagedRows.get(0);
+        assertEquals(IMPORT_JOB_ID, task[0]);
+        assertEquals(1L, task[1]);
+        assertEquals("p1", task[2]);
+        assertEquals("Board, main", task[3]);
+        assertEquals("s1", task[4]);
+        assertEquals("t1", task[7]);
+        assertEquals("Fix \"urgent\" bug", task[9]);
+        assertEquals("line one\nline two", task[10]);
+        assertEquals(Timestamp.valueOf(LocalDateTime.of(2026, 1, 2, 10, 0)), task[11]);
+        assertEquals(Category.WORK.ordinal(), task[12]);
+        assertEquals(Priority.HIGH.ordinal(), task[13]);
+
+        Object[] emptyTaskState = stagedRows.get(1);
+        assertEquals(2L, emptyTaskState[1]);
+        assertEquals("s2", emptyTaskState[4]);
+        assertEquals("Done", emptyTaskState[5]);
+        assertNull(emptyTaskState[7]);
+        assertNull(emptyTaskState[9]);
+    }
+
+    @Test
+    void testImportProjects_CsvMapsColumnsByHeaderAndIgnoresUnknownOnes() {
+
+        importCsv(
+                "task_state_name,notes,project_name,task_state_id,project_id",
+                "To do,ignored,Board,s1,p1",
+                "Done,,Board,s2,p1");
+
+        assertEquals(2, stagedRows.size());
+        assertEquals("p1", stagedRows.get(0)[2]);
+        assertEquals("To do", stagedRows.get(0)[5]);
+        assertEquals("s1", stagedRows.get(0)[4]);
+    }
+
+    @Test
+    void testImportProjects_ReadsNdjson() {
+
+        ImportJobEntity job = importProjects(ExportFormat.NDJSON,
+                "{\"project_id\":\"p1\",\"project_name\":\"Board\",\"task_state_id\":\"s1\",\"task_state_name\":\"To do\"," +
+                        "\"task_id\":\"t1\",\"task_position\":0,\"title\":\"Write\",\"deadline\":\"2026-01-02T10:00:00\"," +
+                        "\"category\":\"PERSONAL\",\"priority\":\"LOW\"}\n" +
+                        "{\"project_id\":\"p1\",\"project_name\":\"Board\",\"task_state_id\":\"s2\",\"task_state_name\":\"Done\"}\n");
+
+        assertEquals(2L, job.getRowsRead());
+        assertEquals("t1", stagedRows.get(0)[7]);
+        assertEquals(Category.PERSONAL.ordinal(), stagedRows.get(0)[12]);
+        assertEquals("s2", stagedRows.get(1)[4]);
+    }
+
+    @Test
+    void testImportProjects_StagesInBatchesWithContinuousLineNumbers() {
+
+        ReflectionTestUtils.setField(projectImportHelper, "batchSize", 2);
+
+        importCsv(
+                CSV_HEADER,
+                "p1,Board,s1,To do,0,,,,,,,,,",
+                "p1,Board,s2,Doing,1,,,,,,,,,",
+                "p1,Board,s3,Done,2,,,,,,,,,");
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+        assertEquals(List.of(1L, 2L, 3L), stagedRows.stream().map(values -> values[1]).toList());
+    }
+
+    @Test
+    void testImportProjects_AdoptsExportedIdsBeforeEachMerge() {
+
+        importCsv(CSV_HEADER, "p1,Board,s1,To do,0,,,,,,,,,");
+
+        InOrder inOrder = inOrder(projectRepository, taskStateRepository, taskRepository, taskImportRowRepository);
+        inOrder.verify(projectRepository).adoptExportedIdsOfImportJob(IMPORT_JOB_ID, USER_ID);
+        inOrder.verify(projectRepository).importFromStaging(IMPORT_JOB_ID, USER_ID);
+        inOrder.verify(taskStateRepository).adoptExportedIdsOfImportJob(IMPORT_JOB_ID, USER_ID);
+        inOrder.verify(taskStateRepository).importFromStaging(eq(IMPORT_JOB_ID), eq(USER_ID), anyInt());
+        inOrder.verify(taskRepository).adoptExportedIdsOfImportJob(IMPORT_JOB_ID, USER_ID);
+        inOrder.verify(taskRepository).importFromStaging(IMPORT_JOB_ID, USER_ID);
+        inOrder.verify(taskImportRowRepository).deleteAllByImportJobId(IMPORT_JOB_ID);
+    }
+
+    @Test
+    void testImportProjects_PublishesEventPerProjectAfterTakingItsRow() {
+
+        when(projectRepository.incrementBoardVersionsOfImportJob(IMPORT_JOB_ID, USER_ID)).thenReturn(List.of(11L, 12L));
+
+        importCsv(CSV_HEADER, "p1,Board,s1,To do,0,,,,,,,,,", "p2,Other,s2,To do,0,,,,,,,,,");
+
+        InOrder inOrder = inOrder(projectRepository, outboxHelper, taskImportRowRepository);
+        inOrder.verify(projectRepository).incrementBoardVersionsOfImportJob(IMPORT_JOB_ID, USER_ID);
+        inOrder.verify(outboxHelper).publish(
+                OutboxEventType.PROJECT_IMPORTED, 11L, USER_ID, 11L, Map.of("import_job_id", IMPORT_JOB_ID));
+        inOrder.verify(outboxHelper).publish(
+                OutboxEventType.PROJECT_IMPORTED, 12L, USER_ID, 12L, Map.of("import_job_id", IMPORT_JOB_ID));
+        inOrder.verify(taskImportRowRepository).deleteAllByImportJobId(IMPORT_JOB_ID);
+    }
+
+    @Test
+    void testImportProjects_RejectsRowWithoutTaskStateAndDiscardsStagedRows() {
+
+        ReflectionTestUtils.setField(projectImportHelper, "batchSize", 1);
+
+        CustomAppException exception = assertThrows(CustomAppException.class, () -> importCsv(
+                CSV_HEADER,
+                "p1,Board,s1,To do,0,,,,,,,,,",
+                "p1,Board,,,1,,,,,,,,,"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        assertTrue(exception.getMessage().startsWith("Row 2:"));
+        assertEquals(JobStatus.FAILED, importJob.getStatus());
+        verify(taskImportRowRepository).deleteAllByImportJobId(IMPORT_JOB_ID);
+        verify(projectRepository, never()).importFromStaging(anyLong(), anyLong());
+    }
+
+    @Test
+    void testImportProjects_RejectsTaskWithoutDeadline() {
+
+        CustomAppException exception = assertThrows(CustomAppException.class, () -> importCsv(
+                CSV_HEADER,
+                "p1,Board,s1,To do,0,t1,0,Write,,,WORK,LOW,,"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        assertTrue(exception.getMessage().startsWith("Row 1:"));
+        assertTrue(stagedRows.isEmpty());
+    }
+
+    @Test
+    void testImportProjects_RejectsUnknownCategory() {
+
+        CustomAppException exception = assertThrows(CustomAppException.class, () -> importCsv(
+                CSV_HEADER,
+                "p1,Board,s1,To do,0,t1,0,Write,,2026-01-02T10:00,HOBBY,LOW,,"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        assertTrue(exception.getMessage().startsWith("Import job 7 failed"));
+        assertEquals(JobStatus.FAILED, importJob.getStatus());
+    }
+
+    @Test
+    void testImportProjects_RejectsUnterminatedQuote() {
+
+        CustomAppException exception = assertThrows(CustomAppException.class, () -> importCsv(
+                CSV_HEADER,
+                "p1,\"Board,s1,To do,0,,,,,,,,,"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        assertEquals(JobStatus.FAILED, importJob.getStatus());
+        verify(projectRepository, never()).importFromStaging(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,105 @@
+package org.myProject.focus.flow.service.api.helpers;
+
+import org.junit.jupiter.api.Test;
+import org.myProject.focus.flow.service.api.controllers.helpers.SingleFlight;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void testExecute_CoalescesConcurrentCalls() throws Exception {
+
+        int callers = 8;
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("board", () -> {
+                computations.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "result";
+            }));
+
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            List<Future<String>> followers = new ArrayList<>();
+
+            for (int i = 1; i < callers; i++) {
+                followers.add(executor.submit(() -> singleFlight.execute("board", () -> {
+                    computations.incrementAndGet();
+                    return "other";
+                })));
+            }
+
+            // followers must be parked on the leader's result before it is released
+            Thread.sleep(100);
+
+            release.countDown();
+
+            assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+
+            for (Future<String> follower : followers) {
+                assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+            }
+
+            assertEquals(1, computations.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testExecute_DoesNotKeepFinishedResults() {
+
+        AtomicInteger computations = new AtomicInteger();
+
+        singleFlight.execute("board", () -> String.valueOf(computations.incrementAndGet()));
+        singleFlight.execute("board", () -> String.valueOf(computations.incrementAndGet()));
+
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    void testExecute_KeepsKeysApart() {
+
+        assertEquals("a", singleFlight.execute("1", () -> "a"));
+        assertEquals("b", singleFlight.execute("2", () -> "b"));
+    }
+
+    @Test
+    void testExecute_PropagatesFailureAndRecovers() {
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                singleFlight.execute("board", () -> {
+                    throw new IllegalStateException("boom");
+                })
+        );
+
+        assertEquals("boom", exception.getMessage());
+        assertEquals("ok", singleFlight.execute("board", () -> "ok"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package org.myProject.focus.flow.service.api.helpers;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.myProject.focus.flow.service.api.controllers.TaskController;
+import org.myProject.focus.flow.service.api.controllers.TaskStateController;
+import org.myProject.focus.flow.service.api.controllers.helpers.*;
+import org.myProject.focus.flow.service.api.exceptions.CustomAppException;
+import org.myProject.focus.flow.service.api.factories.TaskDtoFactory;
+import org.myProject.focus.flow.service.api.factories.TaskStateDtoFactory;
+import org.myProject.focus.flow.service.api.workers.SoftDeleteCompactionWorker;
+import org.myProject.focus.flow.service.store.entities.ProjectEntity;
+import org.myProject.focus.flow.service.store.entities.TaskEntity;
+import org.myProject.focus.flow.service.store.entities.TaskStateEntity;
+import org.myProject.focus.flow.service.store.entities.enums.OutboxEventType;
+import org.myProject.focus.flow.service.store.repositories.TaskRepository;
+import org.myProject.focus.flow.service.store.repositories.TaskStateRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Restoring from the trash and compacting it: both take the project row lock before touching a chain,
+ * and the compactor only takes rows a restore can no longer claim.
+ */
+class SoftDeleteTest {
+
+    private static final long UNDO_WINDOW_MILLIS = 3_600_000L;
+
+    private static final long GRACE_MILLIS = 60_000L;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskStateRepository taskStateRepository;
+
+    @Mock
+    private TaskHelper taskHelper;
+
+    @Mock
+    private TaskStateHelper taskStateHelper;
+
+    @Mock
+    private ValidateRequestsHelper validateRequestsHelper;
+
+    @Mock
+    private BoardHelper boardHelper;
+
+    @Mock
+    private OutboxHelper outboxHelper;
+
+    @Mock
+    private DashboardHelper dashboardHelper;
+
+    @Mock
+    private TaskDtoFactory taskDtoFactory;
+
+    @Mock
+    private TaskStateDtoFactory taskStateDtoFactory;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    @InjectMocks
+    private TaskController taskController;
+
+    @InjectMocks
+    private TaskStateController taskStateController;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SoftDeleteCompactionWorker softDeleteCompactionWorker;
+
+    @BeforeEach
+    void setUp() {
+
+        MockitoAnnotations.openMocks(this);
+
+        meterRegistry = new SimpleMeterRegistry();
+
+        softDeleteCompactionWorker = new SoftDeleteCompactionWorker(
+                taskRepository,
+                taskStateRepository,
+                taskHelper,
+                taskStateHelper,
+                boardHelper,
+                transactionTemplate,
+                meterRegistry
+        );
+
+        ReflectionTestUtils.setField(softDeleteCompactionWorker, "enabled", true);
+        ReflectionTestUtils.setField(softDeleteCompactionWorker, "undoWindowMillis", UNDO_WINDOW_MILLIS);
+        ReflectionTestUtils.setField(softDeleteCompactionWorker, "graceMillis", GRACE_MILLIS);
+        ReflectionTestUtils.setField(softDeleteCompactionWorker, "batchSize", 500);
+        ReflectionTestUtils.setField(softDeleteCompactionWorker, "maxProjectsPerRun", 100);
+        ReflectionTestUtils.invokeMethod(softDeleteCompactionWorker, "registerMeters");
+
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(transactionStatus));
+    }
+
+    private static Jwt jwt(Long userId) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject(String.valueOf(userId))
+                .build();
+    }
+
+    private static ProjectEntity project(Long projectId) {
+
+        ProjectEntity project = new ProjectEntity();
+
+        project.setId(projectId);
+
+        return project;
+    }
+
+    private static TaskStateEntity taskState(Long taskStateId, String name, ProjectEntity project, LocalDateTime deletedAt) {
+
+        TaskStateEntity taskState = TaskStateEntity.builder()
+                .id(taskStateId)
+                .name(name)
+                .project(project)
+                .userId(2L)
+                .deletedAt(deletedAt)
+                .build();
+
+        project.getTaskStates().add(taskState);
+
+        return taskState;
+    }
+
+    private static TaskEntity deletedTask(Long taskId, LocalDateTime deletedAt) {
+
+        ProjectEntity project = project(7L);
+
+        return TaskEntity.builder()
+                .id(taskId)
+                .projectId(7L)
+                .userId(2L)
+                .taskState(taskState(10L, "To do", project, null))
+                .deletedAt(deletedAt)
+                .build();
+    }
+
+    @Test
+    void testCompact_LocksProjectBeforeEveryChunk() {
+
+        when(taskRepository.findProjectIdsDeletedBefore(any(), eq(100))).thenReturn(List.of(7L));
+        when(taskRepository.findIdsDeletedBefore(eq(7L), any(), any()))
+                .thenReturn(List.of(5L, 6L))
+                .thenReturn(List.of());
+        when(taskRepository.deleteAllByProjectIdAndIdIn(7L, List.of(5L, 6L))).thenReturn(2);
+        when(taskStateRepository.findIdsDeletedBefore(eq(7L), any(), any()))
+                .thenReturn(List.of(10L))
+                .thenReturn(List.of());
+        when(taskStateRepository.deleteAllByProjectIdAndIdIn(7L, List.of(10L))).thenReturn(1);
+
+        softDeleteCompactionWorker.compact();
+
+        InOrder inOrder = inOrder(boardHelper, taskRepository, taskHelper, taskStateRepository, taskStateHelper);
+
+        inOrder.verify(boardHelper).markBoardChanged(7L);
+        inOrder.verify(taskRepository).findIdsDeletedBefore(eq(7L), any(), any());
+        inOrder.verify(taskHelper).unlinkTasks(7L, List.of(5L, 6L));
+        inOrder.verify(taskRepository).deleteAllByProjectIdAndIdIn(7L, List.of(5L, 6L));
+        inOrder.verify(boardHelper).markBoardChanged(7L);
+        inOrder.verify(taskRepository).findIdsDeletedBefore(eq(7L), any(), any());
+        inOrder.verify(boardHelper).markBoardChanged(7L);
+        inOrder.verify(taskStateRepository).findIdsDeletedBefore(eq(7L), any(), any());
+        inOrder.verify(taskStateHelper).unlinkTaskStates(7L, List.of(10L));
+        inOrder.verify(taskStateRepository).deleteAllByProjectIdAndIdIn(7L, List.of(10L));
+
+        // The empty chunk that ends each loop rolls back its board version bump.
+        verify(transactionStatus, times(2)).setRollbackOnly();
+
+        assertEquals(2.0, meterRegistry.get("soft.delete.compacted").tag("table", "task").counter().count());
+        assertEquals(1.0, meterRegistry.get("soft.delete.compacted").tag("table", "task_states").counter().count());
+    }
+
+    @Test
+    void testCompact_FailedProjectDoesNotStopOthers() {
+
+        when(taskRepository.findProjectIdsDeletedBefore(any(), eq(100))).thenReturn(List.of(7L, 8L));
+        doThrow(new IllegalStateException("lock timeout")).when(boardHelper).markBoardChanged(7L);
+        when(taskRepository.findIdsDeletedBefore(eq(8L), any(), any())).thenReturn(List.of());
+        when(taskStateRepository.findIdsDeletedBefore(eq(8L), any(), any())).thenReturn(List.of());
+
+        softDeleteCompactionWorker.compact();
+
+        verify(taskRepository, never()).findIdsDeletedBefore(eq(7L), any(), any());
+        verify(taskRepository).findIdsDeletedBefore(eq(8L), any(), any());
+        verify(taskStateRepository).findIdsDeletedBefore(eq(8L), any(), any());
+    }
+
+    @Test
+    void testCompact_DoesNothingWhenDisabled() {
+
+        ReflectionTestUtils.setField(softDeleteCompactionWorker, "enabled", false);
+
+        softDeleteCompactionWorker.compact();
+
+        verifyNoInteractions(taskRepository, taskStateRepository, boardHelper, transactionTemplate);
+    }
+
+    @Test
+    void testRestorableTaskIsNeverCompacted() {
+
+        TaskHelper realTaskHelper = new TaskHelper(taskRepository, validateRequestsHelper);
+
+        ReflectionTestUtils.setField(realTaskHelper, "undoWindowMillis", UNDO_WINDOW_MILLIS);
+
+        // Deleted a second before its undo window ends: the last moment a restore still accepts it.
+        TaskEntity task = deletedTask(1L, LocalDateTime.now().minusNanos((UNDO_WINDOW_MILLIS - 1_000) * 1_000_000));
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findProjectIdsDeletedBefore(any(), anyInt())).thenReturn(List.of());
+
+        assertSame(task, realTaskHelper.getDeletedTaskOrThrowException(1L, 2L));
+
+        softDeleteCompactionWorker.compact();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(taskRepository).findProjectIdsDeletedBefore(cutoff.capture(), eq(100));
+
+        // The compactor takes rows deleted before the cutoff only.
+        assertFalse(task.getDeletedAt().isBefore(cutoff.getValue()));
+        assertFalse(cutoff.getValue().isAfter(LocalDateTime.now().minusNanos((UNDO_WINDOW_MILLIS + GRACE_MILLIS) * 1_000_000)));
+    }
+
+    @Test
+    void testGetDeletedTaskOrThrowException_UndoWindowEnded() {
+
+        TaskHelper realTaskHelper = new TaskHelper(taskRepository, validateRequestsHelper);
+
+        ReflectionTestUtils.setField(realTaskHelper, "undoWindowMillis", UNDO_WINDOW_MILLIS);
+
+        TaskEntity task = deletedTask(1L, LocalDateTime.now().minusNanos((UNDO_WINDOW_MILLIS + 1_000) * 1_000_000));
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        CustomAppException exception = assertThrows(CustomAppException.class,
+                () -> realTaskHelper.getDeletedTaskOrThrowException(1L, 2L));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
+    }
+
+    @Test
+    void testRestoreTask_LocksProjectBeforeTakingTaskOutOfTrash() {
+
+        TaskEntity task = deletedTask(1L, LocalDateTime.now().minusMinutes(5));
+
+        when(taskHelper.getDeletedTaskOrThrowException(1L, 2L)).thenReturn(task);
+        doAnswer(invocation -> {
+            assertNotNull(task.getDeletedAt());
+            return null;
+        }).when(boardHelper).markBoardChanged(7L);
+
+        taskController.restoreTask(1L, jwt(2L));
+
+        assertNull(task.getDeletedAt());
+
+        InOrder inOrder = inOrder(boardHelper, taskRepository);
+        inOrder.verify(boardHelper).markBoardChanged(7L);
+        inOrder.verify(taskRepository).save(task);
+
+        verify(outboxHelper).publish(OutboxEventType.TASK_RESTORED, 7L, 2L, 1L);
+        verify(dashboardHelper).refreshTask(1L);
+    }
+
+    @Test
+    void testRestoreTaskState_LocksProjectBeforeTakingTaskStateOutOfTrash() {
+
+        ProjectEntity project = project(7L);
+
+        taskState(11L, "Done", project, null);
+        TaskStateEntity taskState = taskState(10L, "To do", project, LocalDateTime.now().minusMinutes(5));
+
+        when(taskStateHelper.getDeletedTaskStateOrThrowException(10L, 2L)).thenReturn(taskState);
+        doAnswer(invocation -> {
+            assertNotNull(taskState.getDeletedAt());
+            return null;
+        }).when(boardHelper).markBoardChanged(7L);
+
+        taskStateController.restoreTaskState(10L, jwt(2L));
+
+        assertNull(taskState.getDeletedAt());
+
+        InOrder inOrder = inOrder(boardHelper, taskStateRepository);
+        inOrder.verify(boardHelper).markBoardChanged(7L);
+        inOrder.verify(taskStateRepository).save(taskState);
+
+        verify(outboxHelper).publish(OutboxEventType.TASK_STATE_RESTORED, 7L, 2L, 10L);
+        verify(dashboardHelper).refreshTaskState(10L);
+    }
+
+    @Test
+    void testRestoreTaskState_NameTakenByLiveTaskState() {
+
+        ProjectEntity project = project(7L);
+
+        taskState(11L, "To do", project, null);
+        TaskStateEntity taskState = taskState(10L, "To do", project, LocalDateTime.now().minusMinutes(5));
+
+        when(taskStateHelper.getDeletedTaskStateOrThrowException(10L, 2L)).thenReturn(taskState);
+
+        CustomAppException exception = assertThrows(CustomAppException.class,
+                () -> taskStateController.restoreTaskState(10L, jwt(2L)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        assertNotNull(taskState.getDeletedAt());
+        verifyNoInteractions(boardHelper, outboxHelper);
+        verify(taskStateRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,195 @@
+package org.myProject.focus.flow.service.api.helpers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.myProject.focus.flow.service.api.controllers.helpers.TaskHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.ValidateRequestsHelper;
+import org.myProject.focus.flow.service.store.entities.ProjectEntity;
+import org.myProject.focus.flow.service.store.entities.TaskEntity;
+import org.myProject.focus.flow.service.store.entities.TaskStateEntity;
+import org.myProject.focus.flow.service.store.repositories.TaskRepository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Chain operations of {@link TaskHelper} that write their pointer changes with set-based updates
+ * instead of saving the entities one by one.
+ */
+class TaskHelperChainTest {
+
+    private static final Long PROJECT_ID = 7L;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ValidateRequestsHelper validateRequestsHelper;
+
+    @InjectMocks
+    private TaskHelper taskHelper;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private static TaskStateEntity taskState(Long id) {
+
+        ProjectEntity project = new ProjectEntity();
+
+        project.setId(PROJECT_ID);
+
+        return TaskStateEntity.builder().id(id).project(project).build();
+    }
+
+    private static TaskEntity[] chain(TaskStateEntity taskState, Long... ids) {
+
+        TaskEntity[] tasks = new TaskEntity[ids.length];
+
+        for (int i = 0; i < ids.length; i++) {
+
+            tasks[i] = TaskEntity.builder().id(ids[i]).projectId(PROJECT_ID).taskState(taskState).build();
+
+            if (i > 0) {
+                tasks[i].setHigherPriorityTask(tasks[i - 1]);
+                tasks[i - 1].setLowerPriorityTask(tasks[i]);
+            }
+        }
+
+        return tasks;
+    }
+
+    @Test
+    void testMoveTasks_AppendsToTailOfOtherTaskState() {
+
+        TaskStateEntity source = taskState(10L);
+        TaskStateEntity target = taskState(20L);
+
+        TaskEntity[] sourceTasks = chain(source, 1L, 2L, 3L);
+        TaskEntity[] targetTasks = chain(target, 4L, 5L);
+
+        when(taskRepository.findTaskEntityByLowerPriorityTaskIsNullAndProjectIdAndTaskStateId(PROJECT_ID, 20L))
+                .thenReturn(Optional.of(targetTasks[1]));
+
+        taskHelper.moveTasks(List.of(sourceTasks[1]), target, Optional.empty());
+
+        // 1 -> 3 closes the gap, 5 -> 2 appends the moved task.
+        verify(taskRepository).relink(
+                new Long[]{1L, 3L, 2L, 5L},
+                new Long[]{10L, 10L, 20L, 20L},
+                new Long[]{null, 1L, 5L, 4L},
+                new Long[]{3L, null, null, 2L}
+        );
+    }
+
+    @Test
+    void testMoveTasks_InsertsBeforeTaskInRequestedOrder() {
+
+        TaskStateEntity taskState = taskState(10L);
+
+        TaskEntity[] tasks = chain(taskState, 1L, 2L, 3L, 4L);
+
+        taskHelper.moveTasks(List.of(tasks[3], tasks[0]), taskState, Optional.of(tasks[2]));
+
+        // The chain becomes 2 -> 4 -> 1 -> 3.
+        verify(taskRepository).relink(
+                new Long[]{3L, 2L, 4L, 1L},
+                new Long[]{10L, 10L, 10L, 10L},
+                new Long[]{1L, null, 2L, 4L},
+                new Long[]{null, 4L, 1L, 3L}
+        );
+        verify(taskRepository, never()).findTaskEntityByLowerPriorityTaskIsNullAndProjectIdAndTaskStateId(any(), any());
+    }
+
+    @Test
+    void testMoveTasks_TailOfTargetIsMovedToo() {
+
+        TaskStateEntity taskState = taskState(10L);
+
+        TaskEntity[] tasks = chain(taskState, 1L, 2L, 3L);
+
+        when(taskRepository.findTaskEntityByLowerPriorityTaskIsNullAndProjectIdAndTaskStateId(PROJECT_ID, 10L))
+                .thenReturn(Optional.of(tasks[2]));
+
+        taskHelper.moveTasks(List.of(tasks[2], tasks[0]), taskState, Optional.empty());
+
+        // The moved tail cannot be the new neighbour: the chain becomes 2 -> 3 -> 1.
+        verify(taskRepository).relink(
+                new Long[]{2L, 3L, 1L},
+                new Long[]{10L, 10L, 10L},
+                new Long[]{null, 2L, 3L},
+                new Long[]{3L, 1L, null}
+        );
+    }
+
+    @Test
+    void testAppendTasksToTaskState_LinksHeadBehindTargetTail() {
+
+        TaskStateEntity source = taskState(10L);
+        TaskStateEntity target = taskState(20L);
+
+        when(taskRepository.findHeadIdByProjectIdAndTaskStateId(PROJECT_ID, 10L)).thenReturn(Optional.of(1L));
+        when(taskRepository.findTailIdByProjectIdAndTaskStateId(PROJECT_ID, 20L)).thenReturn(Optional.of(5L));
+
+        taskHelper.appendTasksToTaskState(source, target);
+
+        InOrder inOrder = inOrder(taskRepository);
+        inOrder.verify(taskRepository).moveAllToTaskState(PROJECT_ID, 10L, 20L);
+        inOrder.verify(taskRepository).linkTasks(PROJECT_ID, 5L, 1L);
+    }
+
+    @Test
+    void testAppendTasksToTaskState_EmptyTargetTakesChainAsIs() {
+
+        when(taskRepository.findHeadIdByProjectIdAndTaskStateId(PROJECT_ID, 10L)).thenReturn(Optional.of(1L));
+        when(taskRepository.findTailIdByProjectIdAndTaskStateId(PROJECT_ID, 20L)).thenReturn(Optional.empty());
+
+        taskHelper.appendTasksToTaskState(taskState(10L), taskState(20L));
+
+        verify(taskRepository).moveAllToTaskState(PROJECT_ID, 10L, 20L);
+        verify(taskRepository, never()).linkTasks(any(), any(), any());
+    }
+
+    @Test
+    void testAppendTasksToTaskState_EmptySourceLeavesTargetAlone() {
+
+        when(taskRepository.findHeadIdByProjectIdAndTaskStateId(PROJECT_ID, 10L)).thenReturn(Optional.empty());
+
+        taskHelper.appendTasksToTaskState(taskState(10L), taskState(20L));
+
+        verify(taskRepository, never()).moveAllToTaskState(any(), any(), any());
+        verify(taskRepository, never()).linkTasks(any(), any(), any());
+    }
+
+    @Test
+    void testCopyTasks_PassesMappingAsParallelArrays() {
+
+        Map<Long, Long> targetTaskStateIds = new LinkedHashMap<>();
+
+        targetTaskStateIds.put(12L, 112L);
+        targetTaskStateIds.put(10L, 110L);
+
+        when(taskRepository.copyAllToTaskStates(any(), any(), any())).thenReturn(5);
+
+        assertEquals(5, taskHelper.copyTasks(PROJECT_ID, targetTaskStateIds));
+        verify(taskRepository).copyAllToTaskStates(PROJECT_ID, new Long[]{12L, 10L}, new Long[]{112L, 110L});
+    }
+
+    @Test
+    void testCopyTasks_NoTaskStatesSkipsQuery() {
+
+        assertEquals(0, taskHelper.copyTasks(PROJECT_ID, Map.of()));
+        verify(taskRepository, never()).copyAllToTaskStates(any(), any(), any());
+    }
+}
@@ -6,21 +6,29 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.myProject.focus.flow.service.api.controllers.TaskController;
+import org.myProject.focus.flow.service.api.controllers.helpers.BoardHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.DashboardHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.OutboxHelper;
 import org.myProject.focus.flow.service.api.controllers.helpers.TaskHelper;
 import org.myProject.focus.flow.service.api.controllers.helpers.TaskStateHelper;
 import org.myProject.focus.flow.service.api.dto.AckDto;
 import org.myProject.focus.flow.service.api.dto.TaskDto;
 import org.myProject.focus.flow.service.api.exceptions.CustomAppException;
 import org.myProject.focus.flow.service.api.factories.TaskDtoFactory;
+import org.myProject.focus.flow.service.store.entities.ProjectEntity;
 import org.myProject.focus.flow.service.store.entities.TaskEntity;
 import org.myProject.focus.flow.service.store.entities.TaskStateEntity;
 import org.myProject.focus.flow.service.store.entities.enums.Category;
+import org.myProject.focus.flow.service.store.entities.enums.OutboxEventType;
 import org.myProject.focus.flow.service.store.entities.enums.Priority;
+import org.myProject.focus.flow.service.store.entities.enums.TaskSortMode;
 import org.myProject.focus.flow.service.store.repositories.TaskRepository;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.jwt.Jwt;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -39,6 +47,15 @@ class TaskHelperTest {
     @Mock
     private TaskHelper taskHelper;
 
+    @Mock
+    private BoardHelper boardHelper;
+
+    @Mock
+    private DashboardHelper dashboardHelper;
+
+    @Mock
+    private OutboxHelper outboxHelper;
+
     @InjectMocks
     private TaskController taskController;
 
@@ -47,6 +64,13 @@ class TaskHelperTest {
         MockitoAnnotations.openMocks(this);
     }
 
+    private static Jwt jwt(Long userId) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject(String.valueOf(userId))
+                .build();
+    }
+
     @Test
     void testGetTaskById_Success() {
 
@@ -58,7 +82,7 @@ class TaskHelperTest {
         when(taskHelper.getTaskOrThrowException(taskId, userId)).thenReturn(taskEntity);
         when(taskDtoFactory.makeTaskDto(taskEntity)).thenReturn(taskDto);
 
-        TaskDto result = taskController.getTaskById(taskId, userId);
+        TaskDto result = taskController.getTaskById(taskId, jwt(userId));
 
         assertNotNull(result);
         assertEquals(taskDto, result);
@@ -76,7 +100,7 @@ class TaskHelperTest {
                 .thenThrow(new CustomAppException(HttpStatus.NOT_FOUND, "Task not found"));
 
         CustomAppException exception = assertThrows(CustomAppException.class, () ->
-                taskController.getTaskById(taskId, userId)
+                taskController.getTaskById(taskId, jwt(userId))
         );
 
         assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
@@ -89,20 +113,18 @@ class TaskHelperTest {
         Long taskStateId = 1L;
         Long userId = 2L;
         TaskStateEntity taskState = new TaskStateEntity();
-        TaskEntity taskEntity = new TaskEntity();
         TaskDto taskDto = new TaskDto();
 
         when(taskStateHelper.getTaskStateOrThrowException(taskStateId, userId)).thenReturn(taskState);
-        when(taskHelper.getSortedTasks(taskStateId)).thenReturn(List.of(taskEntity));
-        when(taskDtoFactory.makeTaskDto(taskEntity)).thenReturn(taskDto);
+        when(boardHelper.getTasksOfTaskState(taskState)).thenReturn(List.of(taskDto));
 
-        List<TaskDto> result = taskController.getTasks(taskStateId, userId);
+        List<TaskDto> result = taskController.getTasks(taskStateId, jwt(userId));
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(taskDto, result.get(0));
         verify(taskStateHelper).getTaskStateOrThrowException(taskStateId, userId);
-        verify(taskHelper).getSortedTasks(taskStateId);
+        verify(boardHelper).getTasksOfTaskState(taskState);
     }
 
     @Test
@@ -118,6 +140,9 @@ class TaskHelperTest {
 
         TaskStateEntity taskState = new TaskStateEntity();
 
+        taskState.setProject(new ProjectEntity());
+        taskState.setUserId(userId);
+
         TaskEntity taskEntity = new TaskEntity();
 
         TaskDto taskDto = new TaskDto();
@@ -126,7 +151,7 @@ class TaskHelperTest {
         when(taskRepository.saveAndFlush(any(TaskEntity.class))).thenReturn(taskEntity);
         when(taskDtoFactory.makeTaskDto(taskEntity)).thenReturn(taskDto);
 
-        TaskDto result = taskController.createTask(taskStateId, title, description, deadline, category, priority, userId);
+        TaskDto result = taskController.createTask(taskStateId, title, description, deadline, category, priority, jwt(userId));
 
         assertNotNull(result);
         assertEquals(taskDto, result);
@@ -135,6 +160,38 @@ class TaskHelperTest {
         verify(taskDtoFactory).makeTaskDto(taskEntity);
     }
 
+    @Test
+    void testCreateTask_AutoSortedTaskStateInsertsBySortKey() {
+
+        Long taskStateId = 1L;
+        Long userId = 2L;
+        LocalDateTime deadline = LocalDateTime.now();
+
+        TaskStateEntity taskState = new TaskStateEntity();
+
+        taskState.setId(taskStateId);
+        taskState.setProject(new ProjectEntity());
+        taskState.setUserId(userId);
+        taskState.setSortMode(TaskSortMode.PRIORITY_DEADLINE);
+
+        TaskEntity higherPriorityTask = new TaskEntity();
+        TaskEntity lowerPriorityTask = new TaskEntity();
+
+        lowerPriorityTask.setHigherPriorityTask(higherPriorityTask);
+
+        TaskEntity taskEntity = new TaskEntity();
+
+        when(taskStateHelper.getTaskStateOrThrowException(taskStateId, userId)).thenReturn(taskState);
+        when(taskHelper.findSortedLowerPriorityTask(taskState, null, Priority.HIGH, deadline))
+                .thenReturn(Optional.of(lowerPriorityTask));
+        when(taskRepository.saveAndFlush(any(TaskEntity.class))).thenReturn(taskEntity);
+
+        taskController.createTask(taskStateId, "Test Task", "Description", deadline, Category.WORK, Priority.HIGH, jwt(userId));
+
+        verify(taskHelper).updateTaskPosition(taskEntity, Optional.of(lowerPriorityTask), Optional.of(higherPriorityTask));
+        verify(taskRepository, never()).findTaskEntityByLowerPriorityTaskIsNullAndProjectIdAndTaskStateId(any(), any());
+    }
+
     @Test
     void testCreateTask_EmptyTitle() {
 
@@ -142,7 +199,7 @@ class TaskHelperTest {
         Long userId = 2L;
 
         CustomAppException exception = assertThrows(CustomAppException.class, () ->
-                taskController.createTask(taskStateId, " ", "Description", LocalDateTime.now(), Category.WORK, Priority.HIGH, userId)
+                taskController.createTask(taskStateId, " ", "Description", LocalDateTime.now(), Category.WORK, Priority.HIGH, jwt(userId))
         );
 
         assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
@@ -150,7 +207,7 @@ class TaskHelperTest {
     }
 
     @Test
-    void testDeleteTask_Success() {
+    void testDeleteTask_MovesTaskToTrashWithoutRelinking() {
 
         Long taskId = 1L;
         Long userId = 2L;
@@ -159,12 +216,16 @@ class TaskHelperTest {
 
         when(taskHelper.getTaskOrThrowException(taskId, userId)).thenReturn(taskEntity);
 
-        AckDto result = taskController.deleteTask(taskId, userId);
+        AckDto result = taskController.deleteTask(taskId, jwt(userId));
 
         assertNotNull(result);
         assertTrue(result.getAnswer());
         verify(taskHelper).getTaskOrThrowException(taskId, userId);
-        verify(taskHelper).replaceOldTasksPositions(taskEntity);
-        verify(taskRepository).delete(taskEntity);
+        assertNotNull(taskEntity.getDeletedAt());
+        verify(taskHelper, never()).replaceOldTasksPositions(any());
+        verify(taskRepository).save(taskEntity);
+        verify(taskRepository, never()).delete(any());
+        verify(dashboardHelper).removeTask(taskId);
+        verify(outboxHelper).publish(OutboxEventType.TASK_DELETED, null, userId, taskId);
     }
 }
@@ -0,0 +1,103 @@
+package org.myProject.focus.flow.service.api.helpers;
+
+import org.junit.jupiter.api.Test;
+import org.myProject.focus.flow.service.api.controllers.helpers.TaskRelinkPlan;
+import org.myProject.focus.flow.service.store.entities.TaskEntity;
+import org.myProject.focus.flow.service.store.entities.TaskStateEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskRelinkPlanTest {
+
+    private static final TaskStateEntity TASK_STATE = TaskStateEntity.builder().id(10L).build();
+
+    private static TaskEntity[] chain(Long... ids) {
+
+        TaskEntity[] tasks = new TaskEntity[ids.length];
+
+        for (int i = 0; i < ids.length; i++) {
+
+            tasks[i] = TaskEntity.builder().id(ids[i]).taskState(TASK_STATE).build();
+
+            if (i > 0) {
+                tasks[i].setHigherPriorityTask(tasks[i - 1]);
+                tasks[i - 1].setLowerPriorityTask(tasks[i]);
+            }
+        }
+
+        return tasks;
+    }
+
+    @Test
+    void testIsEmpty_NothingLinked() {
+
+        TaskRelinkPlan plan = new TaskRelinkPlan();
+
+        plan.link(null, null);
+
+        assertTrue(plan.isEmpty());
+        assertArrayEquals(new Long[]{}, plan.getTaskIds());
+    }
+
+    @Test
+    void testLink_KeepsLoadedPointersNotTouchedByPlan() {
+
+        TaskEntity[] tasks = chain(1L, 2L, 3L);
+
+        TaskRelinkPlan plan = new TaskRelinkPlan();
+
+        plan.link(tasks[0], tasks[2]);
+
+        assertFalse(plan.isEmpty());
+        assertArrayEquals(new Long[]{1L, 3L}, plan.getTaskIds());
+        assertArrayEquals(new Long[]{10L, 10L}, plan.getTaskStateIds());
+        assertArrayEquals(new Long[]{null, 1L}, plan.getHigherPriorityTaskIds());
+        assertArrayEquals(new Long[]{3L, null}, plan.getLowerPriorityTaskIds());
+    }
+
+    @Test
+    void testLink_NullEndClearsPointer() {
+
+        TaskEntity[] tasks = chain(1L, 2L, 3L);
+
+        TaskRelinkPlan plan = new TaskRelinkPlan();
+
+        plan.link(tasks[1], null);
+        plan.link(null, tasks[1]);
+
+        assertArrayEquals(new Long[]{2L}, plan.getTaskIds());
+        assertArrayEquals(new Long[]{null}, plan.getHigherPriorityTaskIds());
+        assertArrayEquals(new Long[]{null}, plan.getLowerPriorityTaskIds());
+    }
+
+    @Test
+    void testLink_LaterLinkOverridesEarlierOne() {
+
+        TaskEntity[] tasks = chain(1L, 2L, 3L);
+
+        TaskRelinkPlan plan = new TaskRelinkPlan();
+
+        plan.link(tasks[0], tasks[1]);
+        plan.link(tasks[0], tasks[2]);
+
+        assertArrayEquals(new Long[]{1L, 2L, 3L}, plan.getTaskIds());
+        assertArrayEquals(new Long[]{null, 1L, 1L}, plan.getHigherPriorityTaskIds());
+        assertArrayEquals(new Long[]{3L, 3L, null}, plan.getLowerPriorityTaskIds());
+    }
+
+    @Test
+    void testMoveToTaskState_OverridesLoadedTaskState() {
+
+        TaskEntity[] tasks = chain(1L, 2L);
+
+        TaskRelinkPlan plan = new TaskRelinkPlan();
+
+        plan.moveToTaskState(tasks[1], 20L);
+        plan.link(tasks[0], null);
+
+        assertArrayEquals(new Long[]{2L, 1L}, plan.getTaskIds());
+        assertArrayEquals(new Long[]{20L, 10L}, plan.getTaskStateIds());
+        assertArrayEquals(new Long[]{1L, null}, plan.getHigherPriorityTaskIds());
+        assertArrayEquals(new Long[]{null, null}, plan.getLowerPriorityTaskIds());
+    }
+}
@@ -12,7 +12,10 @@ import org.myProject.focus.flow.service.store.entities.TaskStateEntity;
 import org.myProject.focus.flow.service.store.repositories.TaskStateRepository;
 import org.springframework.http.HttpStatus;
 
+import java.math.BigInteger;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -46,6 +49,7 @@ class TaskStateHelperTest {
 
         projectEntity.setUserId(userId);
         taskStateEntity.setProject(projectEntity);
+        taskStateEntity.setUserId(userId);
 
         when(taskStateRepository.findById(taskStateId)).thenReturn(Optional.of(taskStateEntity));
 
@@ -82,8 +86,11 @@ class TaskStateHelperTest {
         firstTaskState.setRightTaskState(secondTaskState);
         secondTaskState.setLeftTaskState(firstTaskState);
 
-        when(taskStateRepository.findTaskStateEntityByLeftTaskStateIsNullAndProjectId(projectId))
-                .thenReturn(Optional.of(firstTaskState));
+        firstTaskState.setId(1L);
+        secondTaskState.setId(2L);
+
+        when(taskStateRepository.findAllByProjectId(projectId))
+                .thenReturn(List.of(secondTaskState, firstTaskState));
 
         List<TaskStateEntity> result = taskStateHelper.getSortedTaskStates(projectId);
 
@@ -179,9 +186,7 @@ class TaskStateHelperTest {
 
         taskStateHelper.replaceOldTaskStatesPosition(taskState);
 
-        verify(taskStateRepository).saveAndFlush(taskState);
-        verify(taskStateRepository).saveAndFlush(leftTaskState);
-        verify(taskStateRepository).saveAndFlush(rightTaskState);
+        verify(taskStateRepository, never()).saveAndFlush(any());
 
         assertFalse(taskState.getLeftTaskState().isPresent(), "taskState's leftTaskState should be empty");
         assertFalse(taskState.getRightTaskState().isPresent(), "taskState's rightTaskState should be empty");
@@ -201,13 +206,110 @@ class TaskStateHelperTest {
         TaskStateEntity result = taskStateHelper.updateTaskStatePosition(
                 selectedTaskState, optionalNewLeftTaskState, optionalNewRightTaskState);
 
-        verify(taskStateRepository).saveAndFlush(newLeftTaskState);
-        verify(taskStateRepository).saveAndFlush(newRightTaskState);
-        verify(taskStateRepository).saveAndFlush(selectedTaskState);
+        verifyNoInteractions(taskStateRepository);
+
+        assertSame(selectedTaskState, result);
 
         assertEquals(newLeftTaskState, selectedTaskState.getLeftTaskState().orElse(null));
         assertEquals(newRightTaskState, selectedTaskState.getRightTaskState().orElse(null));
         assertEquals(selectedTaskState, newLeftTaskState.getRightTaskState().orElse(null));
         assertEquals(selectedTaskState, newRightTaskState.getLeftTaskState().orElse(null));
     }
+
+    @Test
+    void testCopyTaskStates_MapsOldToNewIdsInRowOrder() {
+
+        Long projectId = 1L;
+        Long targetProjectId = 2L;
+
+        // The native query hands back whatever numeric type the driver picks for bigint.
+        when(taskStateRepository.copyAllToProject(projectId, targetProjectId)).thenReturn(List.of(
+                new Object[]{12L, BigInteger.valueOf(112L)},
+                new Object[]{BigInteger.valueOf(10L), 110L},
+                new Object[]{11, 111L}
+        ));
+
+        Map<Long, Long> result = taskStateHelper.copyTaskStates(projectId, targetProjectId);
+
+        assertEquals(Map.of(10L, 110L, 11L, 111L, 12L, 112L), result);
+        assertEquals(List.of(12L, 10L, 11L), List.copyOf(result.keySet()));
+    }
+
+    @Test
+    void testCopyTaskStates_EmptyProject() {
+
+        when(taskStateRepository.copyAllToProject(1L, 2L)).thenReturn(List.of());
+
+        assertTrue(taskStateHelper.copyTaskStates(1L, 2L).isEmpty());
+    }
+
+    @Test
+    void testReorderTaskStates_RelinksInRequestedOrder() {
+
+        Long projectId = 1L;
+        List<Long> orderedTaskStateIds = List.of(12L, 10L, 11L);
+
+        when(taskStateRepository.findLiveIdsByProjectId(projectId)).thenReturn(List.of(10L, 11L, 12L));
+        when(taskStateRepository.findDeletedIdsByProjectId(projectId)).thenReturn(List.of(13L));
+
+        taskStateHelper.reorderTaskStates(projectId, orderedTaskStateIds);
+
+        verify(validateRequestsHelper).verifyingCompleteOrdering(orderedTaskStateIds, List.of(10L, 11L, 12L), "task state");
+        verify(taskStateRepository).relink(
+                projectId,
+                new Long[]{12L, 10L, 11L, 13L},
+                new Long[]{null, 12L, 10L, 11L},
+                new Long[]{10L, 11L, 13L, null}
+        );
+    }
+
+    @Test
+    void testGetSortedTaskStates_SkipsDeletedTaskStatesWithoutRelinking() {
+
+        Long projectId = 1L;
+
+        TaskStateEntity firstTaskState = TaskStateEntity.builder().id(10L).build();
+        TaskStateEntity deletedTaskState = TaskStateEntity.builder().id(11L).deletedAt(LocalDateTime.now()).build();
+        TaskStateEntity lastTaskState = TaskStateEntity.builder().id(12L).build();
+
+        firstTaskState.setRightTaskState(deletedTaskState);
+        deletedTaskState.setLeftTaskState(firstTaskState);
+        deletedTaskState.setRightTaskState(lastTaskState);
+        lastTaskState.setLeftTaskState(deletedTaskState);
+
+        when(taskStateRepository.findAllByProjectId(projectId))
+                .thenReturn(List.of(lastTaskState, deletedTaskState, firstTaskState));
+
+        List<TaskStateEntity> result = taskStateHelper.getSortedTaskStates(projectId);
+
+        assertEquals(List.of(firstTaskState, lastTaskState), result);
+        verify(taskStateRepository, never()).relink(any(), any(), any(), any());
+    }
+
+    @Test
+    void testUnlinkTaskStates_RelinksOnlyNeighboursOfRemovedTaskStates() {
+
+        Long projectId = 1L;
+
+        TaskStateEntity firstTaskState = TaskStateEntity.builder().id(10L).build();
+        TaskStateEntity removedTaskState = TaskStateEntity.builder().id(11L).build();
+        TaskStateEntity lastTaskState = TaskStateEntity.builder().id(12L).build();
+
+        firstTaskState.setRightTaskState(removedTaskState);
+        removedTaskState.setLeftTaskState(firstTaskState);
+        removedTaskState.setRightTaskState(lastTaskState);
+        lastTaskState.setLeftTaskState(removedTaskState);
+
+        when(taskStateRepository.findAllByProjectId(projectId))
+                .thenReturn(List.of(firstTaskState, removedTaskState, lastTaskState));
+
+        taskStateHelper.unlinkTaskStates(projectId, List.of(11L));
+
+        verify(taskStateRepository).relink(
+                projectId,
+                new Long[]{10L, 12L},
+                new Long[]{null, 10L},
+                new Long[]{12L, null}
+        );
+    }
 }
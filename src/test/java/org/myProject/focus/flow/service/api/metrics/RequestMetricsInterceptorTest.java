@@ -0,0 +1,97 @@
+package org.myProject.focus.flow.service.api.metrics;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestMetricsInterceptorTest {
+
+    private static final long QUERY_BUDGET = 3;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RequestMetricsInterceptor requestMetricsInterceptor = new RequestMetricsInterceptor(meterRegistry);
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestMetricsInterceptor.class);
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+
+        ReflectionTestUtils.setField(requestMetricsInterceptor, "queryBudget", QUERY_BUDGET);
+
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        RequestQueryStatistics.clear();
+    }
+
+    private void handle(String requestId, int statements) {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects/1");
+        request.addHeader(RequestMetricsInterceptor.REQUEST_ID_HEADER, requestId);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/projects/{project_id}");
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        requestMetricsInterceptor.preHandle(request, response, new Object());
+
+        for (int i = 0; i < statements; i++) {
+            RequestQueryStatistics.incrementStatements();
+        }
+
+        requestMetricsInterceptor.afterCompletion(request, response, new Object(), null);
+
+        assertEquals(requestId, response.getHeader(RequestMetricsInterceptor.REQUEST_ID_HEADER));
+    }
+
+    @Test
+    void testAfterCompletion_LogsRequestOverQueryBudget() {
+
+        handle("over-budget", 4);
+
+        assertEquals(1, appender.list.size());
+
+        String message = appender.list.get(0).getFormattedMessage();
+
+        assertTrue(message.startsWith("event=query_budget_exceeded request_id=over-budget "), message);
+        assertTrue(message.contains(" uri=/api/projects/{project_id} statements=4 "), message);
+        assertTrue(message.endsWith(" budget=3"), message);
+    }
+
+    @Test
+    void testAfterCompletion_StaysQuietWithinQueryBudget() {
+
+        handle("within-budget", 3);
+
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void testAfterCompletion_RecordsIntoOneSummaryAndClearsThread() {
+
+        handle("first", 2);
+        handle("second", 1);
+
+        assertTrue(RequestQueryStatistics.current().isEmpty());
+        assertEquals(1, meterRegistry.find("http.server.requests.statements").summaries().size());
+        assertEquals(2, meterRegistry.get("http.server.requests.statements").summary().count());
+        assertEquals(3, meterRegistry.get("http.server.requests.statements").summary().totalAmount());
+    }
+}
@@ -0,0 +1,71 @@
+package org.myProject.focus.flow.service.api.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestQueryStatisticsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestQueryStatistics.clear();
+    }
+
+    @Test
+    void testIncrement_CountsOnStartedThread() {
+
+        RequestQueryStatistics statistics = RequestQueryStatistics.start();
+
+        RequestQueryStatistics.incrementStatements();
+        RequestQueryStatistics.incrementStatements();
+        RequestQueryStatistics.incrementEntityLoads();
+        RequestQueryStatistics.incrementFlushes();
+
+        assertSame(statistics, RequestQueryStatistics.current().orElseThrow());
+        assertEquals(2, statistics.getStatements());
+        assertEquals(1, statistics.getEntityLoads());
+        assertEquals(1, statistics.getFlushes());
+    }
+
+    @Test
+    void testIncrement_OtherThreadsAreNotCounted() {
+
+        RequestQueryStatistics statistics = RequestQueryStatistics.start();
+
+        boolean otherThreadHadStatistics = CompletableFuture.supplyAsync(() -> {
+
+            RequestQueryStatistics.incrementStatements();
+            RequestQueryStatistics.incrementEntityLoads();
+
+            return RequestQueryStatistics.current().isPresent();
+        }).join();
+
+        assertFalse(otherThreadHadStatistics);
+        assertEquals(0, statistics.getStatements());
+        assertEquals(0, statistics.getEntityLoads());
+    }
+
+    @Test
+    void testClear_StopsCounting() {
+
+        RequestQueryStatistics statistics = RequestQueryStatistics.start();
+
+        RequestQueryStatistics.clear();
+        RequestQueryStatistics.incrementStatements();
+
+        assertTrue(RequestQueryStatistics.current().isEmpty());
+        assertEquals(0, statistics.getStatements());
+    }
+
+    @Test
+    void testStart_ResetsCounters() {
+
+        RequestQueryStatistics.start();
+        RequestQueryStatistics.incrementStatements();
+
+        assertEquals(0, RequestQueryStatistics.start().getStatements());
+    }
+}
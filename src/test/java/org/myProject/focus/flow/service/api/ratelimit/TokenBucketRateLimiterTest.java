@@ -0,0 +1,119 @@
+package org.myProject.focus.flow.service.api.ratelimit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    private final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(10, 20, now::get);
+
+    @Test
+    void testTryAcquire_AllowsBurstThenThrottles() {
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("1", 1));
+        }
+
+        long waitNanos = rateLimiter.tryAcquire("1", 1);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), waitNanos);
+    }
+
+    @Test
+    void testTryAcquire_RefillsOverTime() {
+
+        assertEquals(0, rateLimiter.tryAcquire("1", 20));
+        assertTrue(rateLimiter.tryAcquire("1", 5) > 0);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertEquals(0, rateLimiter.tryAcquire("1", 5));
+        assertTrue(rateLimiter.tryAcquire("1", 1) > 0);
+    }
+
+    @Test
+    void testTryAcquire_WeightsByCost() {
+
+        assertEquals(0, rateLimiter.tryAcquire("1", 10));
+        assertEquals(0, rateLimiter.tryAcquire("1", 10));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), rateLimiter.tryAcquire("1", 10));
+    }
+
+    @Test
+    void testTryAcquire_KeepsUsersApart() {
+
+        assertEquals(0, rateLimiter.tryAcquire("1", 20));
+        assertTrue(rateLimiter.tryAcquire("1", 1) > 0);
+        assertEquals(0, rateLimiter.tryAcquire("2", 1));
+    }
+
+    @Test
+    void testEvictIdleBuckets_DropsRefilledBuckets() {
+
+        rateLimiter.tryAcquire("1", 20);
+        rateLimiter.tryAcquire("2", 1);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        rateLimiter.evictIdleBuckets();
+
+        assertEquals(1, rateLimiter.trackedUsers());
+    }
+
+    @Test
+    void testTryAcquire_NegativeClockStartsWithFullBucket() {
+
+        AtomicLong negativeNow = new AtomicLong(-TimeUnit.SECONDS.toNanos(100));
+
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 20, negativeNow::get);
+
+        assertEquals(0, limiter.tryAcquire("1", 20));
+
+        negativeNow.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        limiter.evictIdleBuckets();
+
+        assertEquals(0, limiter.trackedUsers());
+    }
+
+    /**
+     * Run with ./gradlew loadTest; the limiter sits on every request and must stay well under a microsecond.
+     */
+    @Tag("load")
+    @Test
+    void measureOverheadPerCall() {
+
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1_000_000_000, 1_000_000);
+
+        int iterations = 5_000_000;
+
+        for (int i = 0; i < iterations; i++) {
+            limiter.tryAcquire(String.valueOf(i & 1023), 1);
+        }
+
+        String[] keys = new String[1024];
+
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = String.valueOf(i);
+        }
+
+        long startedAt = System.nanoTime();
+
+        for (int i = 0; i < iterations; i++) {
+            limiter.tryAcquire(keys[i & 1023], 1);
+        }
+
+        double nanosPerCall = (System.nanoTime() - startedAt) / (double) iterations;
+
+        System.out.printf("rate limiter: %.1f ns per call%n", nanosPerCall);
+
+        assertTrue(nanosPerCall < 1_000, String.format("%.1f ns per call", nanosPerCall));
+    }
+}
@@ -0,0 +1,132 @@
+package org.myProject.focus.flow.service.api.workers;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.myProject.focus.flow.service.api.controllers.helpers.OutboxHelper;
+import org.myProject.focus.flow.service.api.outbox.InMemoryOutboxEventSink;
+import org.myProject.focus.flow.service.api.outbox.OutboxEvent;
+import org.myProject.focus.flow.service.api.outbox.OutboxEventSink;
+import org.myProject.focus.flow.service.store.entities.OutboxEventEntity;
+import org.myProject.focus.flow.service.store.entities.enums.OutboxEventType;
+import org.myProject.focus.flow.service.store.repositories.OutboxEventRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayWorkerTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private ObjectProvider<OutboxEventSink> sinkProvider;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final InMemoryOutboxEventSink sink = new InMemoryOutboxEventSink();
+
+    private OutboxRelayWorker outboxRelayWorker;
+
+    @BeforeEach
+    void setUp() {
+
+        MockitoAnnotations.openMocks(this);
+
+        when(sinkProvider.orderedStream()).thenReturn(Stream.of(sink));
+
+        outboxRelayWorker = new OutboxRelayWorker(
+                outboxEventRepository, sinkProvider, transactionTemplate, new SimpleMeterRegistry());
+
+        ReflectionTestUtils.setField(outboxRelayWorker, "concurrency", 1);
+        ReflectionTestUtils.setField(outboxRelayWorker, "batchSize", BATCH_SIZE);
+
+        outboxRelayWorker.startExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRelayWorker.stopExecutor();
+    }
+
+    private static OutboxEventEntity event(Long id, Long projectId) {
+        return OutboxEventEntity.builder()
+                .id(id)
+                .shard(OutboxHelper.shardOf(projectId))
+                .projectId(projectId)
+                .userId(1L)
+                .type(OutboxEventType.TASK_UPDATED)
+                .aggregateId(100L + id)
+                .build();
+    }
+
+    @Test
+    void testRelayBatch_DispatchesInIdOrderAndDeletes() {
+
+        int shard = OutboxHelper.shardOf(7L);
+
+        when(outboxEventRepository.tryLockShard(anyLong())).thenReturn(true);
+        when(outboxEventRepository.findBatchByShard(shard, BATCH_SIZE))
+                .thenReturn(List.of(event(1L, 7L), event(2L, 7L), event(5L, 7L)));
+
+        assertTrue(outboxRelayWorker.relayBatch(shard));
+
+        assertEquals(List.of(1L, 2L, 5L), sink.getEvents().stream().map(OutboxEvent::id).toList());
+        assertEquals(101L, sink.getEvents().get(0).aggregateId());
+        verify(outboxEventRepository).deleteAllByIdIn(List.of(1L, 2L, 5L));
+    }
+
+    @Test
+    void testRelayBatch_ReportsPartialBatchAsDrained() {
+
+        when(outboxEventRepository.tryLockShard(anyLong())).thenReturn(true);
+        when(outboxEventRepository.findBatchByShard(anyInt(), eq(BATCH_SIZE))).thenReturn(List.of(event(1L, 7L)));
+
+        assertFalse(outboxRelayWorker.relayBatch(OutboxHelper.shardOf(7L)));
+        assertEquals(1, sink.getEvents().size());
+    }
+
+    @Test
+    void testRelayBatch_SkipsShardLockedElsewhere() {
+
+        when(outboxEventRepository.tryLockShard(anyLong())).thenReturn(false);
+
+        assertFalse(outboxRelayWorker.relayBatch(0));
+
+        verify(outboxEventRepository, never()).findBatchByShard(anyInt(), anyInt());
+        assertTrue(sink.getEvents().isEmpty());
+    }
+
+    @Test
+    void testRelayBatch_KeepsEventsWhenSinkFails() {
+
+        OutboxEventSink failingSink = events -> {
+            throw new IllegalStateException("sink down");
+        };
+
+        outboxRelayWorker.stopExecutor();
+
+        when(sinkProvider.orderedStream()).thenReturn(Stream.of(failingSink));
+        outboxRelayWorker.startExecutor();
+
+        when(outboxEventRepository.tryLockShard(anyLong())).thenReturn(true);
+        when(outboxEventRepository.findBatchByShard(anyInt(), eq(BATCH_SIZE))).thenReturn(List.of(event(1L, 7L)));
+
+        assertThrows(IllegalStateException.class, () -> outboxRelayWorker.relayBatch(OutboxHelper.shardOf(7L)));
+
+        verify(outboxEventRepository, never()).deleteAllByIdIn(any());
+    }
+}
@@ -0,0 +1,100 @@
+package org.myProject.focus.flow.service.api.workers;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PartitionMaintenanceWorkerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PartitionMaintenanceWorker partitionMaintenanceWorker;
+
+    @BeforeEach
+    void setUp() {
+
+        MockitoAnnotations.openMocks(this);
+
+        meterRegistry = new SimpleMeterRegistry();
+
+        partitionMaintenanceWorker = new PartitionMaintenanceWorker(jdbcTemplate, meterRegistry);
+
+        ReflectionTestUtils.setField(partitionMaintenanceWorker, "enabled", true);
+        ReflectionTestUtils.setField(partitionMaintenanceWorker, "minDeadTuples", 10_000L);
+        ReflectionTestUtils.setField(partitionMaintenanceWorker, "deadTupleRatio", 0.1);
+        ReflectionTestUtils.setField(partitionMaintenanceWorker, "maxPartitionsPerRun", 2);
+    }
+
+    private static Map<String, Object> partition(String tableName, String partitionName) {
+        return Map.of("table_name", tableName, "partition_name", partitionName);
+    }
+
+    @Test
+    void testMaintain_VacuumsReportedPartitionsInOrder() {
+
+        when(jdbcTemplate.queryForList(anyString(), eq(10_000L), eq(0.1), eq(2)))
+                .thenReturn(List.of(partition("task", "task_p07"), partition("task_states", "task_states_p03")));
+
+        partitionMaintenanceWorker.maintain();
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("VACUUM (ANALYZE) \"task_p07\"");
+        inOrder.verify(jdbcTemplate).execute("VACUUM (ANALYZE) \"task_states_p03\"");
+
+        assertEquals(1, meterRegistry.get("partition.maintenance.vacuum").tag("table", "task").timer().count());
+        assertEquals(1, meterRegistry.get("partition.maintenance.vacuum").tag("table", "task_states").timer().count());
+    }
+
+    @Test
+    void testMaintain_QuotesPartitionName() {
+
+        when(jdbcTemplate.queryForList(anyString(), anyLong(), anyDouble(), anyInt()))
+                .thenReturn(List.of(partition("task", "task\"; DROP TABLE task; --")));
+
+        partitionMaintenanceWorker.maintain();
+
+        verify(jdbcTemplate).execute("VACUUM (ANALYZE) \"task\"\"; DROP TABLE task; --\"");
+    }
+
+    @Test
+    void testMaintain_DoesNothingWhenDisabled() {
+
+        ReflectionTestUtils.setField(partitionMaintenanceWorker, "enabled", false);
+
+        partitionMaintenanceWorker.maintain();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testMaintain_SurvivesFailureAndRunsAgain() {
+
+        when(jdbcTemplate.queryForList(anyString(), anyLong(), anyDouble(), anyInt()))
+                .thenReturn(List.of(partition("task", "task_p01")));
+        doThrow(new DataAccessResourceFailureException("connection lost"))
+                .doNothing()
+                .when(jdbcTemplate).execute(anyString());
+
+        assertDoesNotThrow(() -> partitionMaintenanceWorker.maintain());
+
+        partitionMaintenanceWorker.maintain();
+
+        verify(jdbcTemplate, times(2)).execute("VACUUM (ANALYZE) \"task_p01\"");
+    }
+}
@@ -0,0 +1,208 @@
+package org.myProject.focus.flow.service.api.workers;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.myProject.focus.flow.service.store.entities.ProjectDeletionJobEntity;
+import org.myProject.focus.flow.service.store.entities.ProjectEntity;
+import org.myProject.focus.flow.service.store.entities.enums.JobStatus;
+import org.myProject.focus.flow.service.store.repositories.ArchivedTaskRepository;
+import org.myProject.focus.flow.service.store.repositories.ProjectDeletionJobRepository;
+import org.myProject.focus.flow.service.store.repositories.ProjectRepository;
+import org.myProject.focus.flow.service.store.repositories.TaskRepository;
+import org.myProject.focus.flow.service.store.repositories.TaskStateRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProjectDeletionWorkerTest {
+
+    private static final Long JOB_ID = 5L;
+
+    private static final Long PROJECT_ID = 7L;
+
+    @Mock
+    private ProjectDeletionJobRepository projectDeletionJobRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskStateRepository taskStateRepository;
+
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final ProjectEntity project = ProjectEntity.builder().id(PROJECT_ID).build();
+
+    private final ProjectDeletionJobEntity job = ProjectDeletionJobEntity.builder()
+            .id(JOB_ID)
+            .projectId(PROJECT_ID)
+            .userId(1L)
+            .build();
+
+    private ProjectDeletionWorker projectDeletionWorker;
+
+    @BeforeEach
+    void setUp() {
+
+        MockitoAnnotations.openMocks(this);
+
+        projectDeletionWorker = new ProjectDeletionWorker(
+                projectDeletionJobRepository,
+                projectRepository,
+                taskRepository,
+                taskStateRepository,
+                archivedTaskRepository,
+                transactionTemplate);
+
+        ReflectionTestUtils.setField(projectDeletionWorker, "concurrency", 1);
+        ReflectionTestUtils.setField(projectDeletionWorker, "queueCapacity", 10);
+        ReflectionTestUtils.setField(projectDeletionWorker, "chunkSize", 2);
+
+        projectDeletionWorker.startExecutor();
+
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        when(projectDeletionJobRepository.getReferenceById(JOB_ID)).thenReturn(job);
+        when(projectDeletionJobRepository.saveAndFlush(job)).thenReturn(job);
+        when(projectRepository.findById(PROJECT_ID)).thenReturn(Optional.of(project));
+
+        when(archivedTaskRepository.findIdsByProjectId(eq(PROJECT_ID), any())).thenReturn(List.of(1L, 2L), List.of());
+        when(taskRepository.findIdsByProjectId(eq(PROJECT_ID), any())).thenReturn(List.of(10L, 11L), List.of(12L), List.of());
+        when(taskRepository.deleteAllByProjectIdAndIdIn(eq(PROJECT_ID), anyCollection()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(1).size());
+        when(taskStateRepository.findIdsByProjectId(eq(PROJECT_ID), any())).thenReturn(List.of(20L), List.of());
+        when(taskStateRepository.deleteAllByProjectIdAndIdIn(eq(PROJECT_ID), anyCollection())).thenReturn(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectDeletionWorker.stopExecutor();
+    }
+
+    private void purge() {
+        ReflectionTestUtils.invokeMethod(projectDeletionWorker, "purge", JOB_ID);
+    }
+
+    private void awaitSubmittedPurges() throws InterruptedException {
+
+        ExecutorService executor = (ExecutorService) ReflectionTestUtils.getField(projectDeletionWorker, "executor");
+
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testPurge_DeletesArchiveThenTasksThenTaskStatesThenProject() {
+
+        purge();
+
+        InOrder inOrder = inOrder(archivedTaskRepository, taskRepository, taskStateRepository, projectRepository);
+        inOrder.verify(archivedTaskRepository).deleteAllByProjectIdAndIdIn(PROJECT_ID, List.of(1L, 2L));
+        inOrder.verify(taskRepository).deleteAllByProjectIdAndIdIn(PROJECT_ID, List.of(10L, 11L));
+        inOrder.verify(taskRepository).deleteAllByProjectIdAndIdIn(PROJECT_ID, List.of(12L));
+        inOrder.verify(taskStateRepository).deleteAllByProjectIdAndIdIn(PROJECT_ID, List.of(20L));
+        inOrder.verify(projectRepository).delete(project);
+
+        assertEquals(JobStatus.DONE, job.getStatus());
+        assertEquals(3L, job.getDeletedTasks());
+        assertEquals(1L, job.getDeletedTaskStates());
+        assertNotNull(job.getFinishedAt());
+    }
+
+    @Test
+    void testPurge_UnlinksEachChunkBeforeDeletingIt() {
+
+        purge();
+
+        InOrder inOrder = inOrder(taskRepository, taskStateRepository);
+        inOrder.verify(taskRepository).unlinkAllByProjectIdAndIdIn(PROJECT_ID, List.of(10L, 11L));
+        inOrder.verify(taskRepository).deleteAllByProjectIdAndIdIn(PROJECT_ID, List.of(10L, 11L));
+        inOrder.verify(taskRepository).unlinkAllByProjectIdAndIdIn(PROJECT_ID, List.of(12L));
+        inOrder.verify(taskRepository).deleteAllByProjectIdAndIdIn(PROJECT_ID, List.of(12L));
+        inOrder.verify(taskStateRepository).unlinkAllByProjectIdAndIdIn(PROJECT_ID, List.of(20L));
+        inOrder.verify(taskStateRepository).deleteAllByProjectIdAndIdIn(PROJECT_ID, List.of(20L));
+    }
+
+    @Test
+    void testPurge_FailedChunkLeavesJobResumable() throws InterruptedException {
+
+        when(taskRepository.findIdsByProjectId(eq(PROJECT_ID), any()))
+                .thenReturn(List.of(10L, 11L), List.of(12L), List.of(12L), List.of());
+        when(taskRepository.deleteAllByProjectIdAndIdIn(PROJECT_ID, List.of(12L)))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(1);
+
+        purge();
+
+        assertEquals(JobStatus.FAILED, job.getStatus());
+        assertEquals("connection reset", job.getErrorMessage());
+        assertEquals(2L, job.getDeletedTasks());
+        verify(taskStateRepository, never()).deleteAllByProjectIdAndIdIn(any(), anyCollection());
+        verify(projectRepository, never()).delete(any());
+
+        when(projectDeletionJobRepository.findAllByStatusInOrderByIdAsc(List.of(JobStatus.PENDING, JobStatus.RUNNING, JobStatus.FAILED)))
+                .thenReturn(List.of(job));
+
+        projectDeletionWorker.resubmitUnfinishedJobs();
+
+        awaitSubmittedPurges();
+
+        verify(projectRepository).delete(project);
+        verify(taskRepository, times(2)).deleteAllByProjectIdAndIdIn(PROJECT_ID, List.of(12L));
+
+        assertEquals(JobStatus.DONE, job.getStatus());
+        assertNull(job.getErrorMessage());
+        assertEquals(3L, job.getDeletedTasks());
+    }
+
+    @Test
+    void testSubmitAfterCommit_WaitsForCommit() throws InterruptedException {
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            projectDeletionWorker.submitAfterCommit(JOB_ID);
+
+            verify(projectDeletionJobRepository, after(200).never()).getReferenceById(any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        awaitSubmittedPurges();
+
+        verify(projectRepository).delete(project);
+        assertEquals(JobStatus.DONE, job.getStatus());
+    }
+}
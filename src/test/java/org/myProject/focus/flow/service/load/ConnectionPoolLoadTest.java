@@ -0,0 +1,132 @@
+package org.myProject.focus.flow.service.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Steps the number of concurrent clients up and reports throughput and p99 per step,
+ * plus the knee: the last step where doubling the clients still added at least 10% throughput.
+ * Pool size (DB_POOL_MAX_SIZE) should be set close to the client count at the knee.
+ */
+@Tag("load")
+@EnabledIfSystemProperty(named = "load.baseUrl", matches = ".+")
+class ConnectionPoolLoadTest {
+
+    private static final double MIN_THROUGHPUT_GAIN = 1.10;
+
+    private final String baseUrl = System.getProperty("load.baseUrl");
+
+    private final String path = System.getProperty("load.path", "/api/projects");
+
+    private final String token = System.getProperty("load.token", "");
+
+    private final int maxClients = Integer.getInteger("load.maxClients", 128);
+
+    private final Duration stepDuration = Duration.ofSeconds(Long.getLong("load.stepSeconds", 15L));
+
+    private final HttpClient httpClient = HttpClient
+            .newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void findThroughputKnee() throws Exception {
+
+        List<double[]> steps = new ArrayList<>();
+
+        for (int clients = 1; clients <= maxClients; clients *= 2) {
+
+            double[] step = runStep(clients);
+
+            steps.add(step);
+
+            System.out.printf("clients=%d throughput=%.1f req/s p99=%.1f ms errors=%d%n",
+                    clients, step[1], step[2], (long) step[3]);
+        }
+
+        double[] knee = findKnee(steps);
+
+        System.out.printf("knee: clients=%d throughput=%.1f req/s p99=%.1f ms%n", (int) knee[0], knee[1], knee[2]);
+
+        assertTrue(knee[1] > 0, "no successful requests were made");
+    }
+
+    private double[] runStep(int clients) throws InterruptedException {
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicLong errors = new AtomicLong();
+
+        long deadline = System.nanoTime() + stepDuration.toNanos();
+
+        HttpRequest request = HttpRequest
+                .newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+
+        for (int i = 0; i < clients; i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+
+                    long startedAt = System.nanoTime();
+
+                    try {
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+
+                        latencies.add(System.nanoTime() - startedAt);
+                    } catch (Exception ex) {
+                        errors.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(stepDuration.toSeconds() + 30, TimeUnit.SECONDS);
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+
+        double throughput = sorted.length / (double) stepDuration.toSeconds();
+        double p99 = sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.ceil(sorted.length * 0.99) - 1)] / 1_000_000.0;
+
+        return new double[]{clients, throughput, p99, errors.get()};
+    }
+
+    static double[] findKnee(List<double[]> steps) {
+
+        double[] knee = steps.get(0);
+
+        for (double[] step : steps.subList(1, steps.size())) {
+
+            if (step[1] < knee[1] * MIN_THROUGHPUT_GAIN) {
+                break;
+            }
+
+            knee = step;
+        }
+
+        return Arrays.copyOf(knee, knee.length);
+    }
+}
@@ -0,0 +1,141 @@
+package org.myProject.focus.flow.service.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Requests each large list endpoint repeatedly, with and without gzip, and reports wire bytes per second
+ * plus the mean heap bytes the server allocated per request (http.server.requests.allocated).
+ * Needs -Dload.projectId and -Dload.taskStateId of a large board besides -Dload.baseUrl and -Dload.token.
+ */
+@Tag("load")
+@EnabledIfSystemProperty(named = "load.baseUrl", matches = ".+")
+class ResponsePayloadLoadTest {
+
+    private static final String ALLOCATED_METRIC = "/actuator/metrics/http.server.requests.allocated";
+
+    private final String baseUrl = System.getProperty("load.baseUrl");
+
+    private final String token = System.getProperty("load.token", "");
+
+    private final String projectId = System.getProperty("load.projectId", "1");
+
+    private final String taskStateId = System.getProperty("load.taskStateId", "1");
+
+    private final int requests = Integer.getInteger("load.requests", 200);
+
+    private final HttpClient httpClient = HttpClient
+            .newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void measureBytesAndAllocationPerEndpoint() throws Exception {
+
+        List<String[]> endpoints = List.of(
+                new String[]{"/api/projects", "/api/projects"},
+                new String[]{"/api/projects/" + projectId + "/tasks-states", "/api/projects/{project_id}/tasks-states"},
+                new String[]{"/api/task-state/" + taskStateId + "/tasks", "/api/task-state/{task_state_id}/tasks"}
+        );
+
+        List<Double> throughputs = new ArrayList<>();
+
+        for (String[] endpoint : endpoints) {
+            for (String encoding : List.of("identity", "gzip")) {
+
+                double[] allocatedBefore = readAllocated(endpoint[1]);
+                double[] result = run(endpoint[0], encoding);
+                double[] allocatedAfter = readAllocated(endpoint[1]);
+
+                double measuredRequests = allocatedAfter[0] - allocatedBefore[0];
+                double allocatedPerRequest = measuredRequests == 0
+                        ? 0
+                        : (allocatedAfter[1] - allocatedBefore[1]) / measuredRequests;
+
+                throughputs.add(result[1]);
+
+                System.out.printf("endpoint=%s encoding=%s bytes_per_response=%.0f bytes_per_sec=%.0f req_per_sec=%.1f allocated_per_request=%.0f%n",
+                        endpoint[0], encoding, result[0], result[1], result[2], allocatedPerRequest);
+            }
+        }
+
+        assertTrue(throughputs.stream().allMatch(it -> it > 0), "some endpoint returned no bytes");
+    }
+
+    private double[] run(String path, String encoding) throws Exception {
+
+        HttpRequest request = HttpRequest
+                .newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept-Encoding", encoding)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        long bytes = 0;
+        long startedAt = System.nanoTime();
+
+        for (int i = 0; i < requests; i++) {
+            bytes += httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+        }
+
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        return new double[]{bytes / (double) requests, bytes / seconds, requests / seconds};
+    }
+
+    /**
+     * Returns count and total of the allocation summary for one endpoint, zeros if it was never recorded.
+     */
+    private double[] readAllocated(String uriPattern) throws Exception {
+
+        HttpRequest request = HttpRequest
+                .newBuilder(URI.create(baseUrl + ALLOCATED_METRIC + "?tag=uri:" + URLEncoder.encode(uriPattern, StandardCharsets.UTF_8)))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+        if (response.statusCode() != 200) {
+            return new double[]{0, 0};
+        }
+
+        JsonNode measurements = objectMapper.readTree(response.body()).path("measurements");
+
+        return new double[]{
+                findStatistic(measurements, "COUNT").orElse(0.0),
+                findStatistic(measurements, "TOTAL").orElse(0.0)
+        };
+    }
+
+    private static Optional<Double> findStatistic(JsonNode measurements, String statistic) {
+
+        for (JsonNode measurement : measurements) {
+            if (statistic.equals(measurement.path("statistic").asText())) {
+                return Optional.of(measurement.path("value").asDouble());
+            }
+        }
+
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,265 @@
+package org.myProject.focus.flow.service.store;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.myProject.focus.flow.service.store.repositories.TaskRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Applies the Flyway migrations to a scratch schema of a real PostgreSQL and checks with EXPLAIN
+ * that the linked-list lookups are served by the indexes created in V2. Since V10 task and task_states are
+ * hash partitioned by project: a lookup of one project must prune to a single partition and use that
+ * partition's copy of the index. The archive worker's scans are served by the indexes of V13.
+ * Run with -Dpostgres.url=jdbc:postgresql://localhost:5432/... (-Dpostgres.user, -Dpostgres.password).
+ */
+@EnabledIfSystemProperty(named = "postgres.url", matches = ".+")
+class MigrationIndexPlanTest {
+
+    private static final String SCHEMA = "migration_index_plan_test";
+
+    private static final int PROJECTS = 4;
+    private static final int TASK_STATES = 20;
+    private static final int TASKS_PER_STATE = 50;
+
+    /**
+     * The archive condition of {@link TaskRepository} with literals for its parameters, as a custom plan sees it.
+     */
+    private static final String DUE_FOR_ARCHIVE = TaskRepository.DUE_FOR_ARCHIVE
+            .replace(":now", "'2026-10-19 12:00'")
+            .replace(":maxIdleDays", "0");
+
+    private static SingleConnectionDataSource dataSource;
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrate() {
+
+        String url = System.getProperty("postgres.url");
+        String user = System.getProperty("postgres.user", "postgres");
+        String password = System.getProperty("postgres.password", "");
+
+        Flyway flyway = Flyway
+                .configure()
+                .dataSource(url, user, password)
+                .schemas(SCHEMA)
+                .createSchemas(true)
+                .cleanDisabled(false)
+                .load();
+
+        flyway.clean();
+        flyway.migrate();
+
+        dataSource = new SingleConnectionDataSource(url, user, password, true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("SET search_path TO " + SCHEMA);
+
+        seed();
+
+        jdbcTemplate.execute("ANALYZE");
+        // The seeded tables are small; make the planner prove the index is usable rather than cheapest.
+        jdbcTemplate.execute("SET enable_seqscan = off");
+    }
+
+    @AfterAll
+    static void dropSchema() {
+
+        if (dataSource == null) {
+            return;
+        }
+
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        dataSource.destroy();
+    }
+
+    @Test
+    void headTaskLookupUsesPartialIndex() {
+        assertPlanPrunesTo(
+                "SELECT id FROM task WHERE project_id = 1 AND task_state_id = 1 AND higher_priority_task_id IS NULL",
+                "task",
+                "task_head_idx");
+    }
+
+    @Test
+    void tailTaskLookupUsesPartialIndex() {
+        assertPlanPrunesTo(
+                "SELECT id FROM task WHERE project_id = 1 AND task_state_id = 1 AND lower_priority_task_id IS NULL",
+                "task",
+                "task_tail_idx");
+    }
+
+    @Test
+    void tasksOfTaskStateUseIndex() {
+        assertPlanPrunesTo(
+                "SELECT * FROM task WHERE project_id = 1 AND task_state_id = 1",
+                "task",
+                "task_task_state_id_idx");
+    }
+
+    @Test
+    void leftmostTaskStateLookupUsesPartialIndex() {
+        assertPlanPrunesTo(
+                "SELECT id FROM task_states WHERE project_id = 1 AND left_task_state_id IS NULL",
+                "task_states",
+                "task_states_head_idx");
+    }
+
+    @Test
+    void rightmostTaskStateLookupUsesPartialIndex() {
+        assertPlanPrunesTo(
+                "SELECT id FROM task_states WHERE project_id = 1 AND right_task_state_id IS NULL",
+                "task_states",
+                "task_states_tail_idx");
+    }
+
+    @Test
+    void projectsOfUserUsePartialIndex() {
+        assertPlanUses(
+                "SELECT * FROM project WHERE user_id = 1 AND deleted_at IS NULL",
+                "project_user_id_idx");
+    }
+
+    @Test
+    void archiveProjectLookupStartsFromArchivingTaskStates() {
+
+        String sql = "SELECT ts.project_id FROM task_states ts " +
+                "WHERE ts.archive_after_days IS NOT NULL AND ts.deleted_at IS NULL AND EXISTS (" +
+                "SELECT 1 FROM task t WHERE t.project_id = ts.project_id AND t.task_state_id = ts.id AND " +
+                DUE_FOR_ARCHIVE + ")";
+
+        assertPlanUsesChildOf(sql, "task_states_archive_after_days_idx");
+        assertPlanUsesChildOf(sql, "task_project_id_task_state_id_updated_at_idx");
+    }
+
+    @Test
+    void archiveBatchOfProjectUsesUpdatedAtIndex() {
+        assertPlanPrunesTo(
+                "SELECT t.id FROM task t " +
+                        "JOIN task_states ts ON ts.project_id = t.project_id AND ts.id = t.task_state_id " +
+                        "WHERE t.project_id = 1 AND " + DUE_FOR_ARCHIVE + " ORDER BY t.id LIMIT 100",
+                "task",
+                "task_project_id_task_state_id_updated_at_idx");
+    }
+
+    private static void assertPlanUses(String sql, String indexName) {
+
+        String plan = explain(sql);
+
+        assertTrue(plan.contains(indexName), String.format("Expected %s in plan:%n%s", indexName, plan));
+    }
+
+    /**
+     * Checks that the plan scans only the partition holding project 1 and that it uses the partition's
+     * child of the given parent index. Child index names are generated by PostgreSQL, so they are
+     * resolved through pg_inherits instead of being spelled out.
+     */
+    private static void assertPlanPrunesTo(String sql, String parentTable, String parentIndex) {
+
+        String partition = jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM " + parentTable + " WHERE project_id = 1 LIMIT 1",
+                String.class);
+
+        String childIndex = jdbcTemplate.queryForObject("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_index x ON x.indexrelid = c.oid
+                WHERE i.inhparent = CAST(? AS regclass) AND x.indrelid = CAST(? AS regclass)
+                """, String.class, parentIndex, partition);
+
+        String plan = explain(sql);
+
+        Set<String> scannedPartitions = new TreeSet<>();
+        Matcher matcher = Pattern.compile(" on (" + parentTable + "_p\\d{2})\\b").matcher(plan);
+        while (matcher.find()) {
+            scannedPartitions.add(matcher.group(1));
+        }
+
+        assertEquals(Set.of(partition), scannedPartitions,
+                String.format("Expected a single %s scan in plan:%n%s", partition, plan));
+        assertTrue(plan.contains(childIndex), String.format("Expected %s in plan:%n%s", childIndex, plan));
+    }
+
+    /**
+     * Checks that the plan uses the copy of a partitioned index in at least one partition.
+     */
+    private static void assertPlanUsesChildOf(String sql, String parentIndex) {
+
+        List<String> childIndexes = jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = CAST(? AS regclass)
+                """, String.class, parentIndex);
+
+        String plan = explain(sql);
+
+        assertTrue(childIndexes.stream().anyMatch(plan::contains),
+                String.format("Expected a child of %s in plan:%n%s", parentIndex, plan));
+    }
+
+    private static String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+
+    private static void seed() {
+
+        List<Object[]> projects = new ArrayList<>();
+        List<Object[]> taskStates = new ArrayList<>();
+        List<Object[]> tasks = new ArrayList<>();
+
+        // Several projects, so the pruned partition is not the only one holding rows.
+        for (int project = 1; project <= PROJECTS; project++) {
+
+            projects.add(new Object[]{project, "plan-" + project});
+
+            for (int position = 1; position <= TASK_STATES; position++) {
+
+                long stateId = (long) (project - 1) * TASK_STATES + position;
+
+                taskStates.add(new Object[]{stateId, project, position == 1 ? null : stateId - 1});
+
+                for (int priority = 1; priority <= TASKS_PER_STATE; priority++) {
+
+                    long taskId = (stateId - 1) * TASKS_PER_STATE + priority;
+
+                    tasks.add(new Object[]{taskId, stateId, project, priority == 1 ? null : taskId - 1});
+                }
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO project (id, name, user_id) VALUES (?, ?, 1)", projects);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO task_states (id, project_id, left_task_state_id) VALUES (?, ?, ?)", taskStates);
+        jdbcTemplate.update("""
+                UPDATE task_states s SET right_task_state_id = r.id
+                FROM task_states r
+                WHERE r.left_task_state_id = s.id AND r.project_id = s.project_id
+                """);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO task (id, task_state_id, project_id, higher_priority_task_id) VALUES (?, ?, ?, ?)", tasks);
+        jdbcTemplate.update("""
+                UPDATE task t SET lower_priority_task_id = l.id
+                FROM task l
+                WHERE l.higher_priority_task_id = t.id AND l.project_id = t.project_id
+                """);
+        // A few task states archive, and the tasks were last touched over the past months.
+        jdbcTemplate.update("UPDATE task_states SET archive_after_days = 30 WHERE id % 10 = 0");
+        jdbcTemplate.update("UPDATE task SET updated_at = TIMESTAMP '2026-10-19 12:00' - (id % 90) * INTERVAL '1 day'");
+    }
+}
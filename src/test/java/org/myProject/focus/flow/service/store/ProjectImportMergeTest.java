@@ -0,0 +1,243 @@
+package org.myProject.focus.flow.service.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.myProject.focus.flow.service.api.controllers.helpers.ProjectExportHelper;
+import org.myProject.focus.flow.service.api.controllers.helpers.ProjectImportHelper;
+import org.myProject.focus.flow.service.store.entities.ImportJobEntity;
+import org.myProject.focus.flow.service.store.entities.enums.ExportFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the set-based import merge of {@link ProjectImportHelper} against a scratch schema of a real PostgreSQL:
+ * the merge statements use data-modifying CTEs that H2 does not support.
+ * Run with -Dpostgres.url=jdbc:postgresql://localhost:5432/... (-Dpostgres.user, -Dpostgres.password).
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "postgres.url", matches = ".+")
+class ProjectImportMergeTest {
+
+    private static final String SCHEMA = "project_import_merge_test";
+
+    private static final String CSV_HEADER = "project_id,project_name,task_state_id,task_state_name,task_state_position," +
+            "task_id,task_position,title,description,deadline,category,priority,created_at,updated_at";
+
+    @Autowired
+    private ProjectImportHelper projectImportHelper;
+
+    @Autowired
+    private ProjectExportHelper projectExportHelper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+
+        String url = System.getProperty("postgres.url");
+
+        registry.add("spring.datasource.url", () -> url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA);
+        registry.add("spring.datasource.username", () -> System.getProperty("postgres.user", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getProperty("postgres.password", ""));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.flyway.schemas", () -> SCHEMA);
+        registry.add("spring.flyway.clean-disabled", () -> "false");
+    }
+
+    @TestConfiguration
+    static class CleanMigrationConfig {
+
+        @Bean
+        FlywayMigrationStrategy cleanMigrate() {
+            return flyway -> {
+                flyway.clean();
+                flyway.migrate();
+            };
+        }
+    }
+
+    private ImportJobEntity importCsv(long userId, String... lines) {
+        return importCsv(userId, String.join("\n", lines) + "\n");
+    }
+
+    private ImportJobEntity importCsv(long userId, String content) {
+        return projectImportHelper.importProjects(
+                userId, ExportFormat.CSV, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String exportCsv(long userId) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        projectExportHelper.export(userId, null, ExportFormat.CSV, outputStream);
+
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    private long countTasksOfUser(long userId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM task WHERE user_id = ?", Long.class, userId);
+    }
+
+    private long taskStateId(long userId, String externalProjectId, String externalTaskStateId) {
+        return jdbcTemplate.queryForObject("SELECT ts.id FROM task_states ts " +
+                "JOIN project p ON p.id = ts.project_id " +
+                "WHERE p.user_id = ? AND p.external_id = ? AND ts.external_id = ?",
+                Long.class, userId, externalProjectId, externalTaskStateId);
+    }
+
+    private List<String> taskTitlesInChainOrder(long taskStateId) {
+        return jdbcTemplate.queryForList("""
+                WITH RECURSIVE chain AS (
+                    SELECT id, title, 0 AS position FROM task
+                    WHERE task_state_id = ? AND higher_priority_task_id IS NULL
+                    UNION ALL
+                    SELECT t.id, t.title, c.position + 1 FROM task t
+                    JOIN chain c ON t.higher_priority_task_id = c.id
+                ) SELECT title FROM chain ORDER BY position
+                """, String.class, taskStateId);
+    }
+
+    private List<String> taskStateNamesInChainOrder(long userId, String externalProjectId) {
+        return jdbcTemplate.queryForList("""
+                WITH RECURSIVE chain AS (
+                    SELECT ts.id, ts.name, 0 AS position FROM task_states ts
+                    JOIN project p ON p.id = ts.project_id
+                    WHERE p.user_id = ? AND p.external_id = ? AND ts.left_task_state_id IS NULL
+                    UNION ALL
+                    SELECT ts.id, ts.name, c.position + 1 FROM task_states ts
+                    JOIN chain c ON ts.left_task_state_id = c.id
+                ) SELECT name FROM chain ORDER BY position
+                """, String.class, userId, externalProjectId);
+    }
+
+    private long countBrokenBackLinks(long taskStateId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM task t " +
+                "WHERE t.task_state_id = ? AND t.lower_priority_task_id IS NOT NULL " +
+                "AND NOT EXISTS (SELECT 1 FROM task l WHERE l.id = t.lower_priority_task_id AND l.higher_priority_task_id = t.id)",
+                Long.class, taskStateId);
+    }
+
+    @Test
+    void reimportOfSameFileIsIdempotent() {
+
+        long userId = 9_001L;
+
+        String[] file = {
+                CSV_HEADER,
+                "p1,Idempotent board,s1,To do,0,t1,0,First,,2026-01-02T10:00,WORK,HIGH,,",
+                "p1,Idempotent board,s1,To do,0,t2,1,Second,,2026-01-03T10:00,WORK,LOW,,",
+                "p1,Idempotent board,s2,Done,1,,,,,,,,,"
+        };
+
+        ImportJobEntity first = importCsv(userId, file);
+        ImportJobEntity second = importCsv(userId, file);
+
+        assertEquals(1L, first.getImportedProjects());
+        assertEquals(2L, first.getImportedTaskStates());
+        assertEquals(2L, first.getImportedTasks());
+
+        assertEquals(0L, second.getImportedProjects());
+        assertEquals(0L, second.getImportedTaskStates());
+        assertEquals(0L, second.getImportedTasks());
+
+        assertEquals(2L, countTasksOfUser(userId));
+        assertEquals(List.of("First", "Second"), taskTitlesInChainOrder(taskStateId(userId, "p1", "s1")));
+    }
+
+    @Test
+    void newRowsAppendToExistingChainTails() {
+
+        long userId = 9_002L;
+
+        importCsv(userId,
+                CSV_HEADER,
+                "p1,Appending board,s1,To do,0,t1,0,First,,2026-01-02T10:00,WORK,HIGH,,",
+                "p1,Appending board,s1,To do,0,t2,1,Second,,2026-01-03T10:00,WORK,LOW,,",
+                "p1,Appending board,s2,Done,1,,,,,,,,,");
+
+        ImportJobEntity job = importCsv(userId,
+                CSV_HEADER,
+                "p1,Appending board,s1,To do,0,t3,0,Third,,2026-01-04T10:00,PERSONAL,MEDIUM,,",
+                "p1,Appending board,s1,To do,0,t4,1,Fourth,,2026-01-05T10:00,PERSONAL,MEDIUM,,",
+                "p1,Appending board,s3,Archive,0,,,,,,,,,");
+
+        assertEquals(0L, job.getImportedProjects());
+        assertEquals(1L, job.getImportedTaskStates());
+        assertEquals(2L, job.getImportedTasks());
+
+        long toDoId = taskStateId(userId, "p1", "s1");
+
+        assertEquals(List.of("First", "Second", "Third", "Fourth"), taskTitlesInChainOrder(toDoId));
+        assertEquals(0L, countBrokenBackLinks(toDoId));
+        assertEquals(List.of("To do", "Done", "Archive"), taskStateNamesInChainOrder(userId, "p1"));
+    }
+
+    @Test
+    void exportOfProjectCreatedHereImportsOntoItself() throws IOException {
+
+        long userId = 9_003L;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        long projectId = jdbcTemplate.queryForObject("SELECT nextval('project_entity_seq')", Long.class);
+        long taskStateId = jdbcTemplate.queryForObject("SELECT nextval('task_state_entity_seq')", Long.class);
+        long firstTaskId = jdbcTemplate.queryForObject("SELECT nextval('task_entity_seq')", Long.class);
+        long secondTaskId = jdbcTemplate.queryForObject("SELECT nextval('task_entity_seq')", Long.class);
+
+        jdbcTemplate.update("INSERT INTO project (id, name, user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                projectId, "Board created by API", userId, now, now);
+        jdbcTemplate.update("INSERT INTO task_states (id, name, type_of_layout, created_at, project_id, user_id) " +
+                "VALUES (?, ?, 1, ?, ?, ?)", taskStateId, "To do", now, projectId, userId);
+        jdbcTemplate.update("INSERT INTO task (id, title, description, deadline, category, priority, task_state_id, " +
+                        "project_id, user_id, higher_priority_task_id, created_at, updated_at) " +
+                        "VALUES (?, ?, '', ?, 0, 0, ?, ?, ?, ?, ?, ?)",
+                firstTaskId, "First", now, taskStateId, projectId, userId, null, now, now);
+        jdbcTemplate.update("INSERT INTO task (id, title, description, deadline, category, priority, task_state_id, " +
+                        "project_id, user_id, higher_priority_task_id, created_at, updated_at) " +
+                        "VALUES (?, ?, '', ?, 0, 0, ?, ?, ?, ?, ?, ?)",
+                secondTaskId, "Second", now, taskStateId, projectId, userId, firstTaskId, now, now);
+        jdbcTemplate.update("UPDATE task SET lower_priority_task_id = ? WHERE id = ?", secondTaskId, firstTaskId);
+
+        String export = exportCsv(userId);
+
+        ImportJobEntity job = importCsv(userId, export);
+
+        assertEquals(0L, job.getImportedProjects());
+        assertEquals(0L, job.getImportedTaskStates());
+        assertEquals(0L, job.getImportedTasks());
+        assertEquals(2L, countTasksOfUser(userId));
+        assertEquals(export, exportCsv(userId));
+    }
+
+    @Test
+    void takenProjectNameIsSuffixedWithExternalId() {
+
+        importCsv(9_004L, CSV_HEADER, "p1,Shared name,s1,To do,0,,,,,,,,,");
+
+        ImportJobEntity job = importCsv(9_005L, CSV_HEADER, "p7,Shared name,s1,To do,0,,,,,,,,,");
+
+        assertEquals(1L, job.getImportedProjects());
+        assertEquals("Shared name (p7)", jdbcTemplate.queryForObject(
+                "SELECT name FROM project WHERE user_id = ? AND external_id = ?", String.class, 9_005L, "p7"));
+    }
+}
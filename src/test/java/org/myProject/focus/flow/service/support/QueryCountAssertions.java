@@ -0,0 +1,40 @@
+package org.myProject.focus.flow.service.support;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statement budgets for integration tests. Counts are kept per thread,
+ * so call {@link #reset()} right before the code under test.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static void reset() {
+        QueryCountHolder.clear();
+    }
+
+    public static QueryCount current() {
+        return QueryCountHolder.getGrandTotal();
+    }
+
+    public static void assertSelectCountAtMost(long budget) {
+
+        long selects = current().getSelect();
+
+        assertTrue(selects <= budget,
+                String.format("Expected at most %s select statements but %s were issued", budget, selects));
+    }
+
+    public static void assertStatementCountAtMost(long budget) {
+
+        long statements = current().getTotal();
+
+        assertTrue(statements <= budget,
+                String.format("Expected at most %s statements but %s were issued", budget, statements));
+    }
+}
@@ -0,0 +1,34 @@
+package org.myProject.focus.flow.service.support;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the test datasource in a counting proxy, so {@link QueryCountAssertions} can see every JDBC statement.
+ */
+@TestConfiguration
+public class QueryCountConfig {
+
+    @Bean
+    static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder
+                            .create(dataSource)
+                            .name(beanName)
+                            .countQuery()
+                            .build();
+                }
+
+                return bean;
+            }
+        };
+    }
+}